@@ -0,0 +1,20 @@
+package gameframework.base;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the worker threads of the framework, which must not prevent the
+ * application from exiting.
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+	private final ThreadFactory defaultFactory = Executors
+			.defaultThreadFactory();
+
+	@Override
+	public Thread newThread(Runnable runnable) {
+		Thread thread = defaultFactory.newThread(runnable);
+		thread.setDaemon(true);
+		return thread;
+	}
+}
@@ -0,0 +1,35 @@
+package gameframework.base;
+
+/**
+ * Utility class providing static methods to split the world into a grid of
+ * square cells, identified by their column and row.
+ */
+public class GridTools {
+
+	/**
+	 * Hides the constructor
+	 */
+	private GridTools() {
+		super();
+	}
+
+	/**
+	 * @return a key identifying the cell, to be used in maps of cells
+	 */
+	public static long key(int column, int row) {
+		return ((long) column << 32) | (row & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Division rounded towards negative infinity, giving the column (or row)
+	 * of a coordinate when the cells have the size of the divisor: -1 lies in
+	 * the cell -1, not 0.
+	 */
+	public static int floorDiv(int value, int divisor) {
+		int quotient = value / divisor;
+		if ((value % divisor != 0) && ((value < 0) != (divisor < 0))) {
+			quotient--;
+		}
+		return quotient;
+	}
+}
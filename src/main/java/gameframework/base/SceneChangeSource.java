@@ -0,0 +1,18 @@
+package gameframework.base;
+
+/**
+ * Object whose appearance changes by itself, which signals its changes to
+ * the {@link SceneChangeTracker} of its game. The entities implementing this
+ * interface receive the tracker when they are added to a universe, and null
+ * when they are removed. The sprite manager of a
+ * {@link gameframework.drawing.SpriteEntity} receives it the same way; an
+ * entity owning another source must give it the tracker it receives.
+ */
+public interface SceneChangeSource {
+
+	/**
+	 * @param tracker
+	 *            the tracker to notify of the changes, null if none
+	 */
+	public void setSceneChangeTracker(SceneChangeTracker tracker);
+}
@@ -0,0 +1,90 @@
+package gameframework.base;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the changes of what is displayed by a game: moves, entities added
+ * or removed, sprites changing, particles alive... A viewport painting on
+ * demand compares this version with the one of its last frame to know
+ * whether the frame has to be painted again. Each
+ * {@link gameframework.game.GameData} has its own tracker, so that several
+ * games or levels in the same program do not repaint each other.
+ *
+ * The tracker also tells whether some movables moved during the last tick:
+ * only then does a frame drawn at another interpolation (see
+ * {@link gameframework.motion.GameMovable#getInterpolatedPosition}) differ.
+ *
+ * Anything changing the appearance of the game without going through the
+ * framework (an entity drawing the current time, for instance) must call
+ * {@link #markChanged()} itself, or {@link #markChanged(Object)} with the
+ * entity so that the viewports drawing only the changed entities (see
+ * {@link gameframework.drawing.GameUniverseViewPortDirtyRectImpl}) draw it
+ * again.
+ */
+public class SceneChangeTracker {
+
+	private final AtomicLong version = new AtomicLong();
+	private volatile boolean moving = false;
+
+	/** The version of the last change of each source, forgotten with it. */
+	private final Map<Object, Long> sourceVersions = new WeakHashMap<>();
+
+	/**
+	 * Signals that the scene must be painted again.
+	 */
+	public void markChanged() {
+		version.incrementAndGet();
+	}
+
+	/**
+	 * Signals that the appearance of an entity, or of its sprite manager,
+	 * changed.
+	 */
+	public void markChanged(Object source) {
+		synchronized (sourceVersions) {
+			sourceVersions.put(source, version.incrementAndGet());
+		}
+	}
+
+	/**
+	 * Signals that a movable changed its position during the current tick.
+	 */
+	public void markMoved() {
+		moving = true;
+		markChanged();
+	}
+
+	/**
+	 * Called by the universe before moving the movables of a tick.
+	 */
+	public void startTick() {
+		moving = false;
+	}
+
+	/**
+	 * @return a number which changes each time the scene changes
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * @return the version of the last change of the source (see
+	 *         {@link #markChanged(Object)}), 0 if it never changed
+	 */
+	public long getVersion(Object source) {
+		synchronized (sourceVersions) {
+			Long sourceVersion = sourceVersions.get(source);
+			return sourceVersion == null ? 0 : sourceVersion;
+		}
+	}
+
+	/**
+	 * @return true if a movable moved during the last tick
+	 */
+	public boolean isMoving() {
+		return moving;
+	}
+}
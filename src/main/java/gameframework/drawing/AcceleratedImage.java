@@ -0,0 +1,99 @@
+package gameframework.drawing;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * Copy of an image kept in video memory as a {@link VolatileImage}. The
+ * content of such an image can be lost at any time (when the display mode
+ * changes for instance): it is validated and restored from the source image
+ * each time it is requested.
+ *
+ * If there is no screen or if the volatile image cannot be created, the
+ * source image is used instead.
+ */
+public class AcceleratedImage {
+
+	protected final BufferedImage source;
+	protected VolatileImage volatileImage;
+	protected boolean volatileSupported = true;
+
+	public AcceleratedImage(BufferedImage source) {
+		this.source = source;
+	}
+
+	/**
+	 * @return the image to draw: the volatile image if it is valid, else the
+	 *         source image
+	 */
+	public Image getImage() {
+		if (!volatileSupported) {
+			return source;
+		}
+		GraphicsConfiguration configuration = ImageTools
+				.getDefaultConfiguration();
+		if (configuration == null) {
+			volatileSupported = false;
+			return source;
+		}
+		if (volatileImage == null) {
+			volatileImage = createVolatileImage(configuration);
+			if (volatileImage == null) {
+				return source;
+			}
+		}
+		int status = volatileImage.validate(configuration);
+		if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+			volatileImage.flush();
+			volatileImage = createVolatileImage(configuration);
+			if (volatileImage == null) {
+				return source;
+			}
+		} else if (status == VolatileImage.IMAGE_RESTORED) {
+			restore();
+		}
+		// The content may have been lost while restoring it
+		return volatileImage.contentsLost() ? source : volatileImage;
+	}
+
+	protected VolatileImage createVolatileImage(
+			GraphicsConfiguration configuration) {
+		VolatileImage image;
+		try {
+			image = configuration.createCompatibleVolatileImage(
+					source.getWidth(), source.getHeight(),
+					source.getTransparency());
+		} catch (RuntimeException e) {
+			volatileSupported = false;
+			return null;
+		}
+		volatileImage = image;
+		restore();
+		return image;
+	}
+
+	protected void restore() {
+		Graphics2D graphics = volatileImage.createGraphics();
+		try {
+			// Clear the transparent pixels before copying the source
+			graphics.setComposite(AlphaComposite.Src);
+			graphics.drawImage(source, 0, 0, null);
+		} finally {
+			graphics.dispose();
+		}
+	}
+
+	/**
+	 * Frees the video memory used by the image.
+	 */
+	public void flush() {
+		if (volatileImage != null) {
+			volatileImage.flush();
+			volatileImage = null;
+		}
+	}
+}
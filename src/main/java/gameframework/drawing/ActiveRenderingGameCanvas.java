@@ -0,0 +1,26 @@
+package gameframework.drawing;
+
+/**
+ * {@link GameCanvas} on which frames are drawn directly, instead of being
+ * drawn in a buffer and then copied to the canvas.
+ */
+public interface ActiveRenderingGameCanvas extends GameCanvas {
+
+	/**
+	 * Draws a frame directly on the canvas, and shows it.
+	 * 
+	 * @param frame
+	 *            draws the whole frame; it may be called again if the frame
+	 *            was lost before being shown
+	 * @return false if the canvas cannot render yet (for instance because it
+	 *         is not displayed), in which case the frame was not drawn
+	 */
+	boolean render(Drawable frame);
+
+	/**
+	 * Called by the viewports once per paint, after the frame was drawn or
+	 * when it was skipped because nothing changed: the canvas then shows the
+	 * same frame again.
+	 */
+	void frameDone();
+}
@@ -0,0 +1,15 @@
+package gameframework.drawing;
+
+/**
+ * Object drawn from a page of a {@link SpriteAtlas}. Entities implementing
+ * this interface (usually by asking their {@link DrawableImage} or
+ * {@link SpriteManagerCachedImpl}) let the viewport draw the entities using
+ * the same page one after the other.
+ */
+public interface AtlasDrawable {
+
+	/**
+	 * @return the index of the atlas page drawn, -1 if none
+	 */
+	public int getAtlasPage();
+}
@@ -0,0 +1,48 @@
+package gameframework.drawing;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+/**
+ * Part of a page of a {@link SpriteAtlas} holding one packed image.
+ */
+public class AtlasRegion {
+
+	protected final int page;
+	protected final BufferedImage pageImage;
+	protected final Rectangle bounds;
+
+	public AtlasRegion(int page, BufferedImage pageImage, Rectangle bounds) {
+		this.page = page;
+		this.pageImage = pageImage;
+		this.bounds = bounds;
+	}
+
+	/**
+	 * @return the index of the page in its atlas
+	 */
+	public int getPage() {
+		return page;
+	}
+
+	public BufferedImage getPageImage() {
+		return pageImage;
+	}
+
+	/**
+	 * @return the position of the image in its page
+	 */
+	public Rectangle getBounds() {
+		return new Rectangle(bounds);
+	}
+
+	/**
+	 * Draws the packed image, without scaling.
+	 */
+	public void draw(Graphics graphics, int x, int y) {
+		graphics.drawImage(pageImage, x, y, x + bounds.width, y
+				+ bounds.height, bounds.x, bounds.y, bounds.x + bounds.width,
+				bounds.y + bounds.height, null);
+	}
+}
@@ -15,6 +15,6 @@ public class BackgroundImage extends DrawableImage {
 
 	@Override
 	public void draw(Graphics graphics) {
-		canvas.drawFullSizeImage(graphics, image);
+		canvas.drawFullSizeImage(graphics, getImage());
 	}
 }
@@ -0,0 +1,95 @@
+package gameframework.drawing;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.net.URL;
+
+/**
+ * {@link BackgroundImage} rendered once into an image of the size of the
+ * canvas, which is then drawn without any scaling at each frame. The image is
+ * rendered again only when the canvas is resized.
+ * 
+ * The background can also be tiled: the image then keeps its size and is
+ * repeated to cover the canvas.
+ */
+public class BackgroundImageCached extends BackgroundImage {
+
+	protected boolean tiled = false;
+
+	/** The background at the size of the canvas, null until drawn. */
+	protected BufferedImage rendered;
+
+	public BackgroundImageCached(URL url, GameCanvas gameCanvas) {
+		super(url, gameCanvas);
+	}
+
+	public BackgroundImageCached(String string, GameCanvas canvas) {
+		super(string, canvas);
+	}
+
+	/**
+	 * @param tiled
+	 *            true to repeat the image at its own size, false to scale it
+	 *            to the canvas (default)
+	 */
+	public void setTiled(boolean tiled) {
+		if (this.tiled != tiled) {
+			this.tiled = tiled;
+			flush();
+		}
+	}
+
+	@Override
+	public void draw(Graphics graphics) {
+		int width = canvas.getWidth();
+		int height = canvas.getHeight();
+		if (width <= 0 || height <= 0) {
+			return;
+		}
+		// Read once, so that concurrent draws never see it flushed
+		BufferedImage current = rendered;
+		if (current == null || current.getWidth() != width
+				|| current.getHeight() != height) {
+			flush();
+			current = render(width, height);
+			rendered = current;
+		}
+		graphics.drawImage(current, 0, 0, null);
+	}
+
+	/**
+	 * Drops the rendered background, for instance to free memory. It will be
+	 * rendered again on the next draw.
+	 */
+	public void flush() {
+		if (rendered != null) {
+			rendered.flush();
+			rendered = null;
+		}
+	}
+
+	protected BufferedImage render(int width, int height) {
+		Image source = getImage();
+		BufferedImage result = ImageTools.createCompatibleImage(width, height,
+				ImageTools.getTransparency((BufferedImage) image));
+		Graphics2D graphics = result.createGraphics();
+		try {
+			if (tiled) {
+				int tileWidth = getWidth();
+				int tileHeight = getHeight();
+				for (int y = 0; y < height; y += tileHeight) {
+					for (int x = 0; x < width; x += tileWidth) {
+						graphics.drawImage(source, x, y, null);
+					}
+				}
+			} else {
+				graphics.drawImage(source, 0, 0, width, height, null);
+			}
+		} finally {
+			graphics.dispose();
+		}
+		return result;
+	}
+}
@@ -0,0 +1,25 @@
+package gameframework.drawing;
+
+import java.awt.Graphics;
+
+/**
+ * {@link Drawable} which can be drawn by several threads at the same time,
+ * each one with a {@link java.awt.Graphics} clipped to a different part of
+ * the frame. Its {@link #draw(Graphics)} method still draws the whole frame
+ * for the canvases drawing it with a single thread.
+ */
+public interface ConcurrentDrawable extends Drawable {
+
+	/**
+	 * Draws the thread-safe part of the frame allowed by the clip of the
+	 * graphics. It is called by several threads at once, and must thus not
+	 * modify any state.
+	 */
+	void drawBand(Graphics g);
+
+	/**
+	 * Draws the rest of the frame by the calling thread, once all the bands
+	 * have been drawn.
+	 */
+	void drawAfterBands(Graphics g);
+}
@@ -4,23 +4,34 @@ import java.awt.Graphics;
 import java.awt.Image;
 import java.awt.MediaTracker;
 import java.awt.Toolkit;
+import java.awt.image.BufferedImage;
 import java.net.URL;
 
-public class DrawableImage implements Drawable {
+public class DrawableImage implements Drawable, AtlasDrawable {
 	protected Image image;
 	protected GameCanvas canvas;
+	protected final URL url;
+
+	/** Copy of the image in video memory, null if not used. */
+	protected AcceleratedImage acceleratedImage;
+
+	/** Copy of the image in a sprite atlas, null if not used. */
+	protected AtlasRegion atlasRegion;
 
 	public DrawableImage(URL imageUrl, GameCanvas gameCanvas) {
 		this.canvas = gameCanvas;
 		if (imageUrl == null) {
 			throw new IllegalArgumentException("Null imageUrl parameter");
 		}
+		this.url = imageUrl;
 		handleImage(imageUrl);
 	}
 	
 	/**
 	 * Use a MediaTracker to load the image in the canvas, and throw an
-	 * exception if there is a problem
+	 * exception if there is a problem. The loaded image is then converted to
+	 * an image compatible with the screen (see
+	 * {@link ImageTools#toCompatibleImage(Image)}).
 	 * 
 	 * @param imageUrl
 	 *            is the path to the image
@@ -39,19 +50,74 @@ public class DrawableImage implements Drawable {
 		} catch (InterruptedException e) {
 			throw new RuntimeException(e);
 		}
+		image = ImageTools.toCompatibleImage(image);
+		RasterSpriteCache.register(image);
 	}
 
 	public DrawableImage(String filename, GameCanvas canvas) {
 		this(DrawableImage.class.getResource(filename), canvas);
 	}
 
+	/**
+	 * Keep a copy of the image in video memory, restored automatically when
+	 * its content is lost. This speeds up the images drawn at each frame on
+	 * platforms which do not accelerate the compatible images by themselves.
+	 */
+	public void setUseVolatileImage(boolean useVolatileImage) {
+		if (acceleratedImage != null) {
+			acceleratedImage.flush();
+		}
+		acceleratedImage = useVolatileImage ? new AcceleratedImage(
+				(BufferedImage) image) : null;
+	}
+
+	/**
+	 * Draws the image from a page of an atlas instead of its own image.
+	 * 
+	 * @param atlas
+	 *            the atlas in which the image is packed, null to stop using
+	 *            it
+	 */
+	public void setAtlas(SpriteAtlas atlas) {
+		atlasRegion = atlas != null ? atlas.pack(image) : null;
+	}
+
+	@Override
+	public int getAtlasPage() {
+		return atlasRegion != null ? atlasRegion.getPage() : -1;
+	}
+
+	/**
+	 * @return the location the image was loaded from
+	 */
+	public URL getUrl() {
+		return url;
+	}
+
+	/**
+	 * @return the image to draw
+	 */
 	public Image getImage() {
+		if (acceleratedImage != null) {
+			return acceleratedImage.getImage();
+		}
 		return image;
 	}
 
 	@Override
 	public void draw(Graphics graphics) {
-		canvas.drawImage(graphics, image, 0, 0);
+		draw(graphics, 0, 0);
+	}
+
+	/**
+	 * Draws the image at a position, without scaling.
+	 */
+	public void draw(Graphics graphics, int x, int y) {
+		if (atlasRegion != null) {
+			atlasRegion.draw(graphics, x, y);
+		} else {
+			canvas.drawImage(graphics, getImage(), x, y);
+		}
 	}
 
 	public int getWidth() {
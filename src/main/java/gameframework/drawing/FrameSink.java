@@ -0,0 +1,19 @@
+package gameframework.drawing;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Receives the frames rendered by a {@link GameCanvasOffscreenImpl}, for
+ * instance to save them.
+ */
+public interface FrameSink {
+
+	/**
+	 * @param frame
+	 *            the frame, which is reused by the canvas once this method
+	 *            returns: it must be copied to be kept
+	 * @param frameNumber
+	 *            the number of the frame, starting at 0
+	 */
+	public void frameRendered(BufferedImage frame, int frameNumber);
+}
@@ -0,0 +1,105 @@
+package gameframework.drawing;
+
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.image.BufferStrategy;
+
+/**
+ * {@link GameCanvas} drawing the frames in the back buffer of a
+ * {@link BufferStrategy}, which is then shown by page flipping or by an
+ * accelerated copy, depending on what the platform supports. Contrary to
+ * {@link GameCanvasDefaultImpl}, there is no scaled copy of a software buffer
+ * at each frame: the frame is drawn at the size of the canvas.
+ *
+ * To use it, override {@link gameframework.game.GameConfiguration#createCanvas()}.
+ */
+public class GameCanvasBufferStrategyImpl extends GameCanvasDefaultImpl
+		implements ActiveRenderingGameCanvas {
+
+	private static final int DEFAULT_NB_BUFFERS = 2;
+
+	protected final int nbBuffers;
+	protected BufferStrategy strategy;
+
+	/** The frame at the rendering size or in a raster image, null if none. */
+	protected Image frameBuffer;
+
+	public GameCanvasBufferStrategyImpl() {
+		this(DEFAULT_NB_BUFFERS);
+	}
+
+	/**
+	 * @param nbBuffers
+	 *            the number of buffers, 2 for double buffering, 3 for triple
+	 *            buffering
+	 */
+	public GameCanvasBufferStrategyImpl(int nbBuffers) {
+		this.nbBuffers = nbBuffers;
+		// The frames are drawn by the game loop, not by the AWT thread
+		canvas.setIgnoreRepaint(true);
+	}
+
+	@Override
+	public void frameDone() {
+		// Each frame is shown as soon as it is rendered
+	}
+
+	@Override
+	public boolean render(Drawable frame) {
+		BufferStrategy bufferStrategy = getBufferStrategy();
+		if (bufferStrategy == null) {
+			return false;
+		}
+		Image scaledFrame = null;
+		if (renderingSize != null || rasterRendering) {
+			if (frameBuffer == null
+					|| frameBuffer.getWidth(null) != getWidth()
+					|| frameBuffer.getHeight(null) != getHeight()) {
+				frameBuffer = createBuffer();
+			}
+			Graphics graphics = frameBuffer.getGraphics();
+			try {
+				frame.draw(graphics);
+			} finally {
+				graphics.dispose();
+			}
+			scaledFrame = frameBuffer;
+		}
+		do {
+			do {
+				Graphics graphics = bufferStrategy.getDrawGraphics();
+				try {
+					if (scaledFrame == null) {
+						frame.draw(graphics);
+					} else {
+						applyScalingFilter(graphics);
+						graphics.drawImage(scaledFrame, 0, 0,
+								canvas.getWidth(), canvas.getHeight(), null);
+					}
+				} finally {
+					graphics.dispose();
+				}
+			} while (bufferStrategy.contentsRestored());
+			bufferStrategy.show();
+		} while (bufferStrategy.contentsLost());
+		return true;
+	}
+
+	@Override
+	public void setRenderingSize(int width, int height) {
+		super.setRenderingSize(width, height);
+		frameBuffer = null;
+	}
+
+	/**
+	 * @return the buffer strategy, created the first time the canvas is
+	 *         displayable; null before
+	 */
+	protected BufferStrategy getBufferStrategy() {
+		if (strategy == null && canvas.isDisplayable()) {
+			canvas.createBufferStrategy(nbBuffers);
+			strategy = canvas.getBufferStrategy();
+		}
+		return strategy;
+	}
+}
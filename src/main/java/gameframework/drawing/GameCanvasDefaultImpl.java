@@ -1,22 +1,101 @@
 package gameframework.drawing;
 
+import gameframework.base.SceneChangeSource;
+import gameframework.base.SceneChangeTracker;
+
 import java.awt.Canvas;
+import java.awt.Dimension;
 import java.awt.Frame;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.MediaTracker;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.event.KeyListener;
 
-public class GameCanvasDefaultImpl implements GameCanvas {
+public class GameCanvasDefaultImpl implements RegionGameCanvas,
+		SceneChangeSource {
 
 	protected final Canvas canvas;
 
+	/** The size at which frames are drawn, null for the size of the canvas. */
+	protected Dimension renderingSize;
+	protected ScalingFilter scalingFilter = ScalingFilter.NEAREST_NEIGHBOR;
+	protected boolean rasterRendering = false;
+
+	/** The tracker of the game of the canvas, null if none. */
+	protected volatile SceneChangeTracker sceneChangeTracker;
+
 	public GameCanvasDefaultImpl() {
-		canvas = new Canvas();
+		canvas = new Canvas() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void paint(Graphics g) {
+				// The window was exposed: the frame must be shown again
+				SceneChangeTracker tracker = sceneChangeTracker;
+				if (tracker != null) {
+					tracker.markChanged();
+				}
+			}
+		};
+	}
+
+	@Override
+	public void setSceneChangeTracker(SceneChangeTracker tracker) {
+		sceneChangeTracker = tracker;
+	}
+
+	/**
+	 * Draws the frames at a fixed resolution, whatever the size of the
+	 * canvas: {@link #getWidth()} and {@link #getHeight()} return this size,
+	 * and the frames are scaled to the canvas only when they are shown. Must
+	 * be called before the buffers are created, typically in
+	 * {@link gameframework.game.GameConfiguration#createCanvas()}.
+	 * 
+	 * @param width
+	 *            the width of the frames
+	 * @param height
+	 *            the height of the frames
+	 */
+	public void setRenderingSize(int width, int height) {
+		renderingSize = new Dimension(width, height);
+	}
+
+	/**
+	 * @param scalingFilter
+	 *            the interpolation used to scale the frames to the canvas,
+	 *            nearest neighbor by default
+	 */
+	public void setScalingFilter(ScalingFilter scalingFilter) {
+		this.scalingFilter = scalingFilter;
+	}
+
+	/**
+	 * Creates the buffers as {@link RasterImage}s, in which the sprites are
+	 * drawn directly by Java code instead of the software loops of Java2D.
+	 * This is faster on platforms without graphics acceleration, such as
+	 * headless servers.
+	 * 
+	 * @param rasterRendering
+	 *            true to draw the frames in raster images
+	 */
+	public void setRasterRendering(boolean rasterRendering) {
+		this.rasterRendering = rasterRendering;
 	}
 
 	@Override
 	public Image createBuffer() {
+		if (rasterRendering) {
+			return new RasterImage(Math.max(1, getWidth()), Math.max(1,
+					getHeight()));
+		}
+		if (renderingSize != null) {
+			return ImageTools.createCompatibleImage(renderingSize.width,
+					renderingSize.height, Transparency.OPAQUE);
+		}
 		return canvas.createImage(canvas.getWidth(), canvas.getHeight());
 	}
 
@@ -27,7 +106,7 @@ public class GameCanvasDefaultImpl implements GameCanvas {
 
 	@Override
 	public void drawImage(Graphics graphics, Image image, int x, int y) {
-		if (x <= canvas.getWidth() && y <= canvas.getHeight())
+		if (x <= getWidth() && y <= getHeight())
 			graphics.drawImage(image, x, y, canvas);
 		else
 			graphics.drawImage(image, 0, 0, canvas);
@@ -35,14 +114,65 @@ public class GameCanvasDefaultImpl implements GameCanvas {
 
 	@Override
 	public void drawFullSizeImage(Graphics graphics, Image image) {
-		graphics.drawImage(image, 0, 0, canvas.getWidth(), canvas.getHeight(),
-				canvas);
+		graphics.drawImage(image, 0, 0, getWidth(), getHeight(), canvas);
 	}
 
 	@Override
 	public void drawFullSizeImage(Image image) {
-		canvas.getGraphics().drawImage(image, 0, 0, canvas.getWidth(),
-				canvas.getHeight(), canvas);
+		Graphics graphics = canvas.getGraphics();
+		if (graphics == null) {
+			// Not displayable yet
+			return;
+		}
+		try {
+			applyScalingFilter(graphics);
+			graphics.drawImage(image, 0, 0, canvas.getWidth(),
+					canvas.getHeight(), canvas);
+		} finally {
+			graphics.dispose();
+		}
+	}
+
+	@Override
+	public void drawImageRegion(Image image, Rectangle region) {
+		Graphics graphics = canvas.getGraphics();
+		if (graphics == null) {
+			// Not displayable yet
+			return;
+		}
+		try {
+			applyScalingFilter(graphics);
+			Rectangle target = toCanvasRegion(region);
+			graphics.drawImage(image, target.x, target.y, target.x
+					+ target.width, target.y + target.height, region.x,
+					region.y, region.x + region.width, region.y
+							+ region.height, canvas);
+		} finally {
+			graphics.dispose();
+		}
+	}
+
+	/**
+	 * @return the region of the canvas showing a region of a frame
+	 */
+	protected Rectangle toCanvasRegion(Rectangle region) {
+		if (renderingSize == null) {
+			return region;
+		}
+		int x1 = region.x * canvas.getWidth() / renderingSize.width;
+		int y1 = region.y * canvas.getHeight() / renderingSize.height;
+		int x2 = (region.x + region.width) * canvas.getWidth()
+				/ renderingSize.width;
+		int y2 = (region.y + region.height) * canvas.getHeight()
+				/ renderingSize.height;
+		return new Rectangle(x1, y1, x2 - x1, y2 - y1);
+	}
+
+	protected void applyScalingFilter(Graphics graphics) {
+		if (graphics instanceof Graphics2D) {
+			((Graphics2D) graphics).setRenderingHint(
+					RenderingHints.KEY_INTERPOLATION, scalingFilter.getHint());
+		}
 	}
 
 	@Override
@@ -52,12 +182,13 @@ public class GameCanvasDefaultImpl implements GameCanvas {
 
 	@Override
 	public int getWidth() {
-		return canvas.getWidth();
+		return renderingSize != null ? renderingSize.width : canvas.getWidth();
 	}
 
 	@Override
 	public int getHeight() {
-		return canvas.getHeight();
+		return renderingSize != null ? renderingSize.height : canvas
+				.getHeight();
 	}
 
 	@Override
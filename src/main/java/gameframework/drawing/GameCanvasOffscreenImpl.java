@@ -0,0 +1,268 @@
+package gameframework.drawing;
+
+import gameframework.base.DaemonThreadFactory;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * {@link GameCanvas} rendering the frames into a {@link BufferedImage}
+ * instead of a screen, for thumbnails, videos or automated checks. It works
+ * in headless environments and as fast as the simulation allows.
+ * 
+ * A {@link ConcurrentDrawable} frame (see
+ * {@link GameUniverseViewPortConcurrentImpl}) is split into horizontal bands
+ * drawn in parallel by a pool of threads, its part which is not thread-safe
+ * being then drawn by the calling thread. Other frames are drawn by the
+ * calling thread, directly into the image, or into a buffer at the rendering
+ * size which is then scaled into the image band by band. The image is given
+ * to the {@link FrameSink}s once per paint of the viewport, when it calls
+ * {@link #frameDone()}.
+ */
+public class GameCanvasOffscreenImpl extends GameCanvasDefaultImpl implements
+		ActiveRenderingGameCanvas {
+
+	protected final int nbBands;
+	protected final ExecutorService executor;
+
+	/** The rendered frame, at the size of the canvas. */
+	protected BufferedImage image;
+
+	/** The frame at the rendering size, null if there is none. */
+	protected BufferedImage frameBuffer;
+
+	protected final List<FrameSink> sinks = new CopyOnWriteArrayList<>();
+	protected int frameNumber = 0;
+
+	public GameCanvasOffscreenImpl(int width, int height) {
+		this(width, height, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param width
+	 *            the width of the rendered images
+	 * @param height
+	 *            the height of the rendered images
+	 * @param nbBands
+	 *            the number of bands rendered in parallel, 1 to render in
+	 *            the calling thread
+	 */
+	public GameCanvasOffscreenImpl(int width, int height, int nbBands) {
+		this.nbBands = Math.max(1, nbBands);
+		executor = this.nbBands > 1 ? Executors.newFixedThreadPool(
+				this.nbBands, new DaemonThreadFactory()) : null;
+		setSize(width, height);
+	}
+
+	public void addFrameSink(FrameSink sink) {
+		sinks.add(sink);
+	}
+
+	public void removeFrameSink(FrameSink sink) {
+		sinks.remove(sink);
+	}
+
+	/**
+	 * @return the last rendered frame, reused for the next one
+	 */
+	public synchronized BufferedImage getImage() {
+		return getOutputImage();
+	}
+
+	/**
+	 * @return the number of frames given to the sinks so far
+	 */
+	public synchronized int getNbFrames() {
+		return frameNumber;
+	}
+
+	/**
+	 * Stops the threads rendering the bands.
+	 */
+	public void shutdown() {
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+	@Override
+	public Image createBuffer() {
+		return createImage(getWidth(), getHeight());
+	}
+
+	protected BufferedImage createImage(int width, int height) {
+		width = Math.max(1, width);
+		height = Math.max(1, height);
+		if (rasterRendering) {
+			return new RasterImage(width, height);
+		}
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+	}
+
+	@Override
+	public synchronized boolean render(final Drawable frame) {
+		BufferedImage output = getOutputImage();
+		if (renderingSize == null) {
+			if (frame instanceof ConcurrentDrawable) {
+				final ConcurrentDrawable concurrentFrame = (ConcurrentDrawable) frame;
+				forEachBand(output, new Band() {
+					@Override
+					public void fill(Graphics2D graphics) {
+						concurrentFrame.drawBand(graphics);
+					}
+				});
+				Graphics graphics = output.getGraphics();
+				try {
+					concurrentFrame.drawAfterBands(graphics);
+				} finally {
+					graphics.dispose();
+				}
+			} else {
+				draw(frame, output);
+			}
+		} else {
+			BufferedImage buffer = getFrameBuffer();
+			draw(frame, buffer);
+			scaleToOutput(buffer);
+		}
+		return true;
+	}
+
+	/**
+	 * Gives the image to the sinks.
+	 */
+	@Override
+	public synchronized void frameDone() {
+		BufferedImage output = getOutputImage();
+		for (FrameSink sink : sinks) {
+			sink.frameRendered(output, frameNumber);
+		}
+		frameNumber++;
+	}
+
+	@Override
+	public synchronized void drawFullSizeImage(Image buffer) {
+		scaleToOutput(buffer);
+	}
+
+	@Override
+	public synchronized void drawImageRegion(Image buffer, Rectangle region) {
+		Graphics2D graphics = getOutputImage().createGraphics();
+		try {
+			applyScalingFilter(graphics);
+			Rectangle target = toCanvasRegion(region);
+			graphics.drawImage(buffer, target.x, target.y, target.x
+					+ target.width, target.y + target.height, region.x,
+					region.y, region.x + region.width, region.y
+							+ region.height, null);
+		} finally {
+			graphics.dispose();
+		}
+	}
+
+	protected void draw(Drawable frame, BufferedImage target) {
+		Graphics graphics = target.getGraphics();
+		try {
+			frame.draw(graphics);
+		} finally {
+			graphics.dispose();
+		}
+	}
+
+	protected void scaleToOutput(final Image buffer) {
+		final BufferedImage output = getOutputImage();
+		if (buffer == output) {
+			return;
+		}
+		forEachBand(output, new Band() {
+			@Override
+			public void fill(Graphics2D graphics) {
+				applyScalingFilter(graphics);
+				graphics.drawImage(buffer, 0, 0, output.getWidth(),
+						output.getHeight(), null);
+			}
+		});
+	}
+
+	/**
+	 * Fills each band of the image in parallel, with a Graphics clipped to
+	 * the band.
+	 */
+	protected void forEachBand(final BufferedImage target, final Band band) {
+		int bandHeight = (target.getHeight() + nbBands - 1) / nbBands;
+		List<Callable<Void>> tasks = new ArrayList<>(nbBands);
+		for (int y = 0; y < target.getHeight(); y += bandHeight) {
+			final Rectangle clip = new Rectangle(0, y, target.getWidth(),
+					Math.min(bandHeight, target.getHeight() - y));
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() {
+					Graphics2D graphics = target.createGraphics();
+					try {
+						graphics.clip(clip);
+						band.fill(graphics);
+					} finally {
+						graphics.dispose();
+					}
+					return null;
+				}
+			});
+		}
+		if (executor == null || tasks.size() < 2) {
+			for (Callable<Void> task : tasks) {
+				try {
+					task.call();
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			}
+			return;
+		}
+		try {
+			for (Future<Void> future : executor.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Band rendering failed", e.getCause());
+		}
+	}
+
+	protected BufferedImage getOutputImage() {
+		int width = Math.max(1, canvas.getWidth());
+		int height = Math.max(1, canvas.getHeight());
+		if (image == null || image.getWidth() != width
+				|| image.getHeight() != height) {
+			image = createImage(width, height);
+		}
+		return image;
+	}
+
+	protected BufferedImage getFrameBuffer() {
+		if (frameBuffer == null || frameBuffer.getWidth() != getWidth()
+				|| frameBuffer.getHeight() != getHeight()) {
+			frameBuffer = (BufferedImage) createBuffer();
+		}
+		return frameBuffer;
+	}
+
+	/**
+	 * Fills a band of the image.
+	 */
+	protected interface Band {
+		void fill(Graphics2D graphics);
+	}
+}
@@ -2,15 +2,34 @@ package gameframework.drawing;
 
 import gameframework.game.GameData;
 
+import java.awt.Rectangle;
+
 /**
  * Draw all elements of the game universe on the canvas.
  */
 public interface GameUniverseViewPort {
 	public void paint();
 
+	/**
+	 * Paints the movables between their previous and their current position,
+	 * so that their moves look smooth even when the frames are painted more
+	 * often than the ticks are simulated.
+	 * 
+	 * @param interpolation
+	 *            the time elapsed since the last tick, as a fraction of a
+	 *            tick between 0 and 1
+	 */
+	public void paint(double interpolation);
+
 	public void refresh();
 
 	public void setGameData(GameData data);
 	
 	public void setBackgroundImage(String path);
+
+	/**
+	 * @return the part of the world displayed on the canvas; the entities
+	 *         outside of it are not drawn
+	 */
+	public Rectangle getVisibleRegion();
 }
@@ -0,0 +1,72 @@
+package gameframework.drawing;
+
+import gameframework.game.GameData;
+import gameframework.game.GameEntity;
+
+import java.awt.Graphics;
+import java.util.Collections;
+import java.util.Comparator;
+
+/**
+ * Viewport drawing the visible entities sorted by render layer and z-index
+ * (see {@link Layered}), then by atlas page (see {@link AtlasDrawable}),
+ * instead of the order of the universe. Entities using the same page are thus
+ * drawn one after the other, which keeps the same source image in the caches
+ * of the graphics pipeline. Entities having the same layer, z-index and page
+ * keep the order of the universe.
+ */
+public class GameUniverseViewPortBatchedImpl extends
+		GameUniverseViewPortDefaultImpl {
+
+	public GameUniverseViewPortBatchedImpl() {
+	}
+
+	public GameUniverseViewPortBatchedImpl(GameData data) {
+		super(data);
+	}
+
+	@Override
+	protected void drawFrame(Graphics graphics) {
+		background.draw(graphics);
+		visibleEntities.clear();
+		collectVisibleEntities(getVisibleRegion(), visibleEntities);
+		// Stable sort: the order of the universe is kept inside a batch
+		Collections.sort(visibleEntities, DRAW_ORDER);
+		for (GameEntity entity : visibleEntities) {
+			drawEntity(graphics, entity);
+		}
+		visibleEntities.clear();
+	}
+
+	protected static int getLayer(GameEntity entity) {
+		return entity instanceof Layered ? ((Layered) entity).getLayer() : 0;
+	}
+
+	protected static int getZIndex(GameEntity entity) {
+		return entity instanceof Layered ? ((Layered) entity).getZIndex() : 0;
+	}
+
+	protected static int getAtlasPage(GameEntity entity) {
+		return entity instanceof AtlasDrawable ? ((AtlasDrawable) entity)
+				.getAtlasPage() : -1;
+	}
+
+	protected static final Comparator<GameEntity> DRAW_ORDER = new Comparator<GameEntity>() {
+		@Override
+		public int compare(GameEntity entity1, GameEntity entity2) {
+			int layer1 = getLayer(entity1);
+			int layer2 = getLayer(entity2);
+			if (layer1 != layer2) {
+				return layer1 < layer2 ? -1 : 1;
+			}
+			int zIndex1 = getZIndex(entity1);
+			int zIndex2 = getZIndex(entity2);
+			if (zIndex1 != zIndex2) {
+				return zIndex1 < zIndex2 ? -1 : 1;
+			}
+			int page1 = getAtlasPage(entity1);
+			int page2 = getAtlasPage(entity2);
+			return page1 < page2 ? -1 : (page1 == page2 ? 0 : 1);
+		}
+	};
+}
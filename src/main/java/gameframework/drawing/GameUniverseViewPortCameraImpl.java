@@ -0,0 +1,294 @@
+package gameframework.drawing;
+
+import gameframework.base.GridTools;
+import gameframework.game.GameData;
+import gameframework.game.GameEntity;
+import gameframework.game.GameUniverse;
+import gameframework.game.SpatialGameUniverse;
+import gameframework.motion.GameMovable;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Viewport displaying a part of a world larger than the canvas, seen from a
+ * camera which can follow a movable. The non-movable entities (the tiles of
+ * the map) are drawn into square chunk images, drawn lazily when they come
+ * into view and kept in a cache whose least recently used chunks are
+ * dropped, so that the memory used does not depend on the size of the map.
+ * Each frame only copies the visible chunks, then draws the visible movables
+ * on top of them.
+ * 
+ * The background is drawn behind the chunks, without scrolling. Non-movable
+ * entities must not draw outside of their bounding box, and their chunks are
+ * drawn again when they are added or removed.
+ */
+public class GameUniverseViewPortCameraImpl extends
+		GameUniverseViewPortDefaultImpl implements StaticEntityCache {
+
+	private static final int DEFAULT_CHUNK_SIZE = 256;
+	private static final int DEFAULT_MAX_CHUNKS = 64;
+
+	protected final int chunkSize;
+
+	/**
+	 * The chunk images by key, in access order. An empty chunk is kept as a
+	 * null image.
+	 */
+	protected final Map<Long, BufferedImage> chunks;
+
+	/** The position of the top left corner of the canvas in the world. */
+	protected final Point camera = new Point(0, 0);
+	protected GameMovable target;
+	private final Point targetPosition = new Point();
+	protected Rectangle worldBounds;
+	protected final StaticEntityInvalidator staticEntityInvalidator = new StaticEntityInvalidator(
+			this);
+
+	public GameUniverseViewPortCameraImpl() {
+		this(DEFAULT_CHUNK_SIZE, DEFAULT_MAX_CHUNKS);
+	}
+
+	/**
+	 * @param chunkSize
+	 *            the size (in pixels) of the side of a chunk
+	 * @param maxChunks
+	 *            the maximum number of chunks kept in cache, which must be
+	 *            greater than the number of chunks visible at once
+	 */
+	public GameUniverseViewPortCameraImpl(int chunkSize, final int maxChunks) {
+		this.chunkSize = chunkSize;
+		chunks = new LinkedHashMap<Long, BufferedImage>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<Long, BufferedImage> eldest) {
+				if (size() > maxChunks) {
+					if (eldest.getValue() != null) {
+						eldest.getValue().flush();
+					}
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	public GameUniverseViewPortCameraImpl(GameData data) {
+		this();
+		setGameData(data);
+	}
+
+	@Override
+	public void setGameData(GameData data) {
+		super.setGameData(data);
+		staticEntityInvalidator.setUniverse(getUniverse());
+		invalidate();
+	}
+
+	/**
+	 * Moves the camera, and stops following its target.
+	 * 
+	 * @param x
+	 *            the abscissa of the world displayed on the left of the
+	 *            canvas
+	 * @param y
+	 *            the ordinate of the world displayed on the top of the canvas
+	 */
+	public synchronized void setCameraPosition(int x, int y) {
+		target = null;
+		camera.setLocation(x, y);
+		clampCamera();
+		markDirty();
+	}
+
+	/**
+	 * @param target
+	 *            the movable kept at the center of the canvas, null to stop
+	 *            following it
+	 */
+	public synchronized void follow(GameMovable target) {
+		this.target = target;
+		markDirty();
+	}
+
+	/**
+	 * @param worldBounds
+	 *            the part of the world the camera cannot leave, null for no
+	 *            limit
+	 */
+	public synchronized void setWorldBounds(Rectangle worldBounds) {
+		this.worldBounds = worldBounds;
+		clampCamera();
+		markDirty();
+	}
+
+	public synchronized Point getCameraPosition() {
+		return new Point(camera);
+	}
+
+	@Override
+	public synchronized Rectangle getVisibleRegion() {
+		return new Rectangle(camera.x, camera.y, getCanvas().getWidth(),
+				getCanvas().getHeight());
+	}
+
+	/**
+	 * Drops all the chunks, for instance after non-movable entities changed
+	 * their appearance.
+	 */
+	@Override
+	public synchronized void invalidate() {
+		markDirty();
+		for (BufferedImage chunk : chunks.values()) {
+			if (chunk != null) {
+				chunk.flush();
+			}
+		}
+		chunks.clear();
+	}
+
+	/**
+	 * Drops the chunks intersecting a part of the world.
+	 */
+	@Override
+	public synchronized void invalidate(Rectangle area) {
+		markDirty();
+		int lastColumn = GridTools.floorDiv(area.x + area.width - 1, chunkSize);
+		int lastRow = GridTools.floorDiv(area.y + area.height - 1, chunkSize);
+		for (int row = GridTools.floorDiv(area.y, chunkSize); row <= lastRow; row++) {
+			for (int column = GridTools.floorDiv(area.x, chunkSize); column <= lastColumn; column++) {
+				BufferedImage chunk = chunks.remove(GridTools.key(column, row));
+				if (chunk != null) {
+					chunk.flush();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Draws the background, the visible chunks, then the visible movables.
+	 */
+	@Override
+	protected synchronized void drawFrame(Graphics graphics) {
+		background.draw(graphics);
+		if (target != null) {
+			// Where the target is drawn, so that it does not shake
+			target.getInterpolatedPosition(interpolation, targetPosition);
+			camera.setLocation(targetPosition.x - getCanvas().getWidth() / 2,
+					targetPosition.y - getCanvas().getHeight() / 2);
+			clampCamera();
+		}
+		Rectangle visibleRegion = getVisibleRegion();
+		int firstColumn = GridTools.floorDiv(visibleRegion.x, chunkSize);
+		int firstRow = GridTools.floorDiv(visibleRegion.y, chunkSize);
+		int lastColumn = GridTools.floorDiv(visibleRegion.x
+				+ visibleRegion.width - 1, chunkSize);
+		int lastRow = GridTools.floorDiv(visibleRegion.y
+				+ visibleRegion.height - 1, chunkSize);
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				BufferedImage chunk = getChunk(column, row);
+				if (chunk != null) {
+					graphics.drawImage(chunk, column * chunkSize - camera.x,
+							row * chunkSize - camera.y, null);
+				}
+			}
+		}
+
+		graphics.translate(-camera.x, -camera.y);
+		try {
+			for (Iterator<GameEntity> it = getEntities(visibleRegion); it
+					.hasNext();) {
+				GameEntity entity = it.next();
+				if (entity.isMovable() && isVisible(entity, visibleRegion)) {
+					drawEntity(graphics, entity);
+				}
+			}
+		} finally {
+			graphics.translate(camera.x, camera.y);
+			visibleEntities.clear();
+		}
+	}
+
+	/**
+	 * @return the image of a chunk, drawn if it is not in cache, null if the
+	 *         chunk is empty
+	 */
+	protected BufferedImage getChunk(int column, int row) {
+		long key = GridTools.key(column, row);
+		if (chunks.containsKey(key)) {
+			return chunks.get(key);
+		}
+		BufferedImage chunk = drawChunk(new Rectangle(column * chunkSize, row
+				* chunkSize, chunkSize, chunkSize));
+		chunks.put(key, chunk);
+		return chunk;
+	}
+
+	/**
+	 * Draws the non-movable entities intersecting an area of the world.
+	 * 
+	 * @return the image of the area, null if no entity intersects it
+	 */
+	protected BufferedImage drawChunk(Rectangle area) {
+		BufferedImage chunk = null;
+		Graphics2D graphics = null;
+		try {
+			for (Iterator<GameEntity> it = getEntities(area); it.hasNext();) {
+				GameEntity entity = it.next();
+				if (entity.isMovable() || !isVisible(entity, area)) {
+					continue;
+				}
+				if (chunk == null) {
+					chunk = ImageTools.createCompatibleImage(area.width,
+							area.height, Transparency.TRANSLUCENT);
+					graphics = chunk.createGraphics();
+					graphics.clipRect(0, 0, area.width, area.height);
+					graphics.translate(-area.x, -area.y);
+				}
+				entity.draw(graphics);
+			}
+		} finally {
+			if (graphics != null) {
+				graphics.dispose();
+			}
+			visibleEntities.clear();
+		}
+		return chunk;
+	}
+
+	/**
+	 * @return the entities which may intersect an area, found through the
+	 *         spatial index of the universe if it has one
+	 */
+	protected Iterator<GameEntity> getEntities(Rectangle area) {
+		GameUniverse universe = getUniverse();
+		if (universe instanceof SpatialGameUniverse) {
+			visibleEntities.clear();
+			((SpatialGameUniverse) universe).getGameEntities(area,
+					visibleEntities);
+			return visibleEntities.iterator();
+		}
+		return universe.getGameEntitiesIterator();
+	}
+
+	protected void clampCamera() {
+		if (worldBounds == null || data == null) {
+			return;
+		}
+		int maxX = worldBounds.x + worldBounds.width - getCanvas().getWidth();
+		int maxY = worldBounds.y + worldBounds.height
+				- getCanvas().getHeight();
+		camera.x = Math.max(worldBounds.x, Math.min(camera.x, maxX));
+		camera.y = Math.max(worldBounds.y, Math.min(camera.y, maxY));
+	}
+}
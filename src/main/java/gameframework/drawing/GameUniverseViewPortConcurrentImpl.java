@@ -0,0 +1,101 @@
+package gameframework.drawing;
+
+import gameframework.base.ObjectWithBoundedBox;
+import gameframework.game.GameData;
+import gameframework.game.GameEntity;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Viewport whose frames can be drawn by several threads at once, each one
+ * drawing the entities of its own band of the frame (see
+ * {@link GameCanvasOffscreenImpl}). Each band looks up its visible entities
+ * in a list of its own, through the spatial index of the universe if it has
+ * one.
+ * 
+ * The draw methods of the entities having a bounding box must then be
+ * thread-safe and must not modify any state. The entities without a bounding
+ * box, such as the {@link gameframework.particles.ParticleEmitter}s which
+ * update their particles when drawn, are drawn once by the calling thread,
+ * over the bands. The frames drawn at an interpolated position (see
+ * {@link #paint(double)}) are drawn by a single thread, since the positions
+ * of the movables are changed during the draw.
+ */
+public class GameUniverseViewPortConcurrentImpl extends
+		GameUniverseViewPortDefaultImpl {
+
+	private final ConcurrentDrawable concurrentFrame = new ConcurrentDrawable() {
+		@Override
+		public void draw(Graphics g) {
+			drawBand(g);
+			drawUnboundedEntities(g);
+		}
+
+		@Override
+		public void drawBand(Graphics g) {
+			GameUniverseViewPortConcurrentImpl.this.drawBand(g);
+		}
+
+		@Override
+		public void drawAfterBands(Graphics g) {
+			drawUnboundedEntities(g);
+		}
+	};
+
+	public GameUniverseViewPortConcurrentImpl() {
+	}
+
+	public GameUniverseViewPortConcurrentImpl(GameData data) {
+		super(data);
+	}
+
+	@Override
+	protected Drawable getFrame() {
+		return interpolation >= 1 ? concurrentFrame : super.getFrame();
+	}
+
+	/**
+	 * Draws the background and the entities having a bounding box of the
+	 * part of the frame allowed by the clip of the graphics.
+	 */
+	protected void drawBand(Graphics graphics) {
+		background.draw(graphics);
+		Rectangle region = getVisibleRegion();
+		Rectangle clip = graphics.getClipBounds();
+		if (clip != null) {
+			region = region.intersection(clip);
+		}
+		if (region.isEmpty()) {
+			return;
+		}
+		List<GameEntity> entities = new ArrayList<>();
+		collectVisibleEntities(region, entities);
+		for (GameEntity entity : entities) {
+			if (!isUnbounded(entity)) {
+				entity.draw(graphics);
+			}
+		}
+	}
+
+	/**
+	 * Draws the visible entities without a bounding box.
+	 */
+	protected void drawUnboundedEntities(Graphics graphics) {
+		visibleEntities.clear();
+		collectVisibleEntities(getVisibleRegion(), visibleEntities);
+		for (GameEntity entity : visibleEntities) {
+			if (isUnbounded(entity)) {
+				entity.draw(graphics);
+			}
+		}
+		visibleEntities.clear();
+	}
+
+	protected static boolean isUnbounded(GameEntity entity) {
+		return !(entity instanceof ObjectWithBoundedBox)
+				|| ((ObjectWithBoundedBox) entity).getBoundingBox() == null;
+	}
+}
@@ -1,13 +1,21 @@
 package gameframework.drawing;
 
+import gameframework.base.ObjectWithBoundedBox;
+import gameframework.base.SceneChangeTracker;
 import gameframework.game.GameData;
 import gameframework.game.GameEntity;
 import gameframework.game.GameUniverse;
+import gameframework.game.SpatialGameUniverse;
+import gameframework.motion.GameMovable;
 
 import java.awt.Graphics;
 import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 public class GameUniverseViewPortDefaultImpl implements GameUniverseViewPort {
 
@@ -15,6 +23,31 @@ public class GameUniverseViewPortDefaultImpl implements GameUniverseViewPort {
 	protected BackgroundImage background;
 	protected GameData data;
 
+	/** The entities of the visible region, reused from frame to frame. */
+	protected final List<GameEntity> visibleEntities = new ArrayList<>();
+
+	/**
+	 * The fraction of a tick elapsed since the last one when painting, 1 to
+	 * draw the movables at their position.
+	 */
+	protected double interpolation = 1;
+	private final Point savedPosition = new Point();
+
+	/** True to paint only when the scene changed. */
+	protected boolean renderOnDemand = false;
+
+	/** What the last painted frame showed. */
+	private volatile long paintedVersion = -1;
+	private double paintedInterpolation;
+	private int paintedWidth, paintedHeight;
+
+	private final Drawable frame = new Drawable() {
+		@Override
+		public void draw(Graphics g) {
+			drawFrame(g);
+		}
+	};
+
 	protected URL backgroundImage(String path) {
 		return this.getClass().getResource(path);
 	}
@@ -31,18 +64,201 @@ public class GameUniverseViewPortDefaultImpl implements GameUniverseViewPort {
 	
 	@Override
 	public void setBackgroundImage(String path) {
-		this.background = new BackgroundImage(path, getCanvas());
+		this.background = createBackgroundImage(DrawableImage.class
+				.getResource(path));
+		markDirty();
+	}
+
+	/**
+	 * Skips the painting of the frames showing the same scene as the
+	 * previous one: nothing moved, was added or removed, and no sprite
+	 * changed (see {@link SceneChangeTracker}). This saves most of the CPU
+	 * used by puzzle or turn based games. A frame drawn at another
+	 * interpolation is only painted if a movable moved during the last
+	 * tick.
+	 */
+	public void setRenderOnDemand(boolean renderOnDemand) {
+		this.renderOnDemand = renderOnDemand;
+		paintedVersion = -1;
+	}
+
+	/**
+	 * @return false if painting on demand and the frame would be the same as
+	 *         the last one painted, true if it must be painted
+	 */
+	protected boolean needsPaint() {
+		if (!renderOnDemand) {
+			return true;
+		}
+		SceneChangeTracker tracker = data.getSceneChangeTracker();
+		long version = tracker.getVersion();
+		int width = getCanvas().getWidth();
+		int height = getCanvas().getHeight();
+		// The interpolation only matters if some movable is between two
+		// positions
+		boolean interpolationChanged = interpolation != paintedInterpolation
+				&& tracker.isMoving();
+		if (version == paintedVersion && !interpolationChanged
+				&& width == paintedWidth && height == paintedHeight) {
+			return false;
+		}
+		// Recorded before painting: a change during the paint is caught by
+		// the next frame
+		paintedVersion = version;
+		paintedInterpolation = interpolation;
+		paintedWidth = width;
+		paintedHeight = height;
+		return true;
 	}
 
+	/**
+	 * Paints the next frame even if the scene did not change, for instance
+	 * because the viewport itself changed.
+	 */
+	protected void markDirty() {
+		paintedVersion = -1;
+	}
+
+	/**
+	 * @return the background drawn behind the entities, scaled to the canvas
+	 *         once and for all by default
+	 */
+	protected BackgroundImage createBackgroundImage(URL url) {
+		return new BackgroundImageCached(url, getCanvas());
+	}
+
+	/**
+	 * Draws the frame directly on the canvas if it supports it, else in the
+	 * buffer which is then copied to the canvas. Nothing is drawn if the frame
+	 * does not need to be painted (see {@link #setRenderOnDemand(boolean)}),
+	 * but an active rendering canvas is still told that the frame is done.
+	 */
 	@Override
 	public void paint() {
-		background.draw(getBufferGraphics());
-		Iterator<GameEntity> gt = getUniverse().getGameEntitiesIterator();
+		if (needsPaint()) {
+			paintFrame();
+		}
+		frameDone();
+	}
+
+	protected void paintFrame() {
+		GameCanvas canvas = getCanvas();
+		if (canvas instanceof ActiveRenderingGameCanvas
+				&& ((ActiveRenderingGameCanvas) canvas).render(getFrame())) {
+			return;
+		}
+		Graphics graphics = getBufferGraphics();
+		try {
+			drawFrame(graphics);
+		} finally {
+			graphics.dispose();
+		}
+		refresh();
+	}
+
+	/**
+	 * @return the frame given to an {@link ActiveRenderingGameCanvas}, which
+	 *         draws it with {@link #drawFrame(Graphics)}
+	 */
+	protected Drawable getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Tells an {@link ActiveRenderingGameCanvas} that the paint is over.
+	 */
+	protected void frameDone() {
+		GameCanvas canvas = getCanvas();
+		if (canvas instanceof ActiveRenderingGameCanvas) {
+			((ActiveRenderingGameCanvas) canvas).frameDone();
+		}
+	}
+
+	@Override
+	public void paint(double interpolation) {
+		this.interpolation = Math.max(0, Math.min(1, interpolation));
+		try {
+			paint();
+		} finally {
+			this.interpolation = 1;
+		}
+	}
+
+	/**
+	 * Draws an entity, at its interpolated position if it is a movable. The
+	 * position of the movable is changed in place during the draw, since
+	 * entities draw themselves at their position.
+	 */
+	protected void drawEntity(Graphics graphics, GameEntity entity) {
+		if (interpolation >= 1 || !(entity instanceof GameMovable)) {
+			entity.draw(graphics);
+			return;
+		}
+		GameMovable movable = (GameMovable) entity;
+		Point position = movable.getPosition();
+		savedPosition.setLocation(position);
+		movable.getInterpolatedPosition(interpolation, position);
+		try {
+			entity.draw(graphics);
+		} finally {
+			position.setLocation(savedPosition);
+		}
+	}
+
+	/**
+	 * Draws the background and the entities of the visible region.
+	 */
+	protected void drawFrame(Graphics graphics) {
+		background.draw(graphics);
+		visibleEntities.clear();
+		collectVisibleEntities(getVisibleRegion(), visibleEntities);
+		for (GameEntity entity : visibleEntities) {
+			drawEntity(graphics, entity);
+		}
+		visibleEntities.clear();
+	}
+
+	/**
+	 * Adds to a list the entities of a region, found through the spatial
+	 * index of the universe if it has one, else in the order of the universe.
+	 */
+	protected void collectVisibleEntities(Rectangle visibleRegion,
+			List<GameEntity> result) {
+		GameUniverse universe = getUniverse();
+		if (universe instanceof SpatialGameUniverse) {
+			((SpatialGameUniverse) universe).getGameEntities(visibleRegion,
+					result);
+			return;
+		}
+		Iterator<GameEntity> gt = universe.getGameEntitiesIterator();
 		for (; gt.hasNext();) {
 			GameEntity tmp = gt.next();
-			tmp.draw(getBufferGraphics());
+			if (isVisible(tmp, visibleRegion)) {
+				result.add(tmp);
+			}
 		}
-		refresh();
+	}
+
+	/**
+	 * The whole canvas by default.
+	 */
+	@Override
+	public Rectangle getVisibleRegion() {
+		return new Rectangle(0, 0, getCanvas().getWidth(), getCanvas()
+				.getHeight());
+	}
+
+	/**
+	 * @return false if the bounding box of the entity lies outside of the
+	 *         region, true if it intersects it or if there is none
+	 */
+	protected static boolean isVisible(GameEntity entity,
+			Rectangle visibleRegion) {
+		if (entity instanceof ObjectWithBoundedBox) {
+			Rectangle box = ((ObjectWithBoundedBox) entity).getBoundingBox();
+			return box == null || box.intersects(visibleRegion);
+		}
+		return true;
 	}
 
 	protected GameUniverse getUniverse() {
@@ -57,7 +273,7 @@ public class GameUniverseViewPortDefaultImpl implements GameUniverseViewPort {
 	public void setGameData(GameData data) {
 		this.data = data;
 		buffer = getCanvas().createBuffer();
-		background = new BackgroundImage(backgroundImage(), getCanvas());
+		background = createBackgroundImage(backgroundImage());
 	}
 
 	protected Graphics getBufferGraphics() {
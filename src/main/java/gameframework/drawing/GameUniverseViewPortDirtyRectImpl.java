@@ -0,0 +1,239 @@
+package gameframework.drawing;
+
+import gameframework.base.ObjectWithBoundedBox;
+import gameframework.base.SceneChangeTracker;
+import gameframework.game.GameData;
+import gameframework.game.GameEntity;
+import gameframework.motion.GameMovable;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Viewport drawing and showing only the parts of the frame which changed
+ * since the previous one: the regions of the static layer drawn again (see
+ * {@link GameUniverseViewPortLayeredImpl}), and the previous and current
+ * bounding boxes of each movable entity which moved, appeared or
+ * disappeared. A movable staying still is only drawn again when its sprite
+ * changes (see {@link SpriteEntity}) or when it signals a change with
+ * {@link SceneChangeTracker#markChanged(Object)}. These regions are merged into a few rectangles, which are drawn in a
+ * buffer kept from frame to frame and then copied to the canvas (the whole
+ * buffer is copied if the canvas is not a {@link RegionGameCanvas}).
+ * 
+ * Entities must not draw outside of their bounding box; a movable entity
+ * without a bounding box makes the whole frame be drawn again.
+ */
+public class GameUniverseViewPortDirtyRectImpl extends
+		GameUniverseViewPortLayeredImpl {
+
+	/** Over this number of regions, the whole frame is drawn again. */
+	private static final int MAX_REGIONS = 64;
+
+	protected BufferedImage frameBuffer;
+
+	/** The bounding boxes of the movables when the last frame was drawn. */
+	protected Map<GameEntity, Rectangle> previousBounds = new IdentityHashMap<>();
+	protected Map<GameEntity, Rectangle> currentBounds = new IdentityHashMap<>();
+
+	/** The regions of the current frame to draw and show. */
+	protected final List<Rectangle> regions = new ArrayList<>();
+
+	/** The version of the scene when the last frame was drawn. */
+	protected long paintedVersion = -1;
+	private final Point interpolatedPosition = new Point();
+
+	public GameUniverseViewPortDirtyRectImpl() {
+	}
+
+	public GameUniverseViewPortDirtyRectImpl(GameData data) {
+		// See GameUniverseViewPortLayeredImpl(GameData)
+		setGameData(data);
+	}
+
+	@Override
+	public void paint() {
+		if (needsPaint()) {
+			paintRegions();
+		}
+		frameDone();
+	}
+
+	/**
+	 * Draws and shows the regions of the frame which changed.
+	 */
+	protected void paintRegions() {
+		int width = getCanvas().getWidth();
+		int height = getCanvas().getHeight();
+		if (width <= 0 || height <= 0) {
+			return;
+		}
+		Rectangle screen = new Rectangle(0, 0, width, height);
+		regions.clear();
+		if (frameBuffer == null || frameBuffer.getWidth() != width
+				|| frameBuffer.getHeight() != height) {
+			if (frameBuffer != null) {
+				frameBuffer.flush();
+			}
+			frameBuffer = ImageTools.createCompatibleImage(width, height,
+					Transparency.OPAQUE);
+			regions.add(screen);
+		}
+		updateStaticLayer(regions);
+		collectMovableRegions(screen);
+		mergeRegions(screen);
+
+		Graphics2D graphics = frameBuffer.createGraphics();
+		try {
+			for (Rectangle region : regions) {
+				graphics.setClip(region);
+				drawRegion(graphics, region);
+			}
+		} finally {
+			graphics.dispose();
+		}
+		if (!(getCanvas() instanceof RegionGameCanvas)) {
+			getCanvas().drawFullSizeImage(frameBuffer);
+			return;
+		}
+		for (Rectangle region : regions) {
+			((RegionGameCanvas) getCanvas()).drawImageRegion(frameBuffer,
+					region);
+		}
+	}
+
+	/**
+	 * Shows the whole last frame again.
+	 */
+	@Override
+	public void refresh() {
+		if (frameBuffer != null) {
+			getCanvas().drawFullSizeImage(frameBuffer);
+		}
+	}
+
+	/**
+	 * Adds the previous and current bounding boxes of the movables which
+	 * moved, the current one of the movables which appeared or changed, then
+	 * the previous bounding box of the removed movables.
+	 */
+	protected void collectMovableRegions(Rectangle screen) {
+		SceneChangeTracker tracker = data.getSceneChangeTracker();
+		long sinceVersion = paintedVersion;
+		paintedVersion = tracker.getVersion();
+		for (Iterator<GameEntity> it = getUniverse().getGameEntitiesIterator(); it
+				.hasNext();) {
+			GameEntity entity = it.next();
+			if (!entity.isMovable()) {
+				continue;
+			}
+			Rectangle box = entity instanceof ObjectWithBoundedBox ? ((ObjectWithBoundedBox) entity)
+					.getBoundingBox() : null;
+			if (box == null) {
+				box = screen;
+			} else {
+				// Kept until the next frame, even if the entity reuses it
+				box = new Rectangle(box);
+				if (interpolation < 1 && entity instanceof GameMovable) {
+					// Bounds of the movable where it is drawn
+					GameMovable movable = (GameMovable) entity;
+					movable.getInterpolatedPosition(interpolation,
+							interpolatedPosition);
+					box.translate(
+							interpolatedPosition.x - movable.getPosition().x,
+							interpolatedPosition.y - movable.getPosition().y);
+				}
+			}
+			Rectangle previous = previousBounds.remove(entity);
+			if (previous == null || !previous.equals(box)) {
+				if (previous != null) {
+					regions.add(previous);
+				}
+				regions.add(box);
+			} else if (box == screen
+					|| hasChanged(tracker, entity, sinceVersion)) {
+				regions.add(box);
+			}
+			currentBounds.put(entity, box);
+		}
+		regions.addAll(previousBounds.values());
+		previousBounds.clear();
+		Map<GameEntity, Rectangle> swap = previousBounds;
+		previousBounds = currentBounds;
+		currentBounds = swap;
+	}
+
+	/**
+	 * @return true if the entity or its sprite manager signalled a change
+	 *         after the given version of the scene
+	 */
+	protected static boolean hasChanged(SceneChangeTracker tracker,
+			GameEntity entity, long sinceVersion) {
+		if (tracker.getVersion(entity) > sinceVersion) {
+			return true;
+		}
+		if (entity instanceof SpriteEntity) {
+			SpriteManager spriteManager = ((SpriteEntity) entity)
+					.getSpriteManager();
+			return spriteManager != null
+					&& tracker.getVersion(spriteManager) > sinceVersion;
+		}
+		return false;
+	}
+
+	/**
+	 * Clips the regions to the screen and merges the overlapping ones.
+	 */
+	protected void mergeRegions(Rectangle screen) {
+		List<Rectangle> merged = new ArrayList<>(regions.size());
+		for (Rectangle region : regions) {
+			Rectangle clipped = region.intersection(screen);
+			if (clipped.isEmpty()) {
+				continue;
+			}
+			boolean grown;
+			do {
+				grown = false;
+				for (Iterator<Rectangle> it = merged.iterator(); it.hasNext();) {
+					Rectangle other = it.next();
+					if (other.intersects(clipped)) {
+						clipped.add(other);
+						it.remove();
+						grown = true;
+					}
+				}
+			} while (grown);
+			merged.add(clipped);
+		}
+		regions.clear();
+		if (merged.size() > MAX_REGIONS) {
+			regions.add(screen);
+		} else {
+			regions.addAll(merged);
+		}
+	}
+
+	/**
+	 * Draws the static layer and the movables intersecting a region of the
+	 * frame buffer, in the order of the universe. The bounding boxes of the
+	 * movables are the ones collected for the current frame.
+	 */
+	protected void drawRegion(Graphics2D graphics, Rectangle region) {
+		graphics.drawImage(staticLayer, 0, 0, null);
+		for (Iterator<GameEntity> it = getUniverse().getGameEntitiesIterator(); it
+				.hasNext();) {
+			GameEntity entity = it.next();
+			Rectangle box = previousBounds.get(entity);
+			if (box != null && box.intersects(region)) {
+				drawEntity(graphics, entity);
+			}
+		}
+	}
+}
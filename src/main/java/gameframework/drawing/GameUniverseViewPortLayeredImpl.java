@@ -0,0 +1,180 @@
+package gameframework.drawing;
+
+import gameframework.game.GameData;
+import gameframework.game.GameEntity;
+import gameframework.game.GameUniverse;
+import gameframework.game.SpatialGameUniverse;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Viewport drawing the background and the non-movable entities once into a
+ * static layer, on which only the movable entities are drawn at each frame.
+ * When a non-movable entity is added or removed, only the part of the layer
+ * covered by its bounding box is drawn again; the whole layer is drawn again
+ * if the entity has no bounding box, or when the canvas or the background
+ * change.
+ * 
+ * The non-movable entities are thus always drawn below the movable ones, and
+ * must not draw outside of their bounding box.
+ */
+public class GameUniverseViewPortLayeredImpl extends
+		GameUniverseViewPortDefaultImpl implements StaticEntityCache {
+
+	/** Over this number of dirty regions, the whole layer is drawn again. */
+	private static final int MAX_DIRTY_REGIONS = 32;
+
+	protected BufferedImage staticLayer;
+	protected final List<Rectangle> dirtyRegions = new ArrayList<>();
+	protected boolean allDirty = true;
+	protected final StaticEntityInvalidator staticEntityInvalidator = new StaticEntityInvalidator(
+			this);
+
+	public GameUniverseViewPortLayeredImpl() {
+	}
+
+	public GameUniverseViewPortLayeredImpl(GameData data) {
+		// Not delegated to the super constructor, which would call
+		// setGameData before the fields of this class are initialized
+		setGameData(data);
+	}
+
+	@Override
+	public void setGameData(GameData data) {
+		super.setGameData(data);
+		staticEntityInvalidator.setUniverse(getUniverse());
+		invalidate();
+	}
+
+	@Override
+	public void setBackgroundImage(String path) {
+		super.setBackgroundImage(path);
+		invalidate();
+	}
+
+	/**
+	 * Draws the whole static layer again at the next frame, for instance
+	 * after a non-movable entity changed its appearance.
+	 */
+	@Override
+	public synchronized void invalidate() {
+		markDirty();
+		allDirty = true;
+		dirtyRegions.clear();
+	}
+
+	/**
+	 * Draws a part of the static layer again at the next frame.
+	 */
+	@Override
+	public synchronized void invalidate(Rectangle region) {
+		markDirty();
+		if (allDirty) {
+			return;
+		}
+		Rectangle merged = new Rectangle(region);
+		for (Iterator<Rectangle> it = dirtyRegions.iterator(); it.hasNext();) {
+			Rectangle dirty = it.next();
+			if (dirty.intersects(merged)) {
+				merged.add(dirty);
+				it.remove();
+			}
+		}
+		dirtyRegions.add(merged);
+		if (dirtyRegions.size() > MAX_DIRTY_REGIONS) {
+			invalidate();
+		}
+	}
+
+	/**
+	 * Draws the static layer, then the movable entities.
+	 */
+	@Override
+	protected void drawFrame(Graphics graphics) {
+		updateStaticLayer(null);
+		if (staticLayer != null) {
+			graphics.drawImage(staticLayer, 0, 0, null);
+		}
+		Rectangle visibleRegion = getVisibleRegion();
+		Iterator<GameEntity> gt = getUniverse().getGameEntitiesIterator();
+		for (; gt.hasNext();) {
+			GameEntity tmp = gt.next();
+			if (tmp.isMovable() && isVisible(tmp, visibleRegion)) {
+				drawEntity(graphics, tmp);
+			}
+		}
+	}
+
+	/**
+	 * Draws again the dirty regions of the static layer.
+	 * 
+	 * @param updatedRegions
+	 *            receives the regions drawn again, may be null
+	 */
+	protected synchronized void updateStaticLayer(List<Rectangle> updatedRegions) {
+		int width = getCanvas().getWidth();
+		int height = getCanvas().getHeight();
+		if (width <= 0 || height <= 0) {
+			return;
+		}
+		if (staticLayer == null || staticLayer.getWidth() != width
+				|| staticLayer.getHeight() != height) {
+			if (staticLayer != null) {
+				staticLayer.flush();
+			}
+			staticLayer = ImageTools.createCompatibleImage(width, height,
+					Transparency.OPAQUE);
+			allDirty = true;
+		}
+		if (allDirty) {
+			dirtyRegions.clear();
+			dirtyRegions.add(new Rectangle(0, 0, width, height));
+			allDirty = false;
+		}
+		for (Rectangle region : dirtyRegions) {
+			drawStaticLayer(region);
+		}
+		if (updatedRegions != null) {
+			updatedRegions.addAll(dirtyRegions);
+		}
+		dirtyRegions.clear();
+	}
+
+	/**
+	 * Draws the background and the non-movable entities intersecting a
+	 * region of the static layer.
+	 */
+	protected void drawStaticLayer(Rectangle region) {
+		Graphics2D graphics = staticLayer.createGraphics();
+		try {
+			graphics.clip(region);
+			background.draw(graphics);
+			GameUniverse universe = getUniverse();
+			Iterator<GameEntity> it;
+			if (universe instanceof SpatialGameUniverse) {
+				visibleEntities.clear();
+				((SpatialGameUniverse) universe).getGameEntities(region,
+						visibleEntities);
+				it = visibleEntities.iterator();
+			} else {
+				it = universe.getGameEntitiesIterator();
+			}
+			while (it.hasNext()) {
+				GameEntity entity = it.next();
+				if (!entity.isMovable() && isVisible(entity, region)) {
+					entity.draw(graphics);
+				}
+			}
+			visibleEntities.clear();
+		} finally {
+			graphics.dispose();
+		}
+	}
+}
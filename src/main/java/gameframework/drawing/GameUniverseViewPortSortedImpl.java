@@ -0,0 +1,229 @@
+package gameframework.drawing;
+
+import gameframework.game.GameData;
+import gameframework.game.GameEntity;
+import gameframework.game.GameUniverseListener;
+import gameframework.game.ObservableGameUniverse;
+import gameframework.game.SpatialGameUniverse;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Viewport drawing the entities by render layer, then by z-index (see
+ * {@link Layered}); entities of the same layer and z-index are drawn in the
+ * order they were added. The entities are kept in a sorted render list,
+ * which is updated when an entity is added, removed, or notifies a change of
+ * layer, instead of being sorted at each frame.
+ *
+ * Walking the render list costs one visibility test per entity of the
+ * universe at each frame. When the universe is a {@link SpatialGameUniverse},
+ * the visible entities are rather found through its spatial index and
+ * stamped; the render list is then walked for the stamped keys, without any
+ * visibility test. When the visible entities are only a small part of the
+ * world, sorting their keys costs less than walking the whole list, so they
+ * are sorted instead: the frame then depends on the number of visible
+ * entities, not on the size of the world.
+ */
+public class GameUniverseViewPortSortedImpl extends
+		GameUniverseViewPortDefaultImpl implements GameUniverseListener,
+		LayerChangeListener {
+
+	/** The entities in draw order. */
+	protected final List<RenderKey> renderList = new ArrayList<>();
+	protected final Map<GameEntity, RenderKey> renderKeys = new IdentityHashMap<>();
+	protected long nextSequence = 0;
+
+	/** The keys of the visible entities, reused from one frame to the next. */
+	protected final List<RenderKey> visibleKeys = new ArrayList<>();
+
+	/** Stamp of the keys of the entities visible in the current frame. */
+	protected int visibleStamp = 0;
+
+	public GameUniverseViewPortSortedImpl() {
+	}
+
+	public GameUniverseViewPortSortedImpl(GameData data) {
+		// Not delegated to the super constructor, which would call
+		// setGameData before the fields of this class are initialized
+		setGameData(data);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the universe of the game is not an
+	 *             {@link ObservableGameUniverse}
+	 */
+	@Override
+	public synchronized void setGameData(GameData data) {
+		if (!(data.getUniverse() instanceof ObservableGameUniverse)) {
+			throw new IllegalArgumentException(
+					"The sorted viewport needs an ObservableGameUniverse");
+		}
+		if (this.data != null) {
+			((ObservableGameUniverse) getUniverse())
+					.removeGameUniverseListener(this);
+			for (RenderKey key : renderList) {
+				stopListening(key.entity);
+			}
+		}
+		renderList.clear();
+		renderKeys.clear();
+		super.setGameData(data);
+		((ObservableGameUniverse) getUniverse()).addGameUniverseListener(this);
+		Iterator<GameEntity> it = getUniverse().getGameEntitiesIterator();
+		while (it.hasNext()) {
+			GameEntity entity = it.next();
+			if (!renderKeys.containsKey(entity)) {
+				renderList.add(createKey(entity));
+			}
+		}
+		// Sorted once, then kept sorted
+		Collections.sort(renderList);
+	}
+
+	@Override
+	public synchronized void gameEntityAdded(GameEntity gameEntity) {
+		if (!renderKeys.containsKey(gameEntity)) {
+			insert(createKey(gameEntity));
+		}
+	}
+
+	@Override
+	public synchronized void gameEntityRemoved(GameEntity gameEntity) {
+		RenderKey key = renderKeys.remove(gameEntity);
+		if (key != null) {
+			renderList.remove(indexOf(key));
+			stopListening(gameEntity);
+		}
+	}
+
+	/**
+	 * Moves the entity to its new place in the render list.
+	 */
+	@Override
+	public synchronized void layerChanged(Layered entity) {
+		RenderKey key = renderKeys.get(entity);
+		if (key == null) {
+			return;
+		}
+		renderList.remove(indexOf(key));
+		key.layer = entity.getLayer();
+		key.zIndex = entity.getZIndex();
+		insert(key);
+		markDirty();
+	}
+
+	@Override
+	protected synchronized void drawFrame(Graphics graphics) {
+		background.draw(graphics);
+		Rectangle visibleRegion = getVisibleRegion();
+		if (getUniverse() instanceof SpatialGameUniverse) {
+			drawVisibleKeys(graphics, visibleRegion);
+			return;
+		}
+		for (RenderKey key : renderList) {
+			if (isVisible(key.entity, visibleRegion)) {
+				drawEntity(graphics, key.entity);
+			}
+		}
+	}
+
+	/**
+	 * Draws the entities found by the spatial index of the universe, in the
+	 * order of the render list: their keys are sorted if it costs less than
+	 * walking the whole list.
+	 */
+	protected void drawVisibleKeys(Graphics graphics, Rectangle visibleRegion) {
+		visibleEntities.clear();
+		((SpatialGameUniverse) getUniverse()).getGameEntities(visibleRegion,
+				visibleEntities);
+		visibleStamp++;
+		visibleKeys.clear();
+		for (GameEntity entity : visibleEntities) {
+			RenderKey key = renderKeys.get(entity);
+			if (key != null && key.visibleStamp != visibleStamp) {
+				key.visibleStamp = visibleStamp;
+				visibleKeys.add(key);
+			}
+		}
+		visibleEntities.clear();
+		int nbVisible = visibleKeys.size();
+		int sortCost = nbVisible * (32 - Integer.numberOfLeadingZeros(nbVisible));
+		if (sortCost < renderList.size()) {
+			Collections.sort(visibleKeys);
+			for (RenderKey key : visibleKeys) {
+				drawEntity(graphics, key.entity);
+			}
+		} else {
+			for (RenderKey key : renderList) {
+				if (key.visibleStamp == visibleStamp) {
+					drawEntity(graphics, key.entity);
+				}
+			}
+		}
+		visibleKeys.clear();
+	}
+
+	protected RenderKey createKey(GameEntity entity) {
+		RenderKey key = new RenderKey(entity, nextSequence++);
+		if (entity instanceof Layered) {
+			Layered layered = (Layered) entity;
+			key.layer = layered.getLayer();
+			key.zIndex = layered.getZIndex();
+			layered.addLayerChangeListener(this);
+		}
+		renderKeys.put(entity, key);
+		return key;
+	}
+
+	protected void stopListening(GameEntity entity) {
+		if (entity instanceof Layered) {
+			((Layered) entity).removeLayerChangeListener(this);
+		}
+	}
+
+	protected void insert(RenderKey key) {
+		int index = Collections.binarySearch(renderList, key);
+		renderList.add(index < 0 ? -index - 1 : index, key);
+	}
+
+	protected int indexOf(RenderKey key) {
+		return Collections.binarySearch(renderList, key);
+	}
+
+	/**
+	 * Place of an entity in the render list. The sequence number tells
+	 * apart the entities of the same layer and z-index.
+	 */
+	protected static class RenderKey implements Comparable<RenderKey> {
+		protected final GameEntity entity;
+		protected final long sequence;
+		protected int layer;
+		protected int zIndex;
+		/** Equal to the stamp of the viewport if visible in the frame. */
+		protected int visibleStamp;
+
+		protected RenderKey(GameEntity entity, long sequence) {
+			this.entity = entity;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public int compareTo(RenderKey other) {
+			if (layer != other.layer) {
+				return layer < other.layer ? -1 : 1;
+			}
+			if (zIndex != other.zIndex) {
+				return zIndex < other.zIndex ? -1 : 1;
+			}
+			return sequence < other.sequence ? -1
+					: (sequence == other.sequence ? 0 : 1);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package gameframework.drawing;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Utility class providing static methods to convert images into images that
+ * Java2D can accelerate.
+ */
+public class ImageTools {
+
+	/**
+	 * Hides the constructor
+	 */
+	private ImageTools() {
+		super();
+	}
+
+	/**
+	 * @return the configuration of the default screen, null if there is none
+	 *         (headless environment)
+	 */
+	public static GraphicsConfiguration getDefaultConfiguration() {
+		if (GraphicsEnvironment.isHeadless()) {
+			return null;
+		}
+		return GraphicsEnvironment.getLocalGraphicsEnvironment()
+				.getDefaultScreenDevice().getDefaultConfiguration();
+	}
+
+	/**
+	 * Copies a loaded image into an image having the layout of the screen and
+	 * the smallest transparency mode keeping its pixels (opaque, bitmask or
+	 * translucent), so that drawing it does not need any conversion.
+	 * 
+	 * @param image
+	 *            a fully loaded image
+	 * @return the copy, or a TYPE_INT_ARGB image if there is no screen
+	 */
+	public static BufferedImage toCompatibleImage(Image image) {
+		int width = image.getWidth(null);
+		int height = image.getHeight(null);
+		BufferedImage argb = new BufferedImage(width, height,
+				BufferedImage.TYPE_INT_ARGB);
+		drawInto(image, argb);
+
+		GraphicsConfiguration configuration = getDefaultConfiguration();
+		if (configuration == null) {
+			return argb;
+		}
+		BufferedImage compatible = configuration.createCompatibleImage(width,
+				height, getTransparency(argb));
+		drawInto(argb, compatible);
+		return compatible;
+	}
+
+	/**
+	 * @return an empty image having the layout of the screen, or a
+	 *         TYPE_INT_ARGB image if there is no screen
+	 */
+	public static BufferedImage createCompatibleImage(int width, int height,
+			int transparency) {
+		GraphicsConfiguration configuration = getDefaultConfiguration();
+		if (configuration == null) {
+			return new BufferedImage(width, height,
+					BufferedImage.TYPE_INT_ARGB);
+		}
+		return configuration.createCompatibleImage(width, height,
+				transparency);
+	}
+
+	/**
+	 * @return the transparency mode needed by the pixels of the image
+	 */
+	public static int getTransparency(BufferedImage argb) {
+		int transparency = Transparency.OPAQUE;
+		int[] row = new int[argb.getWidth()];
+		for (int y = 0; y < argb.getHeight(); y++) {
+			argb.getRGB(0, y, row.length, 1, row, 0, row.length);
+			for (int pixel : row) {
+				int alpha = pixel >>> 24;
+				if (alpha != 0xFF && alpha != 0) {
+					return Transparency.TRANSLUCENT;
+				}
+				if (alpha == 0) {
+					transparency = Transparency.BITMASK;
+				}
+			}
+		}
+		return transparency;
+	}
+
+	private static void drawInto(Image image, BufferedImage destination) {
+		Graphics2D graphics = destination.createGraphics();
+		try {
+			graphics.drawImage(image, 0, 0, null);
+		} finally {
+			graphics.dispose();
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package gameframework.drawing;
+
+/**
+ * {@link SpriteManager} whose current sprite can be read and set back as
+ * numbers, for instance to save it in a snapshot.
+ */
+public interface IndexedSpriteManager extends SpriteManager {
+
+	/**
+	 * @return the current increment of the animation
+	 */
+	int getIncrement();
+
+	/**
+	 * @return the index of the current type in the list set using
+	 *         {@link #setTypes(String...)}, which allows to save it compactly
+	 */
+	int getTypeIndex();
+
+	/**
+	 * Set the current type from its index in the type list.
+	 * 
+	 * @see #getTypeIndex()
+	 */
+	void setTypeIndex(int typeIndex);
+}
@@ -0,0 +1,10 @@
+package gameframework.drawing;
+
+/**
+ * Listener notified when the layer or the z-index of a {@link Layered}
+ * entity changes.
+ */
+public interface LayerChangeListener {
+
+	public void layerChanged(Layered entity);
+}
@@ -0,0 +1,66 @@
+package gameframework.drawing;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Layer and z-index of a {@link Layered} entity, and its listeners. Entities
+ * can delegate to an instance of this class the methods of the interface.
+ */
+public class LayerSupport {
+
+	protected final Layered entity;
+	protected int layer;
+	protected int zIndex;
+	protected final List<LayerChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * @param entity
+	 *            the entity given to the listeners
+	 */
+	public LayerSupport(Layered entity) {
+		this(entity, 0, 0);
+	}
+
+	public LayerSupport(Layered entity, int layer, int zIndex) {
+		this.entity = entity;
+		this.layer = layer;
+		this.zIndex = zIndex;
+	}
+
+	public int getLayer() {
+		return layer;
+	}
+
+	public int getZIndex() {
+		return zIndex;
+	}
+
+	public void setLayer(int layer) {
+		if (this.layer != layer) {
+			this.layer = layer;
+			fireLayerChanged();
+		}
+	}
+
+	public void setZIndex(int zIndex) {
+		if (this.zIndex != zIndex) {
+			this.zIndex = zIndex;
+			fireLayerChanged();
+		}
+	}
+
+	public void addLayerChangeListener(LayerChangeListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeLayerChangeListener(LayerChangeListener listener) {
+		listeners.remove(listener);
+	}
+
+	protected void fireLayerChanged() {
+		for (LayerChangeListener listener : listeners) {
+			listener.layerChanged(entity);
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package gameframework.drawing;
+
+/**
+ * Entity drawn in a render layer: the entities of the lower layers are drawn
+ * first, and inside a layer the entities of lower z-index. Entities which do
+ * not implement this interface are in layer 0, at z-index 0.
+ * 
+ * The listeners must be notified when the layer or the z-index changes, so
+ * that the viewports keeping their entities sorted can move it; see
+ * {@link LayerSupport}.
+ */
+public interface Layered {
+
+	public int getLayer();
+
+	public int getZIndex();
+
+	public void addLayerChangeListener(LayerChangeListener listener);
+
+	public void removeLayerChangeListener(LayerChangeListener listener);
+}
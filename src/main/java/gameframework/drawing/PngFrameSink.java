@@ -0,0 +1,123 @@
+package gameframework.drawing;
+
+import gameframework.base.DaemonThreadFactory;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+/**
+ * {@link FrameSink} saving the frames as a sequence of PNG files
+ * (prefix00000.png, prefix00001.png...), which can then be assembled into a
+ * video. Frames are copied and encoded by background threads, so that the
+ * game only waits when the encoders are more than a given number of frames
+ * late.
+ */
+public class PngFrameSink implements FrameSink, Closeable {
+
+	protected final File directory;
+	protected final String prefix;
+	protected final ExecutorService executor;
+
+	/** The number of frames which can still be queued without waiting. */
+	protected final Semaphore pendingFrames;
+	protected final int maxPendingFrames;
+
+	protected volatile IOException error;
+
+	public PngFrameSink(File directory, String prefix) {
+		this(directory, prefix, Runtime.getRuntime().availableProcessors(), 8);
+	}
+
+	/**
+	 * @param directory
+	 *            the directory of the files, created if needed
+	 * @param prefix
+	 *            the start of the file names
+	 * @param nbThreads
+	 *            the number of threads encoding the frames
+	 * @param maxPendingFrames
+	 *            the number of frames which can wait to be encoded before
+	 *            {@link #frameRendered(BufferedImage, int)} blocks
+	 */
+	public PngFrameSink(File directory, String prefix, int nbThreads,
+			int maxPendingFrames) {
+		this.directory = directory;
+		this.prefix = prefix;
+		this.maxPendingFrames = Math.max(1, maxPendingFrames);
+		pendingFrames = new Semaphore(this.maxPendingFrames);
+		executor = Executors.newFixedThreadPool(Math.max(1, nbThreads),
+				new DaemonThreadFactory());
+		directory.mkdirs();
+	}
+
+	@Override
+	public void frameRendered(BufferedImage frame, int frameNumber) {
+		try {
+			pendingFrames.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		final BufferedImage copy = copy(frame);
+		final File file = getFile(frameNumber);
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					ImageIO.write(copy, "png", file);
+				} catch (IOException e) {
+					if (error == null) {
+						error = e;
+					}
+				} finally {
+					pendingFrames.release();
+				}
+			}
+		});
+	}
+
+	/**
+	 * @return the file of a frame
+	 */
+	public File getFile(int frameNumber) {
+		return new File(directory, String.format("%s%05d.png", prefix,
+				frameNumber));
+	}
+
+	/**
+	 * Waits for all the frames to be saved, and stops the encoding threads.
+	 * 
+	 * @throws IOException
+	 *             if a frame could not be saved
+	 */
+	@Override
+	public void close() throws IOException {
+		executor.shutdown();
+		try {
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (error != null) {
+			throw error;
+		}
+	}
+
+	protected BufferedImage copy(BufferedImage frame) {
+		BufferedImage copy = new BufferedImage(frame.getWidth(),
+				frame.getHeight(), BufferedImage.TYPE_INT_RGB);
+		Graphics graphics = copy.getGraphics();
+		graphics.drawImage(frame, 0, 0, null);
+		graphics.dispose();
+		return copy;
+	}
+}
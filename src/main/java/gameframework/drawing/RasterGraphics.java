@@ -0,0 +1,545 @@
+package gameframework.drawing;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.DataBufferInt;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+
+/**
+ * Graphics of a {@link RasterImage}. Draws of the images registered in the
+ * {@link RasterSpriteCache} are done in plain Java, by writing their
+ * premultiplied pixels directly into the int array of the image, which is
+ * much faster than the software loops of Java2D for small sprites. Scaled
+ * draws (such as the ones of {@link SpriteManagerDefaultImpl}) sample the
+ * nearest pixel, as Java2D does by default. All the other operations, and
+ * the draws under a rotation, a scaling transform, a non rectangular clip, a
+ * special composite, a mirroring or a smoother interpolation, are delegated
+ * to a regular Graphics2D of the image.
+ */
+public class RasterGraphics extends Graphics2D {
+
+	protected final BufferedImage target;
+	protected final Graphics2D delegate;
+	protected final int[] pixels;
+	protected final int offset;
+	protected final int scanline;
+	protected boolean xorMode = false;
+
+	/**
+	 * @param target
+	 *            an image storing its pixels as integers (TYPE_INT_RGB or
+	 *            TYPE_INT_ARGB_PRE)
+	 * @param delegate
+	 *            a Graphics2D of the image
+	 */
+	public RasterGraphics(BufferedImage target, Graphics2D delegate) {
+		if (target.getType() != BufferedImage.TYPE_INT_RGB
+				&& target.getType() != BufferedImage.TYPE_INT_ARGB_PRE) {
+			throw new IllegalArgumentException(
+					"Unsupported image type " + target.getType());
+		}
+		this.target = target;
+		this.delegate = delegate;
+		WritableRaster raster = target.getRaster();
+		DataBufferInt dataBuffer = (DataBufferInt) raster.getDataBuffer();
+		pixels = dataBuffer.getData();
+		offset = dataBuffer.getOffset();
+		scanline = ((SinglePixelPackedSampleModel) raster.getSampleModel())
+				.getScanlineStride();
+	}
+
+	protected RasterGraphics(RasterGraphics graphics) {
+		target = graphics.target;
+		delegate = (Graphics2D) graphics.delegate.create();
+		pixels = graphics.pixels;
+		offset = graphics.offset;
+		scanline = graphics.scanline;
+		xorMode = graphics.xorMode;
+	}
+
+	/**
+	 * Draws a part of an image without Java2D, if possible.
+	 * 
+	 * @return false if the image must be drawn by Java2D
+	 */
+	protected boolean drawRaster(Image image, int x, int y, Rectangle source) {
+		return drawRaster(image, new Rectangle(x, y, source.width,
+				source.height), source);
+	}
+
+	/**
+	 * Draws a part of an image, scaled to the destination, without Java2D if
+	 * possible.
+	 * 
+	 * @return false if the image must be drawn by Java2D
+	 */
+	protected boolean drawRaster(Image image, Rectangle destination,
+			Rectangle source) {
+		if (xorMode || image == target || destination.isEmpty()
+				|| source.isEmpty()) {
+			return false;
+		}
+		boolean scaled = destination.width != source.width
+				|| destination.height != source.height;
+		if (scaled) {
+			Object interpolation = delegate
+					.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+			if (interpolation != null
+					&& interpolation != RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR) {
+				return false;
+			}
+		}
+		RasterSprite sprite = RasterSpriteCache.get(image);
+		if (sprite == null || source.x < 0 || source.y < 0
+				|| source.x + source.width > sprite.getWidth()
+				|| source.y + source.height > sprite.getHeight()) {
+			return false;
+		}
+		AffineTransform transform = delegate.getTransform();
+		if ((transform.getType() & ~AffineTransform.TYPE_TRANSLATION) != 0) {
+			return false;
+		}
+		double translateX = transform.getTranslateX();
+		double translateY = transform.getTranslateY();
+		if (translateX != (int) translateX || translateY != (int) translateY) {
+			return false;
+		}
+		Composite composite = delegate.getComposite();
+		if (!(composite instanceof AlphaComposite)
+				|| ((AlphaComposite) composite).getRule() != AlphaComposite.SRC_OVER
+				|| ((AlphaComposite) composite).getAlpha() != 1f) {
+			return false;
+		}
+		Rectangle clip = new Rectangle(0, 0, target.getWidth(),
+				target.getHeight());
+		Shape userClip = delegate.getClip();
+		if (userClip != null) {
+			if (!(userClip instanceof Rectangle2D)) {
+				return false;
+			}
+			Rectangle bounds = userClip.getBounds();
+			if (!bounds.equals(userClip)) {
+				return false;
+			}
+			bounds.translate((int) translateX, (int) translateY);
+			clip = clip.intersection(bounds);
+		}
+		int x = destination.x + (int) translateX;
+		int y = destination.y + (int) translateY;
+		if (scaled) {
+			sprite.drawScaled(pixels, offset, scanline, new Rectangle(x, y,
+					destination.width, destination.height), source, clip);
+		} else {
+			sprite.draw(pixels, offset, scanline, x, y, source, clip);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+		if (img != null
+				&& drawRaster(img, x, y, new Rectangle(0, 0,
+						img.getWidth(null), img.getHeight(null)))) {
+			return true;
+		}
+		return delegate.drawImage(img, x, y, observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2,
+			int sx1, int sy1, int sx2, int sy2, ImageObserver observer) {
+		// Mirrored draws have a negative width or height
+		if (img != null
+				&& drawRaster(img, new Rectangle(dx1, dy1, dx2 - dx1, dy2
+						- dy1), new Rectangle(sx1, sy1, sx2 - sx1, sy2 - sy1))) {
+			return true;
+		}
+		return delegate.drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2,
+				observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int x, int y, int width, int height,
+			ImageObserver observer) {
+		if (img != null
+				&& drawRaster(img, new Rectangle(x, y, width, height),
+						new Rectangle(0, 0, img.getWidth(null), img
+								.getHeight(null)))) {
+			return true;
+		}
+		return delegate.drawImage(img, x, y, width, height, observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int x, int y, Color bgcolor,
+			ImageObserver observer) {
+		return delegate.drawImage(img, x, y, bgcolor, observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int x, int y, int width, int height,
+			Color bgcolor, ImageObserver observer) {
+		return delegate.drawImage(img, x, y, width, height, bgcolor, observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2,
+			int sx1, int sy1, int sx2, int sy2, Color bgcolor,
+			ImageObserver observer) {
+		return delegate.drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2,
+				bgcolor, observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, AffineTransform xform,
+			ImageObserver obs) {
+		return delegate.drawImage(img, xform, obs);
+	}
+
+	@Override
+	public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+		delegate.drawImage(img, op, x, y);
+	}
+
+	@Override
+	public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+		delegate.drawRenderedImage(img, xform);
+	}
+
+	@Override
+	public void drawRenderableImage(RenderableImage img,
+			AffineTransform xform) {
+		delegate.drawRenderableImage(img, xform);
+	}
+
+	@Override
+	public Graphics create() {
+		return new RasterGraphics(this);
+	}
+
+	@Override
+	public void dispose() {
+		delegate.dispose();
+	}
+
+	@Override
+	public void setPaintMode() {
+		xorMode = false;
+		delegate.setPaintMode();
+	}
+
+	@Override
+	public void setXORMode(Color c1) {
+		xorMode = true;
+		delegate.setXORMode(c1);
+	}
+
+	@Override
+	public void draw(Shape s) {
+		delegate.draw(s);
+	}
+
+	@Override
+	public void drawString(String str, int x, int y) {
+		delegate.drawString(str, x, y);
+	}
+
+	@Override
+	public void drawString(String str, float x, float y) {
+		delegate.drawString(str, x, y);
+	}
+
+	@Override
+	public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+		delegate.drawString(iterator, x, y);
+	}
+
+	@Override
+	public void drawString(AttributedCharacterIterator iterator, float x,
+			float y) {
+		delegate.drawString(iterator, x, y);
+	}
+
+	@Override
+	public void drawGlyphVector(GlyphVector g, float x, float y) {
+		delegate.drawGlyphVector(g, x, y);
+	}
+
+	@Override
+	public void fill(Shape s) {
+		delegate.fill(s);
+	}
+
+	@Override
+	public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+		return delegate.hit(rect, s, onStroke);
+	}
+
+	@Override
+	public GraphicsConfiguration getDeviceConfiguration() {
+		return delegate.getDeviceConfiguration();
+	}
+
+	@Override
+	public void setComposite(Composite comp) {
+		delegate.setComposite(comp);
+	}
+
+	@Override
+	public void setPaint(Paint paint) {
+		delegate.setPaint(paint);
+	}
+
+	@Override
+	public void setStroke(Stroke s) {
+		delegate.setStroke(s);
+	}
+
+	@Override
+	public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) {
+		delegate.setRenderingHint(hintKey, hintValue);
+	}
+
+	@Override
+	public Object getRenderingHint(RenderingHints.Key hintKey) {
+		return delegate.getRenderingHint(hintKey);
+	}
+
+	@Override
+	public void setRenderingHints(Map<?, ?> hints) {
+		delegate.setRenderingHints(hints);
+	}
+
+	@Override
+	public void addRenderingHints(Map<?, ?> hints) {
+		delegate.addRenderingHints(hints);
+	}
+
+	@Override
+	public RenderingHints getRenderingHints() {
+		return delegate.getRenderingHints();
+	}
+
+	@Override
+	public void translate(int x, int y) {
+		delegate.translate(x, y);
+	}
+
+	@Override
+	public void translate(double tx, double ty) {
+		delegate.translate(tx, ty);
+	}
+
+	@Override
+	public void rotate(double theta) {
+		delegate.rotate(theta);
+	}
+
+	@Override
+	public void rotate(double theta, double x, double y) {
+		delegate.rotate(theta, x, y);
+	}
+
+	@Override
+	public void scale(double sx, double sy) {
+		delegate.scale(sx, sy);
+	}
+
+	@Override
+	public void shear(double shx, double shy) {
+		delegate.shear(shx, shy);
+	}
+
+	@Override
+	public void transform(AffineTransform tx) {
+		delegate.transform(tx);
+	}
+
+	@Override
+	public void setTransform(AffineTransform tx) {
+		delegate.setTransform(tx);
+	}
+
+	@Override
+	public AffineTransform getTransform() {
+		return delegate.getTransform();
+	}
+
+	@Override
+	public Paint getPaint() {
+		return delegate.getPaint();
+	}
+
+	@Override
+	public Composite getComposite() {
+		return delegate.getComposite();
+	}
+
+	@Override
+	public void setBackground(Color color) {
+		delegate.setBackground(color);
+	}
+
+	@Override
+	public Color getBackground() {
+		return delegate.getBackground();
+	}
+
+	@Override
+	public Stroke getStroke() {
+		return delegate.getStroke();
+	}
+
+	@Override
+	public void clip(Shape s) {
+		delegate.clip(s);
+	}
+
+	@Override
+	public FontRenderContext getFontRenderContext() {
+		return delegate.getFontRenderContext();
+	}
+
+	@Override
+	public Color getColor() {
+		return delegate.getColor();
+	}
+
+	@Override
+	public void setColor(Color c) {
+		delegate.setColor(c);
+	}
+
+	@Override
+	public Font getFont() {
+		return delegate.getFont();
+	}
+
+	@Override
+	public void setFont(Font font) {
+		delegate.setFont(font);
+	}
+
+	@Override
+	public FontMetrics getFontMetrics(Font f) {
+		return delegate.getFontMetrics(f);
+	}
+
+	@Override
+	public Rectangle getClipBounds() {
+		return delegate.getClipBounds();
+	}
+
+	@Override
+	public void clipRect(int x, int y, int width, int height) {
+		delegate.clipRect(x, y, width, height);
+	}
+
+	@Override
+	public void setClip(int x, int y, int width, int height) {
+		delegate.setClip(x, y, width, height);
+	}
+
+	@Override
+	public Shape getClip() {
+		return delegate.getClip();
+	}
+
+	@Override
+	public void setClip(Shape clip) {
+		delegate.setClip(clip);
+	}
+
+	@Override
+	public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+		delegate.copyArea(x, y, width, height, dx, dy);
+	}
+
+	@Override
+	public void drawLine(int x1, int y1, int x2, int y2) {
+		delegate.drawLine(x1, y1, x2, y2);
+	}
+
+	@Override
+	public void fillRect(int x, int y, int width, int height) {
+		delegate.fillRect(x, y, width, height);
+	}
+
+	@Override
+	public void clearRect(int x, int y, int width, int height) {
+		delegate.clearRect(x, y, width, height);
+	}
+
+	@Override
+	public void drawRoundRect(int x, int y, int width, int height,
+			int arcWidth, int arcHeight) {
+		delegate.drawRoundRect(x, y, width, height, arcWidth, arcHeight);
+	}
+
+	@Override
+	public void fillRoundRect(int x, int y, int width, int height,
+			int arcWidth, int arcHeight) {
+		delegate.fillRoundRect(x, y, width, height, arcWidth, arcHeight);
+	}
+
+	@Override
+	public void drawOval(int x, int y, int width, int height) {
+		delegate.drawOval(x, y, width, height);
+	}
+
+	@Override
+	public void fillOval(int x, int y, int width, int height) {
+		delegate.fillOval(x, y, width, height);
+	}
+
+	@Override
+	public void drawArc(int x, int y, int width, int height, int startAngle,
+			int arcAngle) {
+		delegate.drawArc(x, y, width, height, startAngle, arcAngle);
+	}
+
+	@Override
+	public void fillArc(int x, int y, int width, int height, int startAngle,
+			int arcAngle) {
+		delegate.fillArc(x, y, width, height, startAngle, arcAngle);
+	}
+
+	@Override
+	public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+		delegate.drawPolyline(xPoints, yPoints, nPoints);
+	}
+
+	@Override
+	public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+		delegate.drawPolygon(xPoints, yPoints, nPoints);
+	}
+
+	@Override
+	public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+		delegate.fillPolygon(xPoints, yPoints, nPoints);
+	}
+}
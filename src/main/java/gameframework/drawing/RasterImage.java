@@ -0,0 +1,20 @@
+package gameframework.drawing;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Opaque image whose graphics draw the registered sprites directly into its
+ * pixels (see {@link RasterGraphics}).
+ */
+public class RasterImage extends BufferedImage {
+
+	public RasterImage(int width, int height) {
+		super(width, height, BufferedImage.TYPE_INT_RGB);
+	}
+
+	@Override
+	public Graphics2D createGraphics() {
+		return new RasterGraphics(this, super.createGraphics());
+	}
+}
@@ -0,0 +1,223 @@
+package gameframework.drawing;
+
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Pixels of a sprite, premultiplied by their alpha, ready to be written
+ * directly into the int array of an image (see {@link RasterGraphics}).
+ * Depending on the transparency of the sprite, the rows are copied as a
+ * whole (opaque sprites), pixel by pixel (sprites whose pixels are either
+ * opaque or fully transparent) or blended with the target (other sprites).
+ */
+public class RasterSprite {
+
+	protected final int width;
+	protected final int height;
+
+	/** Premultiplied ARGB pixels, row by row. */
+	protected final int[] pixels;
+
+	/** One of the constants of {@link Transparency}. */
+	protected final int transparency;
+
+	public RasterSprite(BufferedImage image) {
+		width = image.getWidth();
+		height = image.getHeight();
+		pixels = image.getRGB(0, 0, width, height, null, 0, width);
+		boolean opaque = true;
+		boolean bitmask = true;
+		for (int i = 0; i < pixels.length; i++) {
+			int alpha = pixels[i] >>> 24;
+			if (alpha != 0xFF) {
+				opaque = false;
+				if (alpha != 0) {
+					bitmask = false;
+				}
+			}
+			pixels[i] = premultiply(pixels[i], alpha);
+		}
+		transparency = opaque ? Transparency.OPAQUE
+				: bitmask ? Transparency.BITMASK : Transparency.TRANSLUCENT;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int getTransparency() {
+		return transparency;
+	}
+
+	/**
+	 * Draws a part of the sprite, without scaling, into an image whose
+	 * pixels are stored as premultiplied (or opaque) ARGB integers.
+	 * 
+	 * @param target
+	 *            the pixels of the image
+	 * @param offset
+	 *            the index of the top left pixel of the image
+	 * @param scanline
+	 *            the distance between two rows of the image
+	 * @param x
+	 *            the position of the part in the image
+	 * @param y
+	 *            the position of the part in the image
+	 * @param source
+	 *            the part of the sprite to draw
+	 * @param clip
+	 *            the pixels of the image which may be modified, within its
+	 *            bounds
+	 */
+	public void draw(int[] target, int offset, int scanline, int x, int y,
+			Rectangle source, Rectangle clip) {
+		int x1 = Math.max(x, clip.x);
+		int y1 = Math.max(y, clip.y);
+		int x2 = Math.min(x + source.width, clip.x + clip.width);
+		int y2 = Math.min(y + source.height, clip.y + clip.height);
+		if (x1 >= x2 || y1 >= y2) {
+			return;
+		}
+		int length = x2 - x1;
+		int sourceIndex = (source.y + y1 - y) * width + source.x + x1 - x;
+		int targetIndex = offset + y1 * scanline + x1;
+		for (int row = y1; row < y2; row++) {
+			switch (transparency) {
+			case Transparency.OPAQUE:
+				System.arraycopy(pixels, sourceIndex, target, targetIndex,
+						length);
+				break;
+			case Transparency.BITMASK:
+				for (int i = 0; i < length; i++) {
+					int pixel = pixels[sourceIndex + i];
+					if (pixel != 0) {
+						target[targetIndex + i] = pixel;
+					}
+				}
+				break;
+			default:
+				for (int i = 0; i < length; i++) {
+					int pixel = pixels[sourceIndex + i];
+					int alpha = pixel >>> 24;
+					if (alpha == 0xFF) {
+						target[targetIndex + i] = pixel;
+					} else if (alpha != 0) {
+						target[targetIndex + i] = blend(pixel,
+								target[targetIndex + i], 0xFF - alpha);
+					}
+				}
+			}
+			sourceIndex += width;
+			targetIndex += scanline;
+		}
+	}
+
+	/**
+	 * Draws a part of the sprite scaled to a destination rectangle, each
+	 * pixel of the destination taking the pixel of the sprite nearest to its
+	 * center.
+	 * 
+	 * @param target
+	 *            the pixels of the image
+	 * @param offset
+	 *            the index of the top left pixel of the image
+	 * @param scanline
+	 *            the distance between two rows of the image
+	 * @param destination
+	 *            the part of the image to fill
+	 * @param source
+	 *            the part of the sprite to draw
+	 * @param clip
+	 *            the pixels of the image which may be modified, within its
+	 *            bounds
+	 */
+	public void drawScaled(int[] target, int offset, int scanline,
+			Rectangle destination, Rectangle source, Rectangle clip) {
+		int x1 = Math.max(destination.x, clip.x);
+		int y1 = Math.max(destination.y, clip.y);
+		int x2 = Math.min(destination.x + destination.width, clip.x
+				+ clip.width);
+		int y2 = Math.min(destination.y + destination.height, clip.y
+				+ clip.height);
+		if (x1 >= x2 || y1 >= y2) {
+			return;
+		}
+		// The source pixel of the destination pixel i is
+		// floor((2i + 1) * sourceSize / (2 * destinationSize)), stepped
+		// without division
+		int xDenominator = 2 * destination.width;
+		int xStart = (2 * (x1 - destination.x) + 1) * source.width;
+		int xStep = 2 * source.width;
+		int yDenominator = 2 * destination.height;
+		int yNumerator = (2 * (y1 - destination.y) + 1) * source.height;
+		int yStep = 2 * source.height;
+		int sourceRow = source.y + yNumerator / yDenominator;
+		yNumerator %= yDenominator;
+		int targetIndex = offset + y1 * scanline + x1;
+		for (int row = y1; row < y2; row++) {
+			int sourceIndex = sourceRow * width + source.x + xStart
+					/ xDenominator;
+			int xNumerator = xStart % xDenominator;
+			for (int i = 0; i < x2 - x1; i++) {
+				int pixel = pixels[sourceIndex];
+				int alpha = pixel >>> 24;
+				if (alpha == 0xFF) {
+					target[targetIndex + i] = pixel;
+				} else if (alpha != 0) {
+					target[targetIndex + i] = blend(pixel,
+							target[targetIndex + i], 0xFF - alpha);
+				}
+				xNumerator += xStep;
+				while (xNumerator >= xDenominator) {
+					xNumerator -= xDenominator;
+					sourceIndex++;
+				}
+			}
+			yNumerator += yStep;
+			while (yNumerator >= yDenominator) {
+				yNumerator -= yDenominator;
+				sourceRow++;
+			}
+			targetIndex += scanline;
+		}
+	}
+
+	protected static int premultiply(int pixel, int alpha) {
+		if (alpha == 0xFF) {
+			return pixel;
+		}
+		if (alpha == 0) {
+			return 0;
+		}
+		return (alpha << 24) | (multiply((pixel >> 16) & 0xFF, alpha) << 16)
+				| (multiply((pixel >> 8) & 0xFF, alpha) << 8)
+				| multiply(pixel & 0xFF, alpha);
+	}
+
+	/**
+	 * Source over composition of premultiplied pixels.
+	 * 
+	 * @param inverseAlpha
+	 *            255 minus the alpha of the source pixel
+	 */
+	protected static int blend(int source, int target, int inverseAlpha) {
+		return source
+				+ ((multiply(target >>> 24, inverseAlpha) << 24)
+						| (multiply((target >> 16) & 0xFF, inverseAlpha) << 16)
+						| (multiply((target >> 8) & 0xFF, inverseAlpha) << 8) | multiply(
+							target & 0xFF, inverseAlpha));
+	}
+
+	/**
+	 * @return a * b / 255, rounded, without division
+	 */
+	protected static int multiply(int a, int b) {
+		int t = a * b + 0x80;
+		return (t + (t >> 8)) >> 8;
+	}
+}
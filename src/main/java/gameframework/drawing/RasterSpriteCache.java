@@ -0,0 +1,66 @@
+package gameframework.drawing;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Cache of the {@link RasterSprite} of the images drawn by a
+ * {@link RasterGraphics}. Only the images registered here are drawn through
+ * their raster sprite: images which are modified after being drawn (such as
+ * the buffers of the viewports) must not be registered, or must be
+ * invalidated after each change. The frames of the {@link SpriteFrameCache},
+ * the {@link DrawableImage}s and the pages of the {@link SpriteAtlas}es are
+ * registered when created.
+ */
+public class RasterSpriteCache {
+
+	/** The registered images, mapped to null until first drawn. */
+	private static final Map<Image, RasterSprite> sprites = new WeakHashMap<>();
+
+	/**
+	 * Hides the constructor
+	 */
+	private RasterSpriteCache() {
+		super();
+	}
+
+	/**
+	 * Allows an image to be drawn through its raster sprite, which is
+	 * computed when first drawn.
+	 */
+	public static synchronized void register(Image image) {
+		if (image instanceof BufferedImage && !sprites.containsKey(image)) {
+			sprites.put(image, null);
+		}
+	}
+
+	/**
+	 * Drops the raster sprite of a registered image which has been modified.
+	 */
+	public static synchronized void invalidate(Image image) {
+		if (sprites.get(image) != null) {
+			sprites.put(image, null);
+		}
+	}
+
+	/**
+	 * @return the raster sprite of the image, null if it is not registered
+	 */
+	public static synchronized RasterSprite get(Image image) {
+		RasterSprite sprite = sprites.get(image);
+		if (sprite == null && sprites.containsKey(image)) {
+			sprite = new RasterSprite((BufferedImage) image);
+			sprites.put(image, sprite);
+		}
+		return sprite;
+	}
+
+	/**
+	 * Empties the cache, for instance when changing levels.
+	 */
+	public static synchronized void clear() {
+		sprites.clear();
+	}
+}
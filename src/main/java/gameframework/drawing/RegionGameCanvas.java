@@ -0,0 +1,17 @@
+package gameframework.drawing;
+
+import java.awt.Image;
+import java.awt.Rectangle;
+
+/**
+ * {@link GameCanvas} which can show a part of a frame only, leaving the rest
+ * of what it shows unchanged.
+ */
+public interface RegionGameCanvas extends GameCanvas {
+
+	/**
+	 * Copies a region of an image having the size of the canvas to the same
+	 * region of the canvas.
+	 */
+	void drawImageRegion(Image buffer, Rectangle region);
+}
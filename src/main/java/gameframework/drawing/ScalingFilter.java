@@ -0,0 +1,26 @@
+package gameframework.drawing;
+
+import java.awt.RenderingHints;
+
+/**
+ * Interpolation used when a frame is scaled to the size of the canvas.
+ */
+public enum ScalingFilter {
+	/** Sharp pixels, the cheapest. */
+	NEAREST_NEIGHBOR(RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR),
+	/** Smooth pixels. */
+	BILINEAR(RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+	private final Object hint;
+
+	private ScalingFilter(Object hint) {
+		this.hint = hint;
+	}
+
+	/**
+	 * @return the value of {@link RenderingHints#KEY_INTERPOLATION}
+	 */
+	public Object getHint() {
+		return hint;
+	}
+}
@@ -0,0 +1,129 @@
+package gameframework.drawing;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packs many small images (sprites, tiles...) into a few large pages, so
+ * that drawing a frame switches between few source images. Images are packed
+ * in rows of a page from left to right, a new row starting below the highest
+ * image of the previous one; an image larger than a page gets a page of its
+ * own.
+ * 
+ * Images should be packed at startup, before the pages are drawn: packing an
+ * image modifies its page.
+ */
+public class SpriteAtlas {
+
+	private static final int DEFAULT_PAGE_SIZE = 1024;
+
+	protected final int pageSize;
+	protected final List<BufferedImage> pages = new ArrayList<>();
+	protected final Map<Image, AtlasRegion> regions = new IdentityHashMap<>();
+
+	/** Position of the next image in the last page. */
+	protected int rowX, rowY, rowHeight;
+
+	public SpriteAtlas() {
+		this(DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * @param pageSize
+	 *            the size (in pixels) of the side of a page
+	 */
+	public SpriteAtlas(int pageSize) {
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Copies a fully loaded image into a page. An image already packed is
+	 * not copied again.
+	 * 
+	 * @return the region of the page holding the image
+	 */
+	public synchronized AtlasRegion pack(Image image) {
+		AtlasRegion region = regions.get(image);
+		if (region != null) {
+			return region;
+		}
+		int width = image.getWidth(null);
+		int height = image.getHeight(null);
+		if (width > pageSize || height > pageSize) {
+			addPage(width, height);
+			region = copy(image, 0, 0, width, height);
+			// The next image must not go to this page
+			rowX = pageSize;
+			rowY = pageSize;
+		} else {
+			if (pages.isEmpty() || rowX + width > pageSize) {
+				rowX = 0;
+				rowY += rowHeight;
+				rowHeight = 0;
+			}
+			if (pages.isEmpty() || rowY + height > pageSize) {
+				addPage(pageSize, pageSize);
+			}
+			region = copy(image, rowX, rowY, width, height);
+			rowX += width;
+			rowHeight = Math.max(rowHeight, height);
+		}
+		regions.put(image, region);
+		return region;
+	}
+
+	/**
+	 * Packs all the images of an array, for instance the frames of a
+	 * {@link SpriteFrameCache}.
+	 */
+	public synchronized AtlasRegion[][] pack(Image[][] images) {
+		AtlasRegion[][] packed = new AtlasRegion[images.length][];
+		for (int i = 0; i < images.length; i++) {
+			packed[i] = new AtlasRegion[images[i].length];
+			for (int j = 0; j < images[i].length; j++) {
+				packed[i][j] = pack(images[i][j]);
+			}
+		}
+		return packed;
+	}
+
+	public synchronized int getNbPages() {
+		return pages.size();
+	}
+
+	public synchronized BufferedImage getPage(int page) {
+		return pages.get(page);
+	}
+
+	protected void addPage(int width, int height) {
+		BufferedImage pageImage = ImageTools.createCompatibleImage(width,
+				height, Transparency.TRANSLUCENT);
+		RasterSpriteCache.register(pageImage);
+		pages.add(pageImage);
+		rowX = 0;
+		rowY = 0;
+		rowHeight = 0;
+	}
+
+	protected AtlasRegion copy(Image image, int x, int y, int width,
+			int height) {
+		int page = pages.size() - 1;
+		BufferedImage pageImage = pages.get(page);
+		Graphics2D graphics = pageImage.createGraphics();
+		try {
+			graphics.drawImage(image, x, y, null);
+		} finally {
+			graphics.dispose();
+		}
+		RasterSpriteCache.invalidate(pageImage);
+		return new AtlasRegion(page, pageImage, new Rectangle(x, y, width,
+				height));
+	}
+}
@@ -0,0 +1,18 @@
+package gameframework.drawing;
+
+import gameframework.game.GameEntity;
+
+/**
+ * Entity drawn with a {@link SpriteManager}. When the entity is added to a
+ * universe, its sprite manager receives the
+ * {@link gameframework.base.SceneChangeTracker} of the game if it is a
+ * {@link gameframework.base.SceneChangeSource}, so that its sprite changes
+ * repaint the game.
+ */
+public interface SpriteEntity extends GameEntity {
+
+	/**
+	 * @return the sprite manager drawing the entity, null if it has none
+	 */
+	public SpriteManager getSpriteManager();
+}
@@ -0,0 +1,99 @@
+package gameframework.drawing;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Cache of the sprites of the sprite sheets, cut and scaled to their
+ * rendering size. The sprites of a sheet are shared by all the sprite
+ * managers displaying it at the same size, even if each of them loaded its
+ * own {@link DrawableImage} from the same file. The sprites of a sheet not
+ * loaded from a file are kept as long as its image is, the ones of a file
+ * until the cache is cleared.
+ */
+public class SpriteFrameCache {
+
+	/** The sprites of the sheets loaded from a file, by URL and sizes. */
+	private static final Map<String, BufferedImage[][]> urlFrames = new HashMap<>();
+
+	/** The sprites of the other sheets, by image then by sizes. */
+	private static final Map<Image, Map<String, BufferedImage[][]>> imageFrames = new WeakHashMap<>();
+
+	/**
+	 * Hides the constructor
+	 */
+	private SpriteFrameCache() {
+		super();
+	}
+
+	/**
+	 * @param sheet
+	 *            the sprite sheet, with the types in rows and the increments
+	 *            in columns
+	 * @param spriteSize
+	 *            the size of a sprite in the sheet
+	 * @param renderingSize
+	 *            the size of the sprites on the screen
+	 * @return the sprites, indexed by row then column
+	 */
+	public static synchronized BufferedImage[][] getFrames(DrawableImage sheet,
+			int spriteSize, int renderingSize) {
+		String key = spriteSize + "#" + renderingSize;
+		Map<String, BufferedImage[][]> sheetFrames;
+		if (sheet.getUrl() != null) {
+			key = sheet.getUrl() + "#" + key;
+			sheetFrames = urlFrames;
+		} else {
+			sheetFrames = imageFrames.get(sheet.getImage());
+			if (sheetFrames == null) {
+				sheetFrames = new HashMap<>();
+				imageFrames.put(sheet.getImage(), sheetFrames);
+			}
+		}
+		BufferedImage[][] frames = sheetFrames.get(key);
+		if (frames == null) {
+			frames = createFrames(sheet, spriteSize, renderingSize);
+			sheetFrames.put(key, frames);
+		}
+		return frames;
+	}
+
+	/**
+	 * Empties the cache, for instance when changing levels.
+	 */
+	public static synchronized void clear() {
+		urlFrames.clear();
+		imageFrames.clear();
+	}
+
+	protected static BufferedImage[][] createFrames(DrawableImage sheet,
+			int spriteSize, int renderingSize) {
+		int nbRows = sheet.getHeight() / spriteSize;
+		int nbColumns = sheet.getWidth() / spriteSize;
+		BufferedImage[][] sheetFrames = new BufferedImage[nbRows][nbColumns];
+		for (int row = 0; row < nbRows; row++) {
+			for (int column = 0; column < nbColumns; column++) {
+				BufferedImage frame = ImageTools.createCompatibleImage(
+						renderingSize, renderingSize, Transparency.TRANSLUCENT);
+				Graphics2D graphics = frame.createGraphics();
+				try {
+					int sx1 = column * spriteSize;
+					int sy1 = row * spriteSize;
+					graphics.drawImage(sheet.getImage(), 0, 0, renderingSize,
+							renderingSize, sx1, sy1, sx1 + spriteSize, sy1
+									+ spriteSize, null);
+				} finally {
+					graphics.dispose();
+				}
+				RasterSpriteCache.register(frame);
+				sheetFrames[row][column] = frame;
+			}
+		}
+		return sheetFrames;
+	}
+}
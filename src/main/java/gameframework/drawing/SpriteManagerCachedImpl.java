@@ -0,0 +1,60 @@
+package gameframework.drawing;
+
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+
+/**
+ * {@link SpriteManager} drawing sprites which have been cut and scaled once
+ * and for all by the {@link SpriteFrameCache}, instead of scaling a part of
+ * the sheet at each draw.
+ */
+public class SpriteManagerCachedImpl extends SpriteManagerDefaultImpl
+		implements AtlasDrawable {
+
+	protected BufferedImage[][] frames;
+
+	/** The frames in a sprite atlas, null if not used. */
+	protected AtlasRegion[][] atlasFrames;
+
+	public SpriteManagerCachedImpl(DrawableImage image, int renderingSize,
+			int maxSpriteNumber) {
+		super(image, renderingSize, maxSpriteNumber);
+	}
+
+	/**
+	 * Draws the frames from the pages of an atlas.
+	 * 
+	 * @param atlas
+	 *            the atlas in which the frames are packed, null to stop using
+	 *            it
+	 */
+	public void setAtlas(SpriteAtlas atlas) {
+		atlasFrames = atlas != null ? atlas.pack(getFrames()) : null;
+	}
+
+	@Override
+	public int getAtlasPage() {
+		return atlasFrames != null ? atlasFrames[currentRow][spriteNumber]
+				.getPage() : -1;
+	}
+
+	@Override
+	public void draw(Graphics g, Point position) {
+		if (atlasFrames != null) {
+			atlasFrames[currentRow][spriteNumber].draw(g, position.x,
+					position.y);
+		} else {
+			g.drawImage(getFrames()[currentRow][spriteNumber], position.x,
+					position.y, null);
+		}
+	}
+
+	protected BufferedImage[][] getFrames() {
+		if (frames == null) {
+			frames = SpriteFrameCache.getFrames(image, spriteSize,
+					renderingSize);
+		}
+		return frames;
+	}
+}
@@ -1,5 +1,8 @@
 package gameframework.drawing;
 
+import gameframework.base.SceneChangeSource;
+import gameframework.base.SceneChangeTracker;
+
 import java.awt.Graphics;
 import java.awt.Point;
 import java.util.HashMap;
@@ -10,15 +13,22 @@ import java.util.Map;
  * rows whereas increments of a type are in columns
  * 
  */
-public class SpriteManagerDefaultImpl implements SpriteManager {
+public class SpriteManagerDefaultImpl implements IndexedSpriteManager,
+		SceneChangeSource {
+
+	protected final DrawableImage image;
+	protected Map<String, Integer> types;
+	protected final int spriteSize;
+	protected int spriteNumber = 0;
+	protected final int maxSpriteNumber;
+	protected int currentRow;
+	protected final int renderingSize;
 
-	private final DrawableImage image;
-	private Map<String, Integer> types;
-	private final int spriteSize;
-	private int spriteNumber = 0;
-	private final int maxSpriteNumber;
-	private int currentRow;
-	private final int renderingSize;
+	/**
+	 * Notified when the sprite changes, given by the universe of the owner
+	 * {@link SpriteEntity}.
+	 */
+	protected SceneChangeTracker sceneChangeTracker;
 
 	public SpriteManagerDefaultImpl(DrawableImage image, int renderingSize,
 			int maxSpriteNumber) {
@@ -28,6 +38,17 @@ public class SpriteManagerDefaultImpl implements SpriteManager {
 		this.spriteSize = image.getWidth() / maxSpriteNumber;
 	}
 
+	@Override
+	public void setSceneChangeTracker(SceneChangeTracker tracker) {
+		sceneChangeTracker = tracker;
+	}
+
+	protected void markChanged() {
+		if (sceneChangeTracker != null) {
+			sceneChangeTracker.markChanged(this);
+		}
+	}
+
 	@Override
 	public void setTypes(String... types) {
 		int i = 0;
@@ -61,21 +82,50 @@ public class SpriteManagerDefaultImpl implements SpriteManager {
 			throw new IllegalArgumentException(type
 					+ " is not a valid type for this sprite manager.");
 		}
-		this.currentRow = types.get(type);
+		setRow(types.get(type));
 	}
 
 	@Override
 	public void increment() {
-		spriteNumber = (spriteNumber + 1) % maxSpriteNumber;
+		setIncrement((spriteNumber + 1) % maxSpriteNumber);
 	}
 
 	@Override
 	public void reset() {
-		spriteNumber = 0;
+		setIncrement(0);
 	}
 
 	@Override
 	public void setIncrement(int increment) {
-		this.spriteNumber = increment;
+		if (spriteNumber != increment) {
+			this.spriteNumber = increment;
+			markChanged();
+		}
+	}
+
+	@Override
+	public int getIncrement() {
+		return spriteNumber;
+	}
+
+	@Override
+	public int getTypeIndex() {
+		return currentRow;
+	}
+
+	@Override
+	public void setTypeIndex(int typeIndex) {
+		if (types == null || typeIndex < 0 || typeIndex >= types.size()) {
+			throw new IllegalArgumentException(typeIndex
+					+ " is not a valid type index for this sprite manager.");
+		}
+		setRow(typeIndex);
+	}
+
+	protected void setRow(int row) {
+		if (currentRow != row) {
+			currentRow = row;
+			markChanged();
+		}
 	}
 }
@@ -0,0 +1,20 @@
+package gameframework.drawing;
+
+import java.awt.Rectangle;
+
+/**
+ * Cache of the drawing of the non-movable entities, which must be drawn again
+ * when they change.
+ */
+public interface StaticEntityCache {
+
+	/**
+	 * Drops the whole cache.
+	 */
+	public void invalidate();
+
+	/**
+	 * Drops the part of the cache covering a part of the world.
+	 */
+	public void invalidate(Rectangle area);
+}
@@ -0,0 +1,71 @@
+package gameframework.drawing;
+
+import gameframework.base.ObjectWithBoundedBox;
+import gameframework.game.GameEntity;
+import gameframework.game.GameUniverse;
+import gameframework.game.GameUniverseListener;
+import gameframework.game.ObservableGameUniverse;
+
+import java.awt.Rectangle;
+
+/**
+ * Listener of a universe invalidating a {@link StaticEntityCache} when
+ * non-movable entities are added or removed: only the bounding box of the
+ * entity is invalidated, or the whole cache if it has none.
+ */
+public class StaticEntityInvalidator implements GameUniverseListener {
+
+	protected final StaticEntityCache cache;
+	protected ObservableGameUniverse universe;
+
+	public StaticEntityInvalidator(StaticEntityCache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Stops listening to the previous universe, if any, and listens to a new
+	 * one.
+	 * @param universe the universe whose entities are cached, null to stop
+	 *            listening
+	 * @throws IllegalArgumentException if the universe is not an
+	 *             {@link ObservableGameUniverse}
+	 */
+	public void setUniverse(GameUniverse universe) {
+		if (universe != null && !(universe instanceof ObservableGameUniverse)) {
+			throw new IllegalArgumentException(
+					"Static entity caches need an ObservableGameUniverse");
+		}
+		if (this.universe != null) {
+			this.universe.removeGameUniverseListener(this);
+		}
+		this.universe = (ObservableGameUniverse) universe;
+		if (universe != null) {
+			this.universe.addGameUniverseListener(this);
+		}
+	}
+
+	@Override
+	public void gameEntityAdded(GameEntity gameEntity) {
+		staticEntityChanged(gameEntity);
+	}
+
+	@Override
+	public void gameEntityRemoved(GameEntity gameEntity) {
+		staticEntityChanged(gameEntity);
+	}
+
+	protected void staticEntityChanged(GameEntity gameEntity) {
+		if (gameEntity.isMovable()) {
+			return;
+		}
+		if (gameEntity instanceof ObjectWithBoundedBox) {
+			Rectangle box = ((ObjectWithBoundedBox) gameEntity)
+					.getBoundingBox();
+			if (box != null && !box.isEmpty()) {
+				cache.invalidate(box);
+				return;
+			}
+		}
+		cache.invalidate();
+	}
+}
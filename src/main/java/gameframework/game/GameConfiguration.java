@@ -2,6 +2,8 @@ package gameframework.game;
 
 import gameframework.drawing.GameCanvas;
 import gameframework.drawing.GameCanvasDefaultImpl;
+import gameframework.motion.UpdateScheduler;
+import gameframework.motion.UpdateSchedulerDefaultImpl;
 import gameframework.motion.blocking.MoveBlockerChecker;
 import gameframework.motion.blocking.MoveBlockerCheckerDefaultImpl;
 import gameframework.motion.blocking.MoveBlockerRulesApplier;
@@ -10,6 +12,8 @@ import gameframework.motion.overlapping.OverlapProcessor;
 import gameframework.motion.overlapping.OverlapProcessorDefaultImpl;
 import gameframework.motion.overlapping.OverlapRulesApplier;
 import gameframework.motion.overlapping.OverlapRulesApplierDefaultImpl;
+import gameframework.motion.pathfinding.PathFinder;
+import gameframework.motion.pathfinding.PathFinderDefaultImpl;
 
 public class GameConfiguration {
 	
@@ -96,6 +100,14 @@ public class GameConfiguration {
 		return new OverlapProcessorDefaultImpl();
 	}
 
+	public PathFinder createPathFinder() {
+		return new PathFinderDefaultImpl(nbColumns, nbRows, spriteSize);
+	}
+
+	public UpdateScheduler createUpdateScheduler() {
+		return new UpdateSchedulerDefaultImpl();
+	}
+
 	public GameUniverse createUniverse() {
 		return createUniverse(new GameData(this));
 	}
@@ -1,11 +1,15 @@
 package gameframework.game;
 
 import gameframework.base.ObservableValue;
+import gameframework.base.SceneChangeSource;
+import gameframework.base.SceneChangeTracker;
 import gameframework.drawing.GameCanvas;
+import gameframework.motion.UpdateScheduler;
 import gameframework.motion.blocking.MoveBlockerChecker;
 import gameframework.motion.blocking.MoveBlockerRulesApplier;
 import gameframework.motion.overlapping.OverlapProcessor;
 import gameframework.motion.overlapping.OverlapRulesApplier;
+import gameframework.motion.pathfinding.PathFinder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,12 +26,20 @@ public class GameData {
 	protected final MoveBlockerChecker moveBlockerChecker;
 	protected final OverlapRulesApplier overlapRulesApplier;
 	protected final OverlapProcessor overlapProcessor;
+	protected final PathFinder pathFinder;
+	protected final UpdateScheduler updateScheduler;
 	protected final GameUniverse universe;
+	protected final SceneChangeTracker sceneChangeTracker;
 
 	public GameData(GameConfiguration configuration) {
 		this.configuration = configuration;
+		sceneChangeTracker = new SceneChangeTracker();
 
 		canvas = configuration.createCanvas();
+		if (canvas instanceof SceneChangeSource) {
+			((SceneChangeSource) canvas)
+					.setSceneChangeTracker(sceneChangeTracker);
+		}
 		score = new ObservableValue<>(0);
 		life = new ObservableValue<>(configuration.getDefaultNbLives());
 		endOfGame = new ObservableValue<>(false);
@@ -45,6 +57,9 @@ public class GameData {
 		overlapProcessor = configuration.createOverlapProcessor();
 		overlapProcessor.setOverlapRules(overlapRulesApplier);
 
+		pathFinder = configuration.createPathFinder();
+		updateScheduler = configuration.createUpdateScheduler();
+
 
 	}
 
@@ -103,7 +118,22 @@ public class GameData {
 		return overlapRulesApplier;
 	}
 
+	public PathFinder getPathFinder() {
+		return pathFinder;
+	}
+
+	public UpdateScheduler getUpdateScheduler() {
+		return updateScheduler;
+	}
+
 	public GameUniverse getUniverse() {
 		return universe;
 	}
+
+	/**
+	 * @return the changes of what this game displays
+	 */
+	public SceneChangeTracker getSceneChangeTracker() {
+		return sceneChangeTracker;
+	}
 }
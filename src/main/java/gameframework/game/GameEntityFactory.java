@@ -0,0 +1,14 @@
+package gameframework.game;
+
+/**
+ * Creates the game entities of a given type, for instance when a level is
+ * restored from a snapshot or when a pool needs a new entity.
+ */
+public interface GameEntityFactory<T extends GameEntity> {
+
+	/**
+	 * @param data the game data the entity belongs to
+	 * @return a new entity, whose state will be set by the caller
+	 */
+	public T createGameEntity(GameData data);
+}
@@ -0,0 +1,131 @@
+package gameframework.game;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Pool of entities of a given type which are often created and removed
+ * (bullets, pickups, effects...). Instead of being garbage collected, removed
+ * entities are kept to be spawned again: the objects, and the slots the engine
+ * associates with them (for instance in a
+ * {@link gameframework.game.snapshot.RollbackBuffer}), are thus reused.
+ *
+ * A spawned entity keeps the state it had when it was recycled: the caller
+ * has to set its position, speed vector, strategy... before the next tick.
+ *
+ * If the universe is an {@link ObservableGameUniverse}, a free entity added
+ * back to it by someone else (for instance when a RollbackBuffer restores a
+ * tick where it was alive) leaves the pool, so that it is not spawned a
+ * second time.
+ */
+public class GameEntityPool<T extends GameEntity> implements
+		GameUniverseListener {
+
+	protected final GameData data;
+	protected final GameEntityFactory<T> factory;
+	protected final ArrayDeque<T> freeEntities;
+
+	/** The entities of freeEntities, to detect entities recycled twice. */
+	protected final Set<T> pooledEntities;
+
+	public GameEntityPool(GameData data, GameEntityFactory<T> factory) {
+		this(data, factory, 0);
+	}
+
+	/**
+	 * @param data the game data whose universe receives the entities
+	 * @param factory the factory creating the entities when the pool is empty
+	 * @param initialSize the number of entities created right away, so that
+	 *            none is created during the game
+	 */
+	public GameEntityPool(GameData data, GameEntityFactory<T> factory,
+			int initialSize) {
+		this.data = data;
+		this.factory = factory;
+		freeEntities = new ArrayDeque<>(Math.max(16, initialSize));
+		pooledEntities = Collections
+				.newSetFromMap(new IdentityHashMap<T, Boolean>());
+		for (int i = 0; i < initialSize; i++) {
+			T entity = factory.createGameEntity(data);
+			freeEntities.push(entity);
+			pooledEntities.add(entity);
+		}
+		if (data.getUniverse() instanceof ObservableGameUniverse) {
+			((ObservableGameUniverse) data.getUniverse())
+					.addGameUniverseListener(this);
+		}
+	}
+
+	/**
+	 * Adds an entity of the pool to the universe, creating it if the pool is
+	 * empty.
+	 * @return the entity, to be initialized by the caller
+	 */
+	public T spawn() {
+		T entity;
+		synchronized (this) {
+			entity = freeEntities.poll();
+			if (entity != null) {
+				pooledEntities.remove(entity);
+			}
+		}
+		if (entity == null) {
+			entity = factory.createGameEntity(data);
+		}
+		// Not added while holding the lock of the pool, since the universe
+		// notifies the pool while holding its own lock
+		data.getUniverse().addGameEntity(entity);
+		return entity;
+	}
+
+	/**
+	 * Removes an entity from the universe and gives it back to the pool.
+	 * Recycling an entity which is already in the pool (for instance when two
+	 * overlap rules remove it during the same tick) does nothing, so that it
+	 * is not spawned twice.
+	 */
+	public void recycle(T entity) {
+		synchronized (this) {
+			if (pooledEntities.contains(entity)) {
+				return;
+			}
+		}
+		data.getUniverse().removeGameEntity(entity);
+		synchronized (this) {
+			if (pooledEntities.add(entity)) {
+				freeEntities.push(entity);
+			}
+		}
+	}
+
+	/**
+	 * Takes a free entity back from the pool when it is added to the
+	 * universe without being spawned.
+	 */
+	@Override
+	public synchronized void gameEntityAdded(GameEntity gameEntity) {
+		if (!pooledEntities.remove(gameEntity)) {
+			return;
+		}
+		for (Iterator<T> it = freeEntities.iterator(); it.hasNext();) {
+			if (it.next() == gameEntity) {
+				it.remove();
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void gameEntityRemoved(GameEntity gameEntity) {
+	}
+
+	/**
+	 * @return the number of entities available without creating new ones
+	 */
+	public synchronized int getNbFreeEntities() {
+		return freeEntities.size();
+	}
+}
@@ -2,6 +2,9 @@ package gameframework.game;
 
 import gameframework.drawing.GameUniverseViewPort;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
  * Default implementation of a game level.
  *
@@ -30,6 +33,27 @@ public abstract class GameLevelDefaultImpl extends Thread implements GameLevel {
 	/** Flag to trigger the game loop (false means continue playing). */
 	protected boolean stopGameLoop;
 
+	/** The number of ticks simulated so far. */
+	protected int tick;
+
+	/** The listeners notified at the start of each tick. */
+	protected final List<GameTickListener> tickListeners = new CopyOnWriteArrayList<>();
+
+	/** The default delay between two frames in interpolated rendering. */
+	private static final int DEFAULT_MINIMUM_DELAY_BETWEEN_FRAMES = 16;
+
+	/** Under this delay (in nanoseconds), the loop does not sleep. */
+	private static final long MIN_SLEEP_NANOS = 1000000L;
+
+	/** Over this number of late ticks, the simulation gives up catching up. */
+	private static final int MAX_TICKS_PER_FRAME = 5;
+
+	/**
+	 * The delay between two frames in interpolated rendering, 0 to paint once
+	 * per tick.
+	 */
+	protected int minimumDelayBetweenFrames = 0;
+
 	/**
 	 * Initialize the level.
 	 *
@@ -89,14 +113,17 @@ public abstract class GameLevelDefaultImpl extends Thread implements GameLevel {
 	 * (or the thread is interrupted).
 	 */
 	public void run() {
+		if (minimumDelayBetweenFrames > 0) {
+			runInterpolated();
+			return;
+		}
 		stopGameLoop = false;
 
 		// Main game loop
 		while (!stopGameLoop && !this.isInterrupted()) {
 			long start = System.currentTimeMillis();
 			gameBoard.paint();
-			universe.allOneStepMoves();
-			universe.processAllOverlaps();
+			simulateOneTick();
 
 			long sleepTime = this.minimumDelayBetweenCycles - (System.currentTimeMillis() - start);
 			if (sleepTime > 0) {
@@ -109,6 +136,70 @@ public abstract class GameLevelDefaultImpl extends Thread implements GameLevel {
 		}
 	}
 
+	/**
+	 * Paint frames more often than ticks are simulated, the movables being
+	 * drawn between their previous and current positions (see
+	 * {@link GameUniverseViewPort#paint(double)}). The simulation keeps its
+	 * tick rate, so the motion is smoothed without increasing the cost of
+	 * moves and overlaps. Must be called before the level is started.
+	 *
+	 * @param enabled
+	 *            True to paint interpolated frames, false to paint once per
+	 *            tick (default).
+	 */
+	public void setInterpolatedRendering(boolean enabled) {
+		minimumDelayBetweenFrames = enabled ? DEFAULT_MINIMUM_DELAY_BETWEEN_FRAMES
+				: 0;
+	}
+
+	/**
+	 * @param minimumDelayBetweenFrames
+	 *            The minimum delay (in milliseconds) between two interpolated
+	 *            frames, 0 to paint once per tick.
+	 */
+	public void setMinimumDelayBetweenFrames(int minimumDelayBetweenFrames) {
+		this.minimumDelayBetweenFrames = minimumDelayBetweenFrames;
+	}
+
+	/**
+	 * Game loop simulating the ticks at a fixed rate and painting
+	 * interpolated frames in between, as often as allowed by
+	 * {@link #minimumDelayBetweenFrames}.
+	 */
+	protected void runInterpolated() {
+		stopGameLoop = false;
+		long tickNanos = Math.max(1, this.minimumDelayBetweenCycles) * 1000000L;
+		long frameNanos = this.minimumDelayBetweenFrames * 1000000L;
+		long previous = System.nanoTime();
+		long lag = 0;
+
+		while (!stopGameLoop && !this.isInterrupted()) {
+			long start = System.nanoTime();
+			lag += start - previous;
+			previous = start;
+			int nbTicks = 0;
+			while (lag >= tickNanos && !stopGameLoop) {
+				simulateOneTick();
+				lag -= tickNanos;
+				if (++nbTicks >= MAX_TICKS_PER_FRAME) {
+					// Too slow to catch up: slow the game down instead
+					lag = 0;
+				}
+			}
+			gameBoard.paint((double) lag / tickNanos);
+
+			long sleepTime = frameNanos - (System.nanoTime() - start);
+			if (sleepTime > MIN_SLEEP_NANOS) {
+				try {
+					Thread.sleep(sleepTime / 1000000L,
+							(int) (sleepTime % 1000000L));
+				} catch (InterruptedException e) {
+					// That's ok, we just didn't manage to finish sleeping
+				}
+			}
+		}
+	}
+
 	@Override
 	/**
 	 * Ends the level.
@@ -119,4 +210,48 @@ public abstract class GameLevelDefaultImpl extends Thread implements GameLevel {
 	public void end() {
 		stopGameLoop = true;
 	}
+
+	/**
+	 * Simulate one tick of the level: notify the tick listeners, then move the
+	 * entities and process their overlaps.
+	 */
+	public void simulateOneTick() {
+		for (GameTickListener listener : tickListeners) {
+			listener.tickStarted(tick);
+		}
+		universe.allOneStepMoves();
+		universe.processAllOverlaps();
+		tick++;
+	}
+
+	/**
+	 * Initialize and run the level in the calling thread, without painting
+	 * and as fast as possible, for instance to replay recorded inputs.
+	 *
+	 * @param maxTicks
+	 *            The maximum number of ticks to simulate, the level stopping
+	 *            earlier if it is ended.
+	 */
+	public void runHeadless(int maxTicks) {
+		this.init();
+		stopGameLoop = false;
+		while (!stopGameLoop && tick < maxTicks) {
+			simulateOneTick();
+		}
+	}
+
+	/**
+	 * @return The number of ticks simulated so far.
+	 */
+	public int getTick() {
+		return tick;
+	}
+
+	public void addTickListener(GameTickListener listener) {
+		tickListeners.add(listener);
+	}
+
+	public void removeTickListener(GameTickListener listener) {
+		tickListeners.remove(listener);
+	}
 }
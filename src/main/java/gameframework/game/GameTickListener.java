@@ -0,0 +1,15 @@
+package gameframework.game;
+
+/**
+ * Listener notified by {@link GameLevelDefaultImpl} at the start of each tick
+ * of the simulation, before the entities move. Inputs applied from this
+ * listener thus always take effect at the same tick, whatever the timing of
+ * the real events.
+ */
+public interface GameTickListener {
+
+	/**
+	 * @param tick the number of the tick, starting at 0
+	 */
+	public void tickStarted(int tick);
+}
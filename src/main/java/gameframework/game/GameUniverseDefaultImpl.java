@@ -1,18 +1,28 @@
 package gameframework.game;
 
+import gameframework.base.SceneChangeSource;
+import gameframework.base.SceneChangeTracker;
+import gameframework.drawing.SpriteEntity;
+import gameframework.drawing.SpriteManager;
 import gameframework.motion.blocking.MoveBlocker;
 import gameframework.motion.blocking.MoveBlockerChecker;
 import gameframework.motion.overlapping.OverlapProcessor;
 import gameframework.motion.overlapping.Overlappable;
+import gameframework.motion.pathfinding.PathFinder;
 import gameframework.motion.GameMovable;
+import gameframework.motion.UpdateScheduler;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-public class GameUniverseDefaultImpl implements GameUniverse {
+public class GameUniverseDefaultImpl implements ObservableGameUniverse {
 	protected ConcurrentLinkedQueue<GameEntity> gameEntities = new ConcurrentLinkedQueue<>();
 	protected final GameData data;
+	protected final CopyOnWriteArrayList<GameUniverseListener> listeners = new CopyOnWriteArrayList<>();
 
 	
 	public GameUniverseDefaultImpl(GameData gameData) {
@@ -32,6 +42,15 @@ public class GameUniverseDefaultImpl implements GameUniverse {
 		}
 		if (gameEntity instanceof MoveBlocker) {
 			getMoveBlockerChecker().addMoveBlocker((MoveBlocker) gameEntity);
+			getPathFinder().addMoveBlocker((MoveBlocker) gameEntity);
+		}
+		if (gameEntity.isMovable()) {
+			getUpdateScheduler().addGameMovable((GameMovable) gameEntity);
+		}
+		setSceneChangeTracker(gameEntity, getSceneChangeTracker());
+		getSceneChangeTracker().markChanged();
+		for (GameUniverseListener listener : listeners) {
+			listener.gameEntityAdded(gameEntity);
 		}
 	}
 
@@ -41,20 +60,77 @@ public class GameUniverseDefaultImpl implements GameUniverse {
 		}
 		if (gameEntity instanceof MoveBlocker) {
 			getMoveBlockerChecker().removeMoveBlocker((MoveBlocker) gameEntity);
+			getPathFinder().removeMoveBlocker((MoveBlocker) gameEntity);
+		}
+		if (gameEntity.isMovable()) {
+			getUpdateScheduler().removeGameMovable((GameMovable) gameEntity);
 		}
 	}
 
 	@Override
 	public synchronized void removeGameEntity(GameEntity gameEntity) {
-		gameEntities.remove(gameEntity);
+		boolean removed = gameEntities.remove(gameEntity);
 		this.removeOverlappableAndBlockerGameEntity(gameEntity);
+		if (removed) {
+			fireGameEntityRemoved(gameEntity);
+		}
+	}
+
+	protected void fireGameEntityRemoved(GameEntity gameEntity) {
+		setSceneChangeTracker(gameEntity, null);
+		getSceneChangeTracker().markChanged();
+		for (GameUniverseListener listener : listeners) {
+			listener.gameEntityRemoved(gameEntity);
+		}
+	}
+
+	/**
+	 * Gives the tracker to an entity and to its sprite manager, if they
+	 * signal their changes.
+	 */
+	protected void setSceneChangeTracker(GameEntity gameEntity,
+			SceneChangeTracker tracker) {
+		if (gameEntity instanceof SceneChangeSource) {
+			((SceneChangeSource) gameEntity).setSceneChangeTracker(tracker);
+		}
+		if (gameEntity instanceof SpriteEntity) {
+			SpriteManager spriteManager = ((SpriteEntity) gameEntity)
+					.getSpriteManager();
+			if (spriteManager instanceof SceneChangeSource) {
+				((SceneChangeSource) spriteManager)
+						.setSceneChangeTracker(tracker);
+			}
+		}
 	}
 
+	@Override
+	public void addGameUniverseListener(GameUniverseListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeGameUniverseListener(GameUniverseListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Moves all the movable entities. The ones that the UpdateScheduler does
+	 * not update during this tick keep moving along their current speed
+	 * vector, until a move blocker stops them.
+	 */
 	@Override
 	public void allOneStepMoves() {
+		UpdateScheduler scheduler = getUpdateScheduler();
+		scheduler.nextTick();
+		getSceneChangeTracker().startTick();
 		for (GameEntity entity : gameEntities) {
 			if (entity.isMovable()) {
-				((GameMovable) entity).oneStepMove();
+				GameMovable movable = (GameMovable) entity;
+				if (scheduler.isUpdateTick(movable)) {
+					movable.oneStepMove();
+				} else {
+					movable.extrapolateOneStep(getMoveBlockerChecker());
+				}
 			}
 		}
 	}
@@ -72,11 +148,27 @@ public class GameUniverseDefaultImpl implements GameUniverse {
 		return data.getOverlapProcessor();
 	}
 
+	@Override
+	public SceneChangeTracker getSceneChangeTracker() {
+		return data.getSceneChangeTracker();
+	}
+
+	protected UpdateScheduler getUpdateScheduler() {
+		return data.getUpdateScheduler();
+	}
+
+	protected PathFinder getPathFinder() {
+		return data.getPathFinder();
+	}
+
 	@Override
 	public synchronized void removeAllGameEntities() {
 		for (GameEntity gameEntity : gameEntities)
 			removeOverlappableAndBlockerGameEntity(gameEntity);
+		List<GameEntity> removed = new ArrayList<>(this.gameEntities);
 		this.gameEntities.clear();
+		for (GameEntity gameEntity : removed)
+			fireGameEntityRemoved(gameEntity);
 	}
 
 	@Override
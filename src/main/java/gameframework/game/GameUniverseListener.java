@@ -0,0 +1,12 @@
+package gameframework.game;
+
+/**
+ * Listener notified by a {@link GameUniverse} when entities are added to it
+ * or removed from it, for instance to update a cache of what is drawn.
+ */
+public interface GameUniverseListener {
+
+	public void gameEntityAdded(GameEntity gameEntity);
+
+	public void gameEntityRemoved(GameEntity gameEntity);
+}
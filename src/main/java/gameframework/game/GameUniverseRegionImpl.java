@@ -0,0 +1,463 @@
+package gameframework.game;
+
+import gameframework.base.GridTools;
+import gameframework.base.ObjectWithBoundedBox;
+import gameframework.motion.GameMovable;
+import gameframework.motion.overlapping.Overlappable;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Universe for very large worlds, split into square regions. Only the regions
+ * containing movables and lying close to a focus (the player, the part of the
+ * world displayed by the viewport...) are awake: the movables of the other
+ * regions are neither moved nor checked for overlaps, so they cost nothing
+ * per tick.
+ *
+ * A region also wakes up when a movable enters it, and then stays awake for a
+ * given number of ticks even if it is far from any focus. As long as no focus
+ * is given, all the regions are kept awake. The moves of all
+ * the awake movables are computed in parallel as in
+ * {@link GameUniverseTwoPhaseImpl}; only the movables crossing a region
+ * border are exchanged between regions.
+ *
+ * Non-movable entities never need to be updated: they are only indexed by
+ * region so that the entities of a part of the world can be found quickly
+ * (see {@link SpatialGameUniverse}).
+ */
+public class GameUniverseRegionImpl extends GameUniverseTwoPhaseImpl implements
+		SpatialGameUniverse {
+
+	private static final int DEFAULT_WAKE_DISTANCE = 1;
+	private static final int DEFAULT_WAKE_TICKS = 50;
+
+	/** Size (in pixels) of the side of a region. */
+	protected final int regionSize;
+
+	/** Number of regions around a focus which are kept awake. */
+	protected int wakeDistance = DEFAULT_WAKE_DISTANCE;
+
+	/** Number of ticks a region stays awake after a movable entered it. */
+	protected int wakeTicks = DEFAULT_WAKE_TICKS;
+
+	protected final Map<Long, UniverseRegion> regions = new HashMap<>();
+	protected final Map<GameMovable, UniverseRegion> movableRegions = new IdentityHashMap<>();
+	protected final List<UniverseRegion> awakeRegions = new ArrayList<>();
+
+	/** The non-movable entities, by key of the regions their box covers. */
+	protected final Map<Long, List<GameEntity>> staticEntities = new HashMap<>();
+	protected final List<GameEntity> unboundedStaticEntities = new ArrayList<>();
+	private final Map<GameEntity, Boolean> foundStaticEntities = new IdentityHashMap<>();
+
+	protected final List<GameMovable> focusMovables = new ArrayList<>();
+	protected Rectangle focusRegion;
+
+	/** Largest side (in pixels) of the bounding box of the movables. */
+	protected int maxMovableSize = 0;
+
+	/**
+	 * @param gameData the game data
+	 * @param regionSize the size (in pixels) of the side of a region
+	 * @param nbThreads the number of threads computing the moves
+	 */
+	public GameUniverseRegionImpl(GameData gameData, int regionSize,
+			int nbThreads) {
+		super(gameData, nbThreads);
+		this.regionSize = regionSize;
+	}
+
+	public GameUniverseRegionImpl(GameData gameData, int regionSize) {
+		this(gameData, regionSize, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Keeps the regions around a movable (typically the player) awake.
+	 */
+	public synchronized void addFocus(GameMovable movable) {
+		focusMovables.add(movable);
+	}
+
+	public synchronized void removeFocus(GameMovable movable) {
+		focusMovables.remove(movable);
+	}
+
+	/**
+	 * Keeps the regions intersecting a part of the world (typically the part
+	 * displayed by the viewport) awake.
+	 * @param focusRegion the region, null for none
+	 */
+	public synchronized void setFocusRegion(Rectangle focusRegion) {
+		this.focusRegion = focusRegion;
+	}
+
+	/**
+	 * @param wakeDistance the number of regions around a focus kept awake
+	 */
+	public void setWakeDistance(int wakeDistance) {
+		this.wakeDistance = wakeDistance;
+	}
+
+	/**
+	 * @param wakeTicks the number of ticks a region stays awake after a
+	 *            movable entered it
+	 */
+	public void setWakeTicks(int wakeTicks) {
+		this.wakeTicks = wakeTicks;
+	}
+
+	@Override
+	public synchronized void addGameEntity(GameEntity gameEntity) {
+		super.addGameEntity(gameEntity);
+		if (gameEntity.isMovable()) {
+			GameMovable movable = (GameMovable) gameEntity;
+			updateMaxMovableSize(movable);
+			UniverseRegion region = getRegion(movable.getPosition(), true);
+			// The movable has already been given to the overlap processor
+			wake(region);
+			region.movables.add(movable);
+			movableRegions.put(movable, region);
+		} else {
+			indexStaticEntity(gameEntity, true);
+		}
+	}
+
+	@Override
+	public synchronized void removeGameEntity(GameEntity gameEntity) {
+		super.removeGameEntity(gameEntity);
+		if (gameEntity.isMovable()) {
+			removeFromRegion((GameMovable) gameEntity);
+		} else {
+			indexStaticEntity(gameEntity, false);
+		}
+	}
+
+	@Override
+	public synchronized void removeAllGameEntities() {
+		super.removeAllGameEntities();
+		regions.clear();
+		movableRegions.clear();
+		awakeRegions.clear();
+		staticEntities.clear();
+		unboundedStaticEntities.clear();
+		maxMovableSize = 0;
+	}
+
+	/**
+	 * The movables are looked for in the regions covering the area, and in
+	 * the regions above and on the left of it which the largest movable can
+	 * span, since a bounding box extends from the position of its movable to
+	 * the right and to the bottom.
+	 */
+	@Override
+	public synchronized void getGameEntities(Rectangle area,
+			Collection<GameEntity> result) {
+		int firstColumn = GridTools.floorDiv(area.x, regionSize);
+		int firstRow = GridTools.floorDiv(area.y, regionSize);
+		int lastColumn = GridTools.floorDiv(area.x + area.width - 1, regionSize);
+		int lastRow = GridTools.floorDiv(area.y + area.height - 1, regionSize);
+
+		result.addAll(unboundedStaticEntities);
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				List<GameEntity> entities = staticEntities.get(GridTools.key(column, row));
+				if (entities == null) {
+					continue;
+				}
+				for (GameEntity entity : entities) {
+					if (foundStaticEntities.put(entity, Boolean.TRUE) == null
+							&& intersects(entity, area)) {
+						result.add(entity);
+					}
+				}
+			}
+		}
+		foundStaticEntities.clear();
+
+		int margin = (maxMovableSize + regionSize - 1) / regionSize;
+		for (int row = firstRow - margin; row <= lastRow; row++) {
+			for (int column = firstColumn - margin; column <= lastColumn; column++) {
+				UniverseRegion region = regions.get(GridTools.key(column, row));
+				if (region == null) {
+					continue;
+				}
+				for (GameMovable movable : region.movables) {
+					GameEntity entity = (GameEntity) movable;
+					if (intersects(entity, area)) {
+						result.add(entity);
+					}
+				}
+			}
+		}
+	}
+
+	protected static boolean intersects(GameEntity entity, Rectangle area) {
+		Rectangle box = ((ObjectWithBoundedBox) entity).getBoundingBox();
+		return box == null || box.intersects(area);
+	}
+
+	/**
+	 * Adds a non-movable entity to the regions covered by its bounding box,
+	 * or removes it from them. The bounding box of a non-movable entity is
+	 * thus not expected to change while it is in the universe.
+	 */
+	protected void indexStaticEntity(GameEntity gameEntity, boolean add) {
+		Rectangle box = gameEntity instanceof ObjectWithBoundedBox ? ((ObjectWithBoundedBox) gameEntity)
+				.getBoundingBox() : null;
+		if (box == null || box.isEmpty()) {
+			if (add) {
+				unboundedStaticEntities.add(gameEntity);
+			} else {
+				unboundedStaticEntities.remove(gameEntity);
+			}
+			return;
+		}
+		int lastColumn = GridTools.floorDiv(box.x + box.width - 1, regionSize);
+		int lastRow = GridTools.floorDiv(box.y + box.height - 1, regionSize);
+		for (int row = GridTools.floorDiv(box.y, regionSize); row <= lastRow; row++) {
+			for (int column = GridTools.floorDiv(box.x, regionSize); column <= lastColumn; column++) {
+				long key = GridTools.key(column, row);
+				List<GameEntity> entities = staticEntities.get(key);
+				if (add) {
+					if (entities == null) {
+						entities = new ArrayList<>();
+						staticEntities.put(key, entities);
+					}
+					entities.add(gameEntity);
+				} else if (entities != null) {
+					entities.remove(gameEntity);
+					if (entities.isEmpty()) {
+						staticEntities.remove(key);
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public synchronized void allOneStepMoves() {
+		updateAwakeRegions();
+		super.allOneStepMoves();
+	}
+
+	/**
+	 * Only the movables of the awake regions are moved.
+	 */
+	@Override
+	protected void collectMovables() {
+		nbMovables = 0;
+		for (UniverseRegion region : awakeRegions) {
+			ensureCapacity(nbMovables + region.movables.size());
+			for (GameMovable movable : region.movables) {
+				movables[nbMovables++] = movable;
+			}
+		}
+	}
+
+	/**
+	 * Moves the movables, then exchanges the ones which crossed a region
+	 * border.
+	 */
+	@Override
+	protected void commitAllMoves() {
+		for (int i = 0; i < nbMovables; i++) {
+			if (nextSpeedVectors[i] == null) {
+				movables[i].extrapolateOneStep(getMoveBlockerChecker());
+			} else {
+				movables[i].move(nextSpeedVectors[i]);
+			}
+			gameMovableMoved(movables[i]);
+			movables[i] = null;
+			nextSpeedVectors[i] = null;
+		}
+	}
+
+	/**
+	 * Puts a movable in the region matching its position. Must be called
+	 * when a movable is moved outside of {@link #allOneStepMoves()}, for
+	 * instance after {@link GameMovable#setPosition(Point)}.
+	 * @param movable a movable of the universe
+	 */
+	public synchronized void gameMovableMoved(GameMovable movable) {
+		updateMaxMovableSize(movable);
+		UniverseRegion current = movableRegions.get(movable);
+		if (current == null || current.contains(movable.getPosition())) {
+			return;
+		}
+		boolean wasAwake = current.awake;
+		removeFromRegion(movable);
+		UniverseRegion region = getRegion(movable.getPosition(), true);
+		wake(region);
+		region.movables.add(movable);
+		movableRegions.put(movable, region);
+		if (!wasAwake && movable instanceof Overlappable) {
+			getOverlapProcessor().addOverlappable((Overlappable) movable);
+		}
+	}
+
+	/**
+	 * Keeps track of the largest movable, which bounds the regions to look
+	 * into for the movables overlapping an area. The size is never reduced
+	 * while the movables stay in the universe.
+	 */
+	protected void updateMaxMovableSize(GameMovable movable) {
+		Rectangle box = movable.getBoundingBox();
+		if (box != null) {
+			maxMovableSize = Math.max(maxMovableSize,
+					Math.max(box.width, box.height));
+		}
+	}
+
+	/**
+	 * @return true if the movables of the region containing the position are
+	 *         currently updated
+	 */
+	public synchronized boolean isAwake(Point position) {
+		UniverseRegion region = getRegion(position, false);
+		return region != null && region.awake;
+	}
+
+	protected void removeFromRegion(GameMovable movable) {
+		UniverseRegion region = movableRegions.remove(movable);
+		if (region == null) {
+			return;
+		}
+		region.movables.remove(movable);
+		if (region.movables.isEmpty() && !region.awake) {
+			regions.remove(region.key);
+		}
+	}
+
+	/**
+	 * Wakes up the regions close to a focus, and puts the other ones to sleep
+	 * once their wake delay has expired. Without any focus, all the regions
+	 * containing movables are awake.
+	 */
+	protected void updateAwakeRegions() {
+		if (focusMovables.isEmpty() && focusRegion == null) {
+			for (UniverseRegion region : regions.values()) {
+				if (!region.movables.isEmpty()) {
+					wake(region);
+					region.focused = true;
+				}
+			}
+		}
+		for (GameMovable movable : focusMovables) {
+			Point position = movable.getPosition();
+			wakeRegionsAround(new Rectangle(position.x, position.y, 1, 1));
+		}
+		if (focusRegion != null) {
+			wakeRegionsAround(focusRegion);
+		}
+		for (int i = awakeRegions.size() - 1; i >= 0; i--) {
+			UniverseRegion region = awakeRegions.get(i);
+			if (region.focused) {
+				region.focused = false;
+			} else if (--region.remainingWakeTicks <= 0
+					|| region.movables.isEmpty()) {
+				sleep(region);
+				awakeRegions.remove(i);
+			}
+		}
+		// Keep a stable order so that the moves are committed in the same
+		// order whatever the history of the regions
+		Collections.sort(awakeRegions, REGION_ORDER);
+	}
+
+	protected void wakeRegionsAround(Rectangle area) {
+		int firstColumn = GridTools.floorDiv(area.x, regionSize) - wakeDistance;
+		int firstRow = GridTools.floorDiv(area.y, regionSize) - wakeDistance;
+		int lastColumn = GridTools.floorDiv(area.x + area.width - 1, regionSize)
+				+ wakeDistance;
+		int lastRow = GridTools.floorDiv(area.y + area.height - 1, regionSize)
+				+ wakeDistance;
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				UniverseRegion region = regions.get(GridTools.key(column, row));
+				if (region != null && !region.movables.isEmpty()) {
+					wake(region);
+					region.focused = true;
+				}
+			}
+		}
+	}
+
+	protected void wake(UniverseRegion region) {
+		region.remainingWakeTicks = wakeTicks;
+		if (region.awake) {
+			return;
+		}
+		region.awake = true;
+		awakeRegions.add(region);
+		for (GameMovable movable : region.movables) {
+			if (movable instanceof Overlappable) {
+				getOverlapProcessor().addOverlappable((Overlappable) movable);
+			}
+		}
+	}
+
+	protected void sleep(UniverseRegion region) {
+		region.awake = false;
+		for (GameMovable movable : region.movables) {
+			// Asleep movables are drawn still
+			movable.resetPreviousPosition();
+			if (movable instanceof Overlappable) {
+				getOverlapProcessor().removeOverlappable(
+						(Overlappable) movable);
+			}
+		}
+		if (region.movables.isEmpty()) {
+			regions.remove(region.key);
+		}
+	}
+
+	protected UniverseRegion getRegion(Point position, boolean create) {
+		int column = GridTools.floorDiv(position.x, regionSize);
+		int row = GridTools.floorDiv(position.y, regionSize);
+		long key = GridTools.key(column, row);
+		UniverseRegion region = regions.get(key);
+		if (region == null && create) {
+			region = new UniverseRegion(key, column, row);
+			regions.put(key, region);
+		}
+		return region;
+	}
+
+	private static final Comparator<UniverseRegion> REGION_ORDER = new Comparator<UniverseRegion>() {
+		@Override
+		public int compare(UniverseRegion region1, UniverseRegion region2) {
+			return region1.key < region2.key ? -1
+					: (region1.key == region2.key ? 0 : 1);
+		}
+	};
+
+	/**
+	 * A square part of the world and the movables it contains.
+	 */
+	protected class UniverseRegion {
+		protected final long key;
+		protected final Rectangle bounds;
+		protected final List<GameMovable> movables = new ArrayList<>();
+		protected boolean awake = false;
+		protected boolean focused = false;
+		protected int remainingWakeTicks = 0;
+
+		protected UniverseRegion(long key, int column, int row) {
+			this.key = key;
+			this.bounds = new Rectangle(column * regionSize, row * regionSize,
+					regionSize, regionSize);
+		}
+
+		protected boolean contains(Point position) {
+			return bounds.contains(position);
+		}
+	}
+}
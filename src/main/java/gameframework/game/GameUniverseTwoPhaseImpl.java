@@ -0,0 +1,166 @@
+package gameframework.game;
+
+import gameframework.base.DaemonThreadFactory;
+import gameframework.motion.GameMovable;
+import gameframework.motion.SpeedVector;
+import gameframework.motion.UpdateScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Universe moving its entities in two phases. First, the next speed vector of
+ * every movable is computed against the positions of the beginning of the
+ * tick, in parallel. Then all the moves are done, in the order of the
+ * universe. Contrary to {@link GameUniverseDefaultImpl}, the move blockers
+ * checks of an entity never see some neighbours already moved and others
+ * not, so the result depends neither on the order of the entities nor on the
+ * number of threads.
+ *
+ * This requires the move strategies and the move blocker rules not to share
+ * mutable state between entities (for instance a common random generator),
+ * since they are run concurrently during the first phase. As all the moves
+ * are validated against the same positions, two entities may also step into
+ * the same free space during the same tick.
+ */
+public class GameUniverseTwoPhaseImpl extends GameUniverseDefaultImpl {
+
+	/** Under this number of movables per thread, work is not split. */
+	private static final int MIN_MOVABLES_PER_THREAD = 64;
+
+	protected final int nbThreads;
+	protected final ExecutorService executor;
+	protected final List<Callable<Void>> workers;
+
+	/** The movables of the current tick, in the order of the universe. */
+	protected GameMovable[] movables = new GameMovable[0];
+
+	/** The next speed vector of each movable, null to extrapolate. */
+	protected SpeedVector[] nextSpeedVectors = new SpeedVector[0];
+
+	protected int nbMovables;
+
+	/**
+	 * Create a universe using as many threads as available processors.
+	 */
+	public GameUniverseTwoPhaseImpl(GameData gameData) {
+		this(gameData, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param gameData the game data
+	 * @param nbThreads the number of threads computing the speed vectors, 1
+	 *            to compute them in the calling thread
+	 */
+	public GameUniverseTwoPhaseImpl(GameData gameData, int nbThreads) {
+		super(gameData);
+		this.nbThreads = Math.max(1, nbThreads);
+		workers = new ArrayList<>(this.nbThreads);
+		for (int i = 0; i < this.nbThreads; i++) {
+			workers.add(createWorker(i));
+		}
+		executor = this.nbThreads > 1 ? Executors.newFixedThreadPool(
+				this.nbThreads, new DaemonThreadFactory()) : null;
+	}
+
+	@Override
+	public void allOneStepMoves() {
+		getUpdateScheduler().nextTick();
+		getSceneChangeTracker().startTick();
+		collectMovables();
+		computeAllSpeedVectors();
+		commitAllMoves();
+	}
+
+	/**
+	 * Stops the threads used to compute the speed vectors.
+	 */
+	public void shutdown() {
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+	protected void collectMovables() {
+		nbMovables = 0;
+		for (GameEntity entity : gameEntities) {
+			if (entity.isMovable()) {
+				ensureCapacity(nbMovables + 1);
+				movables[nbMovables++] = (GameMovable) entity;
+			}
+		}
+	}
+
+	protected void ensureCapacity(int capacity) {
+		if (capacity > movables.length) {
+			int newCapacity = Math.max(capacity, Math.max(16,
+					movables.length * 2));
+			movables = Arrays.copyOf(movables, newCapacity);
+			nextSpeedVectors = Arrays.copyOf(nextSpeedVectors, newCapacity);
+		}
+	}
+
+	/**
+	 * First phase: computes the next speed vector of all the movables. Each
+	 * thread handles a contiguous range of movables.
+	 */
+	protected void computeAllSpeedVectors() {
+		if (executor == null || nbMovables < 2 * MIN_MOVABLES_PER_THREAD) {
+			computeSpeedVectors(0, nbMovables);
+			return;
+		}
+		try {
+			for (Future<Void> future : executor.invokeAll(workers)) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Speed vector computation failed",
+					e.getCause());
+		}
+	}
+
+	protected void computeSpeedVectors(int from, int to) {
+		UpdateScheduler scheduler = getUpdateScheduler();
+		for (int i = from; i < to; i++) {
+			GameMovable movable = movables[i];
+			nextSpeedVectors[i] = scheduler.isUpdateTick(movable) ? movable
+					.nextSpeedVector() : null;
+		}
+	}
+
+	/**
+	 * Second phase: moves all the movables, in the order of the universe.
+	 */
+	protected void commitAllMoves() {
+		for (int i = 0; i < nbMovables; i++) {
+			if (nextSpeedVectors[i] == null) {
+				movables[i].extrapolateOneStep(getMoveBlockerChecker());
+			} else {
+				movables[i].move(nextSpeedVectors[i]);
+			}
+			movables[i] = null;
+			nextSpeedVectors[i] = null;
+		}
+	}
+
+	protected Callable<Void> createWorker(final int index) {
+		return new Callable<Void>() {
+			@Override
+			public Void call() {
+				int chunk = (nbMovables + nbThreads - 1) / nbThreads;
+				int from = Math.min(nbMovables, index * chunk);
+				computeSpeedVectors(from, Math.min(nbMovables, from + chunk));
+				return null;
+			}
+		};
+	}
+}
@@ -0,0 +1,20 @@
+package gameframework.game;
+
+import gameframework.base.SceneChangeTracker;
+
+/**
+ * {@link GameUniverse} notifying when its entities are added or removed, so
+ * that caches of what is drawn (sorted render lists, static layers...) can
+ * be kept up to date.
+ */
+public interface ObservableGameUniverse extends GameUniverse {
+
+	public void addGameUniverseListener(GameUniverseListener listener);
+
+	public void removeGameUniverseListener(GameUniverseListener listener);
+
+	/**
+	 * @return the tracker notified when the entities of the universe change
+	 */
+	public SceneChangeTracker getSceneChangeTracker();
+}
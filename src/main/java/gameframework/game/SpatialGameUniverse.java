@@ -0,0 +1,23 @@
+package gameframework.game;
+
+import java.awt.Rectangle;
+import java.util.Collection;
+
+/**
+ * {@link GameUniverse} indexing its entities by position, so that the ones
+ * lying in a part of the world can be found without checking all of them.
+ */
+public interface SpatialGameUniverse extends GameUniverse {
+
+	/**
+	 * Adds to a collection the entities which may intersect an area: the ones
+	 * whose bounding box intersects it, and the ones having no bounding box.
+	 * The non-movable entities are added before the movable ones.
+	 * 
+	 * @param area
+	 *            a part of the world
+	 * @param result
+	 *            receives the entities
+	 */
+	public void getGameEntities(Rectangle area, Collection<GameEntity> result);
+}
@@ -0,0 +1,136 @@
+package gameframework.game.replay;
+
+import gameframework.game.GameTickListener;
+import gameframework.motion.MoveStrategyConfigurableKeyboard;
+import gameframework.motion.MoveStrategyRandom;
+import gameframework.particles.Particle;
+
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Records the inputs of a game so that it can be replayed identically by a
+ * {@link ReplayPlayer}.
+ *
+ * The recorder seeds the random generators of the framework
+ * ({@link MoveStrategyRandom} and {@link Particle}) and writes the seeds at
+ * the start of the log: it must thus be created before the entities. It then
+ * listens to the keyboard instead of the keyboard strategy: the key events
+ * are queued and only given to the strategy at the start of the next tick
+ * (see {@link GameTickListener}), the tick being written in the log with
+ * each event. The log is only appended to, and flushed at the end of each
+ * tick having events.
+ *
+ * Typical use, in the init method of the level:
+ * <code>recorder.setStrategy(keyboard); canvas.addKeyListener(recorder);
+ * addTickListener(recorder);</code>
+ */
+public class InputRecorder extends KeyAdapter implements GameTickListener,
+		Closeable {
+
+	/** "GFRL" */
+	public static final int MAGIC = 0x4746524C;
+	public static final short VERSION = 1;
+
+	static final byte KEY_PRESSED = 0;
+	static final byte KEY_RELEASED = 1;
+	static final byte END = 2;
+
+	protected final DataOutputStream out;
+	protected MoveStrategyConfigurableKeyboard strategy;
+
+	/** Events received since the start of the tick, as (key code, type). */
+	protected final List<int[]> pendingEvents = new ArrayList<>();
+	protected int nbTicks = 0;
+
+	public InputRecorder(OutputStream out) throws IOException {
+		this(out, new Random().nextLong(), new Random().nextLong());
+	}
+
+	/**
+	 * @param out the stream the log is written to
+	 * @param randomSeed the seed of {@link MoveStrategyRandom}
+	 * @param particleSeed the seed of {@link Particle}
+	 */
+	public InputRecorder(OutputStream out, long randomSeed, long particleSeed)
+			throws IOException {
+		this.out = new DataOutputStream(new BufferedOutputStream(out));
+		MoveStrategyRandom.setSeed(randomSeed);
+		Particle.setSeed(particleSeed);
+		this.out.writeInt(MAGIC);
+		this.out.writeShort(VERSION);
+		this.out.writeLong(randomSeed);
+		this.out.writeLong(particleSeed);
+		this.out.flush();
+	}
+
+	/**
+	 * @param strategy the strategy receiving the recorded key events
+	 */
+	public void setStrategy(MoveStrategyConfigurableKeyboard strategy) {
+		this.strategy = strategy;
+	}
+
+	@Override
+	public void keyPressed(KeyEvent event) {
+		synchronized (pendingEvents) {
+			pendingEvents.add(new int[] { event.getKeyCode(), KEY_PRESSED });
+		}
+	}
+
+	@Override
+	public void keyReleased(KeyEvent event) {
+		synchronized (pendingEvents) {
+			pendingEvents.add(new int[] { event.getKeyCode(), KEY_RELEASED });
+		}
+	}
+
+	@Override
+	public void tickStarted(int tick) {
+		List<int[]> events;
+		synchronized (pendingEvents) {
+			events = new ArrayList<>(pendingEvents);
+			pendingEvents.clear();
+		}
+		try {
+			for (int[] event : events) {
+				if (event[1] == KEY_PRESSED) {
+					strategy.keyPressed(event[0]);
+				} else {
+					strategy.keyReleased(event[0]);
+				}
+				writeRecord(tick, (byte) event[1], event[0]);
+			}
+			if (!events.isEmpty()) {
+				out.flush();
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Cannot write the input log", e);
+		}
+		nbTicks = tick + 1;
+	}
+
+	protected void writeRecord(int tick, byte type, int keyCode)
+			throws IOException {
+		out.writeInt(tick);
+		out.writeByte(type);
+		out.writeInt(keyCode);
+	}
+
+	/**
+	 * Ends the log with the number of recorded ticks, and closes it.
+	 */
+	@Override
+	public void close() throws IOException {
+		writeRecord(nbTicks, END, 0);
+		out.close();
+	}
+}
@@ -0,0 +1,106 @@
+package gameframework.game.replay;
+
+import gameframework.game.GameTickListener;
+import gameframework.motion.MoveStrategyConfigurableKeyboard;
+import gameframework.motion.MoveStrategyRandom;
+import gameframework.particles.Particle;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Replays a log written by an {@link InputRecorder}. The random generators
+ * are seeded as soon as the log is read, so the player must be created
+ * before the entities. Its key events are then given to the keyboard
+ * strategy at the start of the same ticks as during the recording.
+ *
+ * Combined with
+ * {@link gameframework.game.GameLevelDefaultImpl#runHeadless(int)}, a game
+ * is replayed without painting nor waiting between the ticks:
+ * <code>level.runHeadless(player.getNbTicks());</code>
+ *
+ * A log which has not been closed (after a crash for instance) is replayed
+ * up to its last event.
+ */
+public class ReplayPlayer implements GameTickListener {
+
+	protected MoveStrategyConfigurableKeyboard strategy;
+
+	protected int[] ticks = new int[64];
+	protected byte[] types = new byte[64];
+	protected int[] keyCodes = new int[64];
+	protected int nbEvents = 0;
+	protected int nextEvent = 0;
+	protected int nbTicks = 0;
+
+	public ReplayPlayer(InputStream in) throws IOException {
+		DataInputStream log = new DataInputStream(new BufferedInputStream(in));
+		if (log.readInt() != InputRecorder.MAGIC) {
+			throw new IllegalArgumentException("Not an input log");
+		}
+		short version = log.readShort();
+		if (version != InputRecorder.VERSION) {
+			throw new IllegalArgumentException("Unsupported input log version "
+					+ version);
+		}
+		MoveStrategyRandom.setSeed(log.readLong());
+		Particle.setSeed(log.readLong());
+		readEvents(log);
+	}
+
+	protected void readEvents(DataInputStream log) throws IOException {
+		try {
+			while (true) {
+				int tick = log.readInt();
+				byte type = log.readByte();
+				int keyCode = log.readInt();
+				if (type == InputRecorder.END) {
+					nbTicks = tick;
+					return;
+				}
+				if (nbEvents == ticks.length) {
+					ticks = Arrays.copyOf(ticks, nbEvents * 2);
+					types = Arrays.copyOf(types, nbEvents * 2);
+					keyCodes = Arrays.copyOf(keyCodes, nbEvents * 2);
+				}
+				ticks[nbEvents] = tick;
+				types[nbEvents] = type;
+				keyCodes[nbEvents] = keyCode;
+				nbEvents++;
+				nbTicks = tick + 1;
+			}
+		} catch (EOFException e) {
+			// Log not closed: the last complete event ends the replay
+		}
+	}
+
+	/**
+	 * @param strategy the strategy receiving the replayed key events
+	 */
+	public void setStrategy(MoveStrategyConfigurableKeyboard strategy) {
+		this.strategy = strategy;
+	}
+
+	/**
+	 * @return the number of ticks of the recorded game
+	 */
+	public int getNbTicks() {
+		return nbTicks;
+	}
+
+	@Override
+	public void tickStarted(int tick) {
+		while (nextEvent < nbEvents && ticks[nextEvent] <= tick) {
+			if (types[nextEvent] == InputRecorder.KEY_PRESSED) {
+				strategy.keyPressed(keyCodes[nextEvent]);
+			} else {
+				strategy.keyReleased(keyCodes[nextEvent]);
+			}
+			nextEvent++;
+		}
+	}
+}
@@ -0,0 +1,236 @@
+package gameframework.game.snapshot;
+
+import gameframework.drawing.IndexedSpriteManager;
+import gameframework.drawing.SpriteManager;
+import gameframework.game.GameData;
+import gameframework.game.GameEntity;
+import gameframework.game.GameUniverse;
+import gameframework.motion.GameMovable;
+import gameframework.motion.SpeedVector;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Saves the state of a game (the entities of its universe, the score and the
+ * life) to a compact binary format, and restores it.
+ *
+ * The format starts with a header (magic number, version, score, life and
+ * number of entities) followed by the entities, in the order of the universe.
+ * Each entity is written as its type id (see {@link SnapshotTypeRegistry}),
+ * flags telling which parts follow, the position and speed vector of
+ * movables, the sprite type and increment, and the specific state of
+ * {@link SnapshotEntity} instances prefixed by its length.
+ *
+ * The same buffer is reused from one snapshot to the next, so taking
+ * frequent checkpoints does not allocate once it has reached its final size.
+ */
+public class GameSnapshot {
+
+	/** "GFSN" */
+	public static final int MAGIC = 0x4746534E;
+	public static final short VERSION = 1;
+
+	protected static final byte MOVABLE = 1;
+	protected static final byte SPRITE = 2;
+	protected static final byte STATE = 4;
+
+	private static final int INITIAL_CAPACITY = 4096;
+
+	protected final GameData data;
+	protected final SnapshotTypeRegistry registry;
+	protected ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+
+	public GameSnapshot(GameData data, SnapshotTypeRegistry registry) {
+		this.data = data;
+		this.registry = registry;
+	}
+
+	/**
+	 * Saves the current state of the game.
+	 * @return a read-only buffer holding the snapshot, valid until the next
+	 *         call
+	 */
+	public synchronized ByteBuffer write() {
+		buffer.clear();
+		buffer.putInt(MAGIC);
+		buffer.putShort(VERSION);
+		buffer.putInt(data.getScore().getValue());
+		buffer.putInt(data.getLife().getValue());
+		int countPosition = buffer.position();
+		buffer.putInt(0);
+
+		int count = 0;
+		Iterator<GameEntity> entities = data.getUniverse()
+				.getGameEntitiesIterator();
+		while (entities.hasNext()) {
+			writeEntity(entities.next());
+			count++;
+		}
+		buffer.putInt(countPosition, count);
+		buffer.flip();
+		return buffer.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Saves the current state of the game to a channel (a file for instance).
+	 */
+	public synchronized void write(WritableByteChannel channel)
+			throws IOException {
+		ByteBuffer snapshot = write();
+		while (snapshot.hasRemaining()) {
+			channel.write(snapshot);
+		}
+	}
+
+	/**
+	 * Replaces the entities of the universe, the score and the life by the
+	 * ones of a snapshot. The universe is left untouched if the snapshot is
+	 * invalid.
+	 * @param snapshot a buffer positioned at the start of a snapshot
+	 */
+	public synchronized void read(ByteBuffer snapshot) {
+		if (snapshot.getInt() != MAGIC) {
+			throw new IllegalArgumentException("Not a game snapshot");
+		}
+		short version = snapshot.getShort();
+		if (version != VERSION) {
+			throw new IllegalArgumentException(
+					"Unsupported snapshot version " + version);
+		}
+		int score = snapshot.getInt();
+		int life = snapshot.getInt();
+		int count = snapshot.getInt();
+		List<GameEntity> entities = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			entities.add(readEntity(snapshot));
+		}
+
+		GameUniverse universe = data.getUniverse();
+		universe.removeAllGameEntities();
+		for (GameEntity entity : entities) {
+			universe.addGameEntity(entity);
+		}
+		data.getScore().setValue(score);
+		data.getLife().setValue(life);
+	}
+
+	/**
+	 * Restores a snapshot from a channel, read until its end.
+	 */
+	public synchronized void read(ReadableByteChannel channel)
+			throws IOException {
+		buffer.clear();
+		while (channel.read(buffer) >= 0) {
+			if (!buffer.hasRemaining()) {
+				grow();
+			}
+		}
+		buffer.flip();
+		read(buffer);
+	}
+
+	/**
+	 * Writes an entity, growing the buffer and starting again if it does not
+	 * fit.
+	 */
+	protected void writeEntity(GameEntity entity) {
+		int start = buffer.position();
+		while (true) {
+			try {
+				putEntity(entity);
+				return;
+			} catch (BufferOverflowException e) {
+				buffer.position(start);
+				grow();
+			}
+		}
+	}
+
+	protected void putEntity(GameEntity entity) {
+		SnapshotEntity snapshotEntity = entity instanceof SnapshotEntity ? (SnapshotEntity) entity
+				: null;
+		SpriteManager sprites = snapshotEntity != null ? snapshotEntity
+				.getSpriteManager() : null;
+		// Only the sprite managers giving their state as numbers are saved
+		IndexedSpriteManager spriteManager = sprites instanceof IndexedSpriteManager ? (IndexedSpriteManager) sprites
+				: null;
+		byte flags = 0;
+		if (entity.isMovable()) {
+			flags |= MOVABLE;
+		}
+		if (spriteManager != null) {
+			flags |= SPRITE;
+		}
+		if (snapshotEntity != null) {
+			flags |= STATE;
+		}
+
+		buffer.putShort((short) registry.getTypeId(entity));
+		buffer.put(flags);
+		if (entity.isMovable()) {
+			GameMovable movable = (GameMovable) entity;
+			SpeedVector speedVector = movable.getSpeedVector();
+			buffer.putInt(movable.getPosition().x);
+			buffer.putInt(movable.getPosition().y);
+			buffer.putInt(speedVector.getDirection().x);
+			buffer.putInt(speedVector.getDirection().y);
+			buffer.putInt(speedVector.getSpeed());
+		}
+		if (spriteManager != null) {
+			buffer.putInt(spriteManager.getTypeIndex());
+			buffer.putInt(spriteManager.getIncrement());
+		}
+		if (snapshotEntity != null) {
+			int lengthPosition = buffer.position();
+			buffer.putInt(0);
+			snapshotEntity.writeState(buffer);
+			buffer.putInt(lengthPosition, buffer.position() - lengthPosition
+					- 4);
+		}
+	}
+
+	protected GameEntity readEntity(ByteBuffer snapshot) {
+		int typeId = snapshot.getShort() & SnapshotTypeRegistry.MAX_TYPE_ID;
+		byte flags = snapshot.get();
+		GameEntity entity = registry.createGameEntity(typeId, data);
+		if ((flags & MOVABLE) != 0) {
+			GameMovable movable = (GameMovable) entity;
+			// The position is updated in place since move strategies usually
+			// keep a reference on it
+			movable.getPosition().setLocation(snapshot.getInt(),
+					snapshot.getInt());
+			movable.resetPreviousPosition();
+			Point direction = new Point(snapshot.getInt(), snapshot.getInt());
+			movable.setSpeedVector(new SpeedVector(direction, snapshot
+					.getInt()));
+		}
+		if ((flags & SPRITE) != 0) {
+			IndexedSpriteManager spriteManager = (IndexedSpriteManager) ((SnapshotEntity) entity)
+					.getSpriteManager();
+			spriteManager.setTypeIndex(snapshot.getInt());
+			spriteManager.setIncrement(snapshot.getInt());
+		}
+		if ((flags & STATE) != 0) {
+			int length = snapshot.getInt();
+			int end = snapshot.position() + length;
+			((SnapshotEntity) entity).readState(snapshot);
+			snapshot.position(end);
+		}
+		return entity;
+	}
+
+	protected void grow() {
+		ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() * 2);
+		buffer.flip();
+		grown.put(buffer);
+		buffer = grown;
+	}
+}
@@ -0,0 +1,322 @@
+package gameframework.game.snapshot;
+
+import gameframework.game.GameEntity;
+import gameframework.game.GameUniverse;
+import gameframework.game.GameUniverseRegionImpl;
+import gameframework.game.ObservableGameUniverse;
+import gameframework.motion.GameMovable;
+import gameframework.motion.SpeedVector;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the state of a universe over its last ticks, to roll back (for
+ * network games) or rewind it.
+ *
+ * Each entity of the universe gets a slot in preallocated arrays holding its
+ * current state: its presence in the universe and, for movables, the
+ * position and speed vector. At each capture, only the slots which changed
+ * since the previous tick are logged, with their previous values, in a ring
+ * of records. Restoring a tick undoes the logged changes from the newest tick
+ * back to it, then applies the state to the entities.
+ *
+ * Only this state is restored: the rest of the state of the entities (move
+ * strategies, sprites...) and of the game data is left untouched.
+ */
+public class RollbackBuffer {
+
+	/** slot, alive, x, y, direction x, direction y, speed */
+	private static final int RECORD_SIZE = 7;
+
+	protected final GameUniverse universe;
+
+	/** Number of ticks kept. */
+	protected final int capacity;
+
+	/** Maximum number of entities followed. */
+	protected final int maxEntities;
+
+	protected final Map<GameEntity, Integer> slots = new IdentityHashMap<>();
+	protected final GameEntity[] entities;
+	protected int nbSlots = 0;
+
+	// Current state of each slot
+	protected final boolean[] alive;
+	protected final int[] x, y, directionX, directionY, speed;
+
+	/** Last tick at which the entity of a slot was removed. */
+	protected final int[] deathTicks;
+
+	/** Last tick at which the entity of a slot was in the universe. */
+	protected final int[] seenTicks;
+
+	/** Ring of the changes logged at each tick. */
+	protected final int[] log;
+	protected final int logRecords;
+	protected long logEnd = 0;
+
+	/** First record of each tick of the ring. */
+	protected final long[] tickStarts;
+	protected int newestTick = -1;
+	protected int oldestTick = 0;
+
+	// Entities found in the universe when a tick is captured or restored
+	protected final int[] presentStamps;
+	protected int presentStamp = 0;
+
+	/** The slots of the entities of the tick being captured. */
+	protected final int[] capturedSlots;
+
+	private final SpeedVector speedVector = SpeedVector.createNullVector();
+
+	/**
+	 * @param universe the universe to capture
+	 * @param capacity the number of ticks which can be restored
+	 * @param maxEntities the maximum number of entities in the universe
+	 *            during the kept ticks
+	 */
+	public RollbackBuffer(GameUniverse universe, int capacity, int maxEntities) {
+		if (capacity < 1 || maxEntities < 1) {
+			throw new IllegalArgumentException(
+					"Capacity and number of entities must be at least 1");
+		}
+		this.universe = universe;
+		this.capacity = capacity;
+		this.maxEntities = maxEntities;
+		entities = new GameEntity[maxEntities];
+		alive = new boolean[maxEntities];
+		x = new int[maxEntities];
+		y = new int[maxEntities];
+		directionX = new int[maxEntities];
+		directionY = new int[maxEntities];
+		speed = new int[maxEntities];
+		deathTicks = new int[maxEntities];
+		seenTicks = new int[maxEntities];
+		presentStamps = new int[maxEntities];
+		capturedSlots = new int[maxEntities];
+		// A slot is logged at most once per tick
+		logRecords = capacity * maxEntities;
+		log = new int[logRecords * RECORD_SIZE];
+		tickStarts = new long[capacity];
+	}
+
+	/**
+	 * Captures the current state of the universe as a new tick.
+	 * @return the number of the tick, to give to {@link #restore(int)}
+	 * @throws IllegalStateException if there are more entities than the
+	 *             buffer can follow, in which case nothing is captured
+	 */
+	public synchronized int capture() {
+		// The slots are all found before anything is logged, so that a
+		// capture failing for lack of slots leaves the buffer unchanged
+		int nbCaptured = 0;
+		presentStamp++;
+		Iterator<GameEntity> it = universe.getGameEntitiesIterator();
+		while (it.hasNext()) {
+			GameEntity entity = it.next();
+			Integer slot = slots.get(entity);
+			if (slot == null) {
+				slot = allocateSlot(entity);
+			}
+			if (nbCaptured == maxEntities) {
+				throw new IllegalStateException(
+						"Too many entities for the rollback buffer");
+			}
+			capturedSlots[nbCaptured++] = slot;
+			presentStamps[slot] = presentStamp;
+		}
+
+		int tick = ++newestTick;
+		tickStarts[tick % capacity] = logEnd;
+		if (tick - oldestTick >= capacity) {
+			oldestTick = tick - capacity + 1;
+		}
+		for (int i = 0; i < nbCaptured; i++) {
+			int slot = capturedSlots[i];
+			seenTicks[slot] = tick;
+			captureEntity(slot, entities[slot]);
+		}
+		for (int slot = 0; slot < nbSlots; slot++) {
+			if (alive[slot] && seenTicks[slot] != tick) {
+				logSlot(slot);
+				alive[slot] = false;
+				deathTicks[slot] = tick;
+			}
+		}
+		return tick;
+	}
+
+	protected void captureEntity(int slot, GameEntity entity) {
+		if (!entity.isMovable()) {
+			if (!alive[slot]) {
+				logSlot(slot);
+				alive[slot] = true;
+			}
+			return;
+		}
+		GameMovable movable = (GameMovable) entity;
+		Point position = movable.getPosition();
+		movable.getSpeedVector(speedVector);
+		Point direction = speedVector.getDirection();
+		if (alive[slot] && x[slot] == position.x && y[slot] == position.y
+				&& directionX[slot] == direction.x
+				&& directionY[slot] == direction.y
+				&& speed[slot] == speedVector.getSpeed()) {
+			return;
+		}
+		logSlot(slot);
+		alive[slot] = true;
+		x[slot] = position.x;
+		y[slot] = position.y;
+		directionX[slot] = direction.x;
+		directionY[slot] = direction.y;
+		speed[slot] = speedVector.getSpeed();
+	}
+
+	/**
+	 * Gives a slot to a new entity, reusing the slot of an entity which has
+	 * not been in the universe during all the kept ticks, including the one
+	 * being captured.
+	 */
+	protected int allocateSlot(GameEntity entity) {
+		int slot = -1;
+		if (nbSlots < maxEntities) {
+			slot = nbSlots++;
+		} else {
+			for (int i = 0; i < nbSlots && slot < 0; i++) {
+				if (!alive[i] && deathTicks[i] <= newestTick + 1 - capacity
+						&& presentStamps[i] != presentStamp) {
+					slot = i;
+				}
+			}
+			if (slot < 0) {
+				throw new IllegalStateException(
+						"Too many entities for the rollback buffer");
+			}
+			slots.remove(entities[slot]);
+		}
+		entities[slot] = entity;
+		slots.put(entity, slot);
+		alive[slot] = false;
+		return slot;
+	}
+
+	protected void logSlot(int slot) {
+		int offset = (int) (logEnd % logRecords) * RECORD_SIZE;
+		log[offset] = slot;
+		log[offset + 1] = alive[slot] ? 1 : 0;
+		log[offset + 2] = x[slot];
+		log[offset + 3] = y[slot];
+		log[offset + 4] = directionX[slot];
+		log[offset + 5] = directionY[slot];
+		log[offset + 6] = speed[slot];
+		logEnd++;
+	}
+
+	/**
+	 * @return the oldest tick which can be restored
+	 */
+	public synchronized int getOldestTick() {
+		return oldestTick;
+	}
+
+	/**
+	 * @return the last captured tick, -1 if none
+	 */
+	public synchronized int getNewestTick() {
+		return newestTick;
+	}
+
+	/**
+	 * Puts the universe back in the state captured at a tick. The entities
+	 * missing from the universe are added again and the ones which were not
+	 * in it are removed, so that the overlap and move blocker indexes match
+	 * the restored state. The ticks captured after the restored one are
+	 * dropped.
+	 * @param tick a tick between {@link #getOldestTick()} and
+	 *            {@link #getNewestTick()}
+	 */
+	public synchronized void restore(int tick) {
+		if (tick < oldestTick || tick > newestTick) {
+			throw new IllegalArgumentException("Tick " + tick
+					+ " is not in the rollback buffer");
+		}
+		for (int t = newestTick; t > tick; t--) {
+			long start = tickStarts[t % capacity];
+			for (long record = logEnd - 1; record >= start; record--) {
+				undo(record, tick);
+			}
+			logEnd = start;
+		}
+		newestTick = tick;
+		applyState();
+	}
+
+	protected void undo(long record, int tick) {
+		int offset = (int) (record % logRecords) * RECORD_SIZE;
+		int slot = log[offset];
+		alive[slot] = log[offset + 1] != 0;
+		x[slot] = log[offset + 2];
+		y[slot] = log[offset + 3];
+		directionX[slot] = log[offset + 4];
+		directionY[slot] = log[offset + 5];
+		speed[slot] = log[offset + 6];
+		if (!alive[slot]) {
+			deathTicks[slot] = tick;
+		}
+	}
+
+	/**
+	 * Applies the current state of the slots to the entities and the
+	 * universe.
+	 */
+	protected void applyState() {
+		presentStamp++;
+		List<GameEntity> toRemove = new ArrayList<>();
+		Iterator<GameEntity> it = universe.getGameEntitiesIterator();
+		while (it.hasNext()) {
+			GameEntity entity = it.next();
+			Integer slot = slots.get(entity);
+			if (slot == null || !alive[slot]) {
+				toRemove.add(entity);
+			} else {
+				presentStamps[slot] = presentStamp;
+			}
+		}
+		universe.removeGameEntities(toRemove);
+
+		for (int slot = 0; slot < nbSlots; slot++) {
+			if (!alive[slot]) {
+				continue;
+			}
+			GameEntity entity = entities[slot];
+			boolean present = presentStamps[slot] == presentStamp;
+			if (entity.isMovable()) {
+				GameMovable movable = (GameMovable) entity;
+				// Updated in place since move strategies usually keep a
+				// reference on the position
+				movable.getPosition().setLocation(x[slot], y[slot]);
+				movable.resetPreviousPosition();
+				movable.setSpeedVector(new SpeedVector(new Point(
+						directionX[slot], directionY[slot]), speed[slot]));
+				if (present && universe instanceof GameUniverseRegionImpl) {
+					((GameUniverseRegionImpl) universe)
+							.gameMovableMoved(movable);
+				}
+			}
+			if (!present) {
+				universe.addGameEntity(entity);
+			}
+		}
+		if (universe instanceof ObservableGameUniverse) {
+			// Positions restored in place are not seen by the movables
+			((ObservableGameUniverse) universe).getSceneChangeTracker()
+					.markChanged();
+		}
+	}
+}
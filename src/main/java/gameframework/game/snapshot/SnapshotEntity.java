@@ -0,0 +1,33 @@
+package gameframework.game.snapshot;
+
+import gameframework.drawing.SpriteEntity;
+import gameframework.drawing.SpriteManager;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Entity having some state to save in a {@link GameSnapshot} besides its
+ * position and speed vector, which are saved for every
+ * {@link gameframework.motion.GameMovable}.
+ */
+public interface SnapshotEntity extends SpriteEntity {
+
+	/**
+	 * @return the sprite manager whose type and increment are saved if it is
+	 *         a {@link gameframework.drawing.IndexedSpriteManager}, null if
+	 *         the entity has none
+	 */
+	@Override
+	public SpriteManager getSpriteManager();
+
+	/**
+	 * Writes the state specific to the entity. The buffer is grown and the
+	 * method called again if it overflows, so it must not have side effects.
+	 */
+	public void writeState(ByteBuffer buffer);
+
+	/**
+	 * Reads the state written by {@link #writeState(ByteBuffer)}.
+	 */
+	public void readState(ByteBuffer buffer);
+}
@@ -0,0 +1,65 @@
+package gameframework.game.snapshot;
+
+import gameframework.game.GameData;
+import gameframework.game.GameEntity;
+import gameframework.game.GameEntityFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Associates each class of entity saved in a {@link GameSnapshot} with a
+ * stable id, and with the factory used to create it again on load. The ids
+ * are written in the snapshots: they must not change between the versions of
+ * a game which have to read the same snapshots.
+ */
+public class SnapshotTypeRegistry {
+
+	/** Greatest id, as ids are written on two bytes. */
+	public static final int MAX_TYPE_ID = 0xFFFF;
+
+	protected final Map<Class<?>, Integer> typeIds = new HashMap<>();
+	protected final Map<Integer, GameEntityFactory<?>> factories = new HashMap<>();
+
+	/**
+	 * @param typeId the id written in the snapshots, between 0 and
+	 *            {@value #MAX_TYPE_ID}
+	 * @param type the exact class of the entities
+	 * @param factory the factory creating the entities on load
+	 */
+	public <T extends GameEntity> void register(int typeId, Class<T> type,
+			GameEntityFactory<? extends T> factory) {
+		if (typeId < 0 || typeId > MAX_TYPE_ID) {
+			throw new IllegalArgumentException("Invalid type id " + typeId);
+		}
+		if (factories.containsKey(typeId) || typeIds.containsKey(type)) {
+			throw new IllegalArgumentException(type.getName() + " or type id "
+					+ typeId + " already registered");
+		}
+		typeIds.put(type, typeId);
+		factories.put(typeId, factory);
+	}
+
+	/**
+	 * @return the id of the class of the entity
+	 */
+	public int getTypeId(GameEntity entity) {
+		Integer typeId = typeIds.get(entity.getClass());
+		if (typeId == null) {
+			throw new IllegalArgumentException(entity.getClass().getName()
+					+ " is not registered for snapshots");
+		}
+		return typeId;
+	}
+
+	/**
+	 * @return a new entity of the type having the given id
+	 */
+	public GameEntity createGameEntity(int typeId, GameData data) {
+		GameEntityFactory<?> factory = factories.get(typeId);
+		if (factory == null) {
+			throw new IllegalArgumentException("Unknown type id " + typeId);
+		}
+		return factory.createGameEntity(data);
+	}
+}
@@ -1,14 +1,25 @@
 package gameframework.motion;
 
 import gameframework.base.ObjectWithBoundedBox;
+import gameframework.base.SceneChangeSource;
+import gameframework.base.SceneChangeTracker;
+import gameframework.motion.blocking.MoveBlockerChecker;
 
 import java.awt.Point;
 
-public abstract class GameMovable implements ObjectWithBoundedBox {
+public abstract class GameMovable implements ObjectWithBoundedBox,
+		SceneChangeSource {
 	protected GameMovableDriver moveDriver ;
 	protected Point position = new Point();
 	protected SpeedVector speedVector = SpeedVector.createNullVector();
 
+	/** The position before the last step, if there is one. */
+	protected final Point previousPosition = new Point();
+	protected boolean hasPreviousPosition = false;
+
+	/** The tracker of the universe of the movable, null if none. */
+	protected SceneChangeTracker sceneChangeTracker;
+
 	public GameMovable(){
 		this(new GameMovableDriverDefaultImpl());
 	}
@@ -19,12 +30,54 @@ public abstract class GameMovable implements ObjectWithBoundedBox {
 
 	public void setPosition(Point p) {
 		position = (Point) p.clone();
+		resetPreviousPosition();
+		if (sceneChangeTracker != null) {
+			sceneChangeTracker.markChanged();
+		}
+	}
+
+	@Override
+	public void setSceneChangeTracker(SceneChangeTracker tracker) {
+		sceneChangeTracker = tracker;
 	}
 
 	public Point getPosition() {
 		return position;
 	}
 
+	/**
+	 * @return the position before the last step, used to draw the movable
+	 *         between two ticks
+	 */
+	public Point getPreviousPosition() {
+		return hasPreviousPosition ? previousPosition : position;
+	}
+
+	/**
+	 * Forgets the last step, so that the movable is drawn at its position
+	 * until the next one. Must be called after the position is changed
+	 * otherwise than by a step, for instance when the movable stops being
+	 * moved.
+	 */
+	public void resetPreviousPosition() {
+		hasPreviousPosition = false;
+	}
+
+	/**
+	 * @param interpolation
+	 *            the time elapsed since the last step, as a fraction of a
+	 *            tick
+	 * @param result
+	 *            receives the position between the previous and the current
+	 *            one
+	 */
+	public void getInterpolatedPosition(double interpolation, Point result) {
+		Point previous = getPreviousPosition();
+		result.setLocation(
+				previous.x + Math.round((position.x - previous.x) * interpolation),
+				previous.y + Math.round((position.y - previous.y) * interpolation));
+	}
+
 	public void setSpeedVector(SpeedVector speedVector) {
 		this.speedVector = (SpeedVector) speedVector.clone();
 	}
@@ -33,6 +86,18 @@ public abstract class GameMovable implements ObjectWithBoundedBox {
 		return (SpeedVector) speedVector.clone();
 	}
 
+	/**
+	 * Same as {@link #getSpeedVector()} without allocating, for code reading
+	 * the speed vector of every movable at each tick.
+	 * @param result receives the direction and speed of the movable; its
+	 *            direction is shared with the movable and must not be
+	 *            modified
+	 */
+	public void getSpeedVector(SpeedVector result) {
+		result.setDirection(speedVector.getDirection());
+		result.setSpeed(speedVector.getSpeed());
+	}
+
 	public void setDriver(GameMovableDriver driver) {
 		moveDriver = driver;
 	}
@@ -42,12 +107,68 @@ public abstract class GameMovable implements ObjectWithBoundedBox {
 	}
 
 	public void oneStepMove() {
-		SpeedVector m = moveDriver.getSpeedVector(this);
+		move(nextSpeedVector());
+	}
+
+	/**
+	 * Asks the driver for the speed vector of the next step, without moving.
+	 * The step can then be done with {@link #move(SpeedVector)}: this allows
+	 * the universe to compute the next step of all the movables before
+	 * moving any of them.
+	 */
+	public SpeedVector nextSpeedVector() {
+		return moveDriver.getSpeedVector(this);
+	}
+
+	/**
+	 * Moves one step along the current speed vector without asking the driver
+	 * (and thus the strategy and the move blockers) for a new one. Used to
+	 * extrapolate the position of entities which are not updated at every
+	 * tick.
+	 */
+	public void extrapolateOneStep() {
+		move(speedVector);
+	}
+
+	/**
+	 * Same as {@link #extrapolateOneStep()}, but the step is still validated
+	 * against the move blockers: the movable stops instead of walking
+	 * through a wall while it is not updated.
+	 * @param moveBlockerChecker the checker of the universe of the movable
+	 */
+	public void extrapolateOneStep(MoveBlockerChecker moveBlockerChecker) {
+		if (moveBlockerChecker.moveValidation(this, speedVector)) {
+			move(speedVector);
+		} else {
+			move(SpeedVector.createNullVector());
+		}
+	}
+
+	/**
+	 * Moves one step along the given speed vector, which becomes the current
+	 * one.
+	 */
+	public void move(SpeedVector m) {
 		speedVector.setDirection(m.getDirection());
 		speedVector.setSpeed(m.getSpeed());
-		position.translate((int) speedVector.getDirection().getX()
-				* speedVector.getSpeed(), (int) speedVector.getDirection()
-				.getY() * speedVector.getSpeed());
+		// A movable stopping after a step is no longer drawn between two
+		// positions
+		boolean wasMoving = hasPreviousPosition
+				&& !previousPosition.equals(position);
+		previousPosition.setLocation(position);
+		hasPreviousPosition = true;
+		int dx = (int) speedVector.getDirection().getX()
+				* speedVector.getSpeed();
+		int dy = (int) speedVector.getDirection().getY()
+				* speedVector.getSpeed();
+		if (dx != 0 || dy != 0) {
+			position.translate(dx, dy);
+			if (sceneChangeTracker != null) {
+				sceneChangeTracker.markMoved();
+			}
+		} else if (wasMoving && sceneChangeTracker != null) {
+			sceneChangeTracker.markChanged();
+		}
 		oneStepMoveAddedBehavior();
 	}
 
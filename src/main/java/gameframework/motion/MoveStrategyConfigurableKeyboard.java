@@ -95,12 +95,20 @@ public class MoveStrategyConfigurableKeyboard extends KeyAdapter implements Move
 		keyReleased(event.getKeyCode());
 	}
 	
-	protected void keyPressed(int keyCode) {
+	/**
+	 * Acts as if a key was pressed, for instance when replaying recorded inputs
+	 * @param keyCode The code of the key
+	 */
+	public void keyPressed(int keyCode) {
 		keyPressed.add(keyCode);
 		updateDirection();
 	}
 	
-	protected void keyReleased(int keyCode) {
+	/**
+	 * Acts as if a key was released
+	 * @param keyCode The code of the key
+	 */
+	public void keyReleased(int keyCode) {
 		keyPressed.remove(keyCode);
 		updateDirection();
 	}
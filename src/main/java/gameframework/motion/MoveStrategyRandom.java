@@ -6,10 +6,19 @@ import java.util.Random;
 /**
  * MoveStrategy which randomly selects one of the four directions (top, bottom,
  * left, right)
+ * 
+ * Each instance has its own random generator, so that its moves do not depend
+ * on the order in which the strategies are called (by several threads in
+ * {@link gameframework.game.GameUniverseTwoPhaseImpl}).
  */
 public class MoveStrategyRandom implements MoveStrategy {
+	private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+
+	private static Long seed = null;
+	private static long nbSeededInstances = 0;
+
 	SpeedVector currentMove = new SpeedVector(new Point(0, 0));
-	static Random random = new Random();
+	Random random = createRandom();
 
 	public MoveStrategyRandom() {
 		super();
@@ -20,6 +29,24 @@ public class MoveStrategyRandom implements MoveStrategy {
 		this.currentMove = new SpeedVector(new Point(0, 0), speed);
 	}
 	
+	/**
+	 * Seeds the random generators of the instances created from now on, each
+	 * one from the seed and the number of instances created before it, so
+	 * that a game creating its strategies in the same order can be replayed
+	 * identically.
+	 */
+	public static synchronized void setSeed(long seed) {
+		MoveStrategyRandom.seed = seed;
+		nbSeededInstances = 0;
+	}
+
+	private static synchronized Random createRandom() {
+		if (seed == null) {
+			return new Random();
+		}
+		return new Random(seed + SEED_INCREMENT * nbSeededInstances++);
+	}
+
 	@Override
 	public int getSpeed() {
 		return this.currentMove.getSpeed();
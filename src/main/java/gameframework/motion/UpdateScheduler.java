@@ -0,0 +1,38 @@
+package gameframework.motion;
+
+/**
+ * Decides at which ticks a GameMovable is fully updated, that is when its
+ * driver is asked for a new speed vector (which runs its strategy and checks
+ * the move blockers). During the other ticks, the universe only extrapolates
+ * its position along its current speed vector, stopping it if a move blocker
+ * is in the way (see
+ * {@link GameMovable#extrapolateOneStep(gameframework.motion.blocking.MoveBlockerChecker)}).
+ *
+ * Entities sharing the same update interval are spread over the ticks in a
+ * round-robin fashion so that the work of each tick stays balanced.
+ */
+public interface UpdateScheduler {
+	/**
+	 * Registers a movable so that it gets its own round-robin slot.
+	 * @param movable the movable to add
+	 */
+	public void addGameMovable(GameMovable movable);
+
+	/**
+	 * @param movable the movable to remove
+	 */
+	public void removeGameMovable(GameMovable movable);
+
+	/**
+	 * Starts a new tick. Called once by the universe before moving the
+	 * entities.
+	 */
+	public void nextTick();
+
+	/**
+	 * @param movable a movable of the universe
+	 * @return true if the movable must be fully updated during the current
+	 *         tick, false if its position must only be extrapolated
+	 */
+	public boolean isUpdateTick(GameMovable movable);
+}
@@ -0,0 +1,78 @@
+package gameframework.motion;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default implementation of the UpdateScheduler interface. By default every
+ * movable is updated at every tick; a larger interval can be given to some
+ * entities with {@link #setUpdateInterval(GameMovable, int)}.
+ */
+public class UpdateSchedulerDefaultImpl implements UpdateScheduler {
+
+	/** Round-robin slot of each registered movable. */
+	protected final Map<GameMovable, Integer> slots;
+
+	/** Update interval (in ticks) of the movables having a specific one. */
+	protected final Map<GameMovable, Integer> intervals;
+
+	protected int nextSlot = 0;
+	protected long tick = 0;
+
+	public UpdateSchedulerDefaultImpl() {
+		slots = new ConcurrentHashMap<>();
+		intervals = new ConcurrentHashMap<>();
+	}
+
+	@Override
+	public void addGameMovable(GameMovable movable) {
+		if (!slots.containsKey(movable)) {
+			slots.put(movable, nextSlot++);
+		}
+	}
+
+	@Override
+	public void removeGameMovable(GameMovable movable) {
+		slots.remove(movable);
+		intervals.remove(movable);
+	}
+
+	/**
+	 * Sets the number of ticks between two updates of a movable.
+	 * @param movable the movable
+	 * @param interval 1 to update the movable at every tick, n to update it
+	 *            once every n ticks
+	 */
+	public void setUpdateInterval(GameMovable movable, int interval) {
+		if (interval < 1) {
+			throw new IllegalArgumentException("Update interval must be "
+					+ "positive: " + interval);
+		}
+		intervals.put(movable, interval);
+	}
+
+	@Override
+	public void nextTick() {
+		tick++;
+	}
+
+	@Override
+	public boolean isUpdateTick(GameMovable movable) {
+		int interval = getUpdateInterval(movable);
+		if (interval <= 1) {
+			return true;
+		}
+		Integer slot = slots.get(movable);
+		return (tick + (slot == null ? 0 : slot)) % interval == 0;
+	}
+
+	/**
+	 * @param movable the movable
+	 * @return the number of ticks between two updates of the movable during
+	 *         the current tick
+	 */
+	public int getUpdateInterval(GameMovable movable) {
+		Integer interval = intervals.get(movable);
+		return interval == null ? 1 : interval;
+	}
+}
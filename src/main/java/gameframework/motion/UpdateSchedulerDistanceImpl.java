@@ -0,0 +1,63 @@
+package gameframework.motion;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+
+/**
+ * UpdateScheduler whose update intervals depend on the distance between the
+ * movables and a focus region, typically the part of the universe displayed
+ * by the viewport. Movables inside the region are updated at every tick, and
+ * the interval doubles every <code>distanceStep</code> pixels away from it, up
+ * to <code>maxInterval</code>.
+ *
+ * As the moves of distant entities are extrapolated without running their
+ * strategy (they only stop at move blockers), the focus region should be
+ * larger than what the player can see.
+ */
+public class UpdateSchedulerDistanceImpl extends UpdateSchedulerDefaultImpl {
+
+	protected Rectangle focusRegion;
+	protected final int distanceStep;
+	protected final int maxInterval;
+
+	/**
+	 * @param focusRegion the region where entities are updated at every tick
+	 * @param distanceStep the distance (in pixels) after which the update
+	 *            interval doubles
+	 * @param maxInterval the largest update interval
+	 */
+	public UpdateSchedulerDistanceImpl(Rectangle focusRegion,
+			int distanceStep, int maxInterval) {
+		this.focusRegion = focusRegion;
+		this.distanceStep = distanceStep;
+		this.maxInterval = maxInterval;
+	}
+
+	public void setFocusRegion(Rectangle focusRegion) {
+		this.focusRegion = focusRegion;
+	}
+
+	public Rectangle getFocusRegion() {
+		return focusRegion;
+	}
+
+	@Override
+	public int getUpdateInterval(GameMovable movable) {
+		int distance = distanceToFocusRegion(movable.getPosition());
+		int interval = 1;
+		for (int step = distanceStep; step <= distance
+				&& interval < maxInterval; step += distanceStep) {
+			interval *= 2;
+		}
+		return Math.max(Math.min(interval, maxInterval),
+				super.getUpdateInterval(movable));
+	}
+
+	protected int distanceToFocusRegion(Point position) {
+		int dx = Math.max(0, Math.max(focusRegion.x - position.x, position.x
+				- (focusRegion.x + focusRegion.width)));
+		int dy = Math.max(0, Math.max(focusRegion.y - position.y, position.y
+				- (focusRegion.y + focusRegion.height)));
+		return Math.max(dx, dy);
+	}
+}
@@ -26,13 +26,26 @@ public class MoveBlockerCheckerDefaultImpl implements MoveBlockerChecker {
 	 */
 	protected MoveBlockerRulesApplier moveBlockerRuleApplier;
 
+	/**
+	 * The list of blockers found by moveValidation, reused from one call to
+	 * the next: the rules applier must not keep it. There is one per thread
+	 * since the moves may be validated concurrently (see
+	 * {@link gameframework.game.GameUniverseTwoPhaseImpl}).
+	 */
+	protected final ThreadLocal<List<MoveBlocker>> blockersInIntersection = new ThreadLocal<List<MoveBlocker>>() {
+		@Override
+		protected List<MoveBlocker> initialValue() {
+			return new ArrayList<>();
+		}
+	};
+
 	public MoveBlockerCheckerDefaultImpl() {
 		moveBlockers = new ConcurrentLinkedQueue<>();
 		this.moveBlockerRuleApplier = new MoveBlockerRulesApplierDefaultImpl();
 	}
 
 	/**
-	 * @see gameframework.motion.blocking.MoveBlockerChecker#addMoveBlocker(gameframework.motion.blocking.MoveBlocker)
+	 * @see MoveBlockerChecker#addMoveBlocker(MoveBlocker)
 	 */
 	@Override
 	public void addMoveBlocker(MoveBlocker p) {
@@ -40,7 +53,7 @@ public class MoveBlockerCheckerDefaultImpl implements MoveBlockerChecker {
 	}
 
 	/**
-	 * @see gameframework.motion.blocking.MoveBlockerChecker#removeMoveBlocker(gameframework.motion.blocking.MoveBlocker)
+	 * @see MoveBlockerChecker#removeMoveBlocker(MoveBlocker)
 	 */
 	@Override
 	public void removeMoveBlocker(MoveBlocker p) {
@@ -48,7 +61,7 @@ public class MoveBlockerCheckerDefaultImpl implements MoveBlockerChecker {
 	}
 
 	/**
-	 * @see gameframework.motion.blocking.MoveBlockerChecker#setMoveBlockerRules(gameframework.motion.blocking.MoveBlockerRulesApplier)
+	 * @see MoveBlockerChecker#setMoveBlockerRules(MoveBlockerRulesApplier)
 	 */
 	@Override
 	public void setMoveBlockerRules(MoveBlockerRulesApplier moveBlockerRules) {
@@ -56,18 +69,29 @@ public class MoveBlockerCheckerDefaultImpl implements MoveBlockerChecker {
 	}
 
 	/**
-	 * @see gameframework.motion.blocking.MoveBlockerChecker#moveValidation(gameframework.motion.GameMovable, gameframework.motion.SpeedVector)
+	 * @see MoveBlockerChecker#moveValidation(GameMovable, SpeedVector)
 	 */
 	@Override
 	public boolean moveValidation(GameMovable m, SpeedVector mov) {
 		Shape intersectShape = IntersectTools.getIntersectShape(m, mov);
-		List<MoveBlocker> moveBlockersInIntersection = new ArrayList<>();
-		Area intersectArea = new Area(intersectShape);
+		List<MoveBlocker> moveBlockersInIntersection = blockersInIntersection
+				.get();
+		moveBlockersInIntersection.clear();
+		// Only computed if needed: rectangles intersecting their bounding
+		// boxes do intersect
+		Area intersectArea = null;
 		Rectangle tmpIntersec = (intersectShape.getBounds());
 
 		for (MoveBlocker moveBlocker : moveBlockers) {
 			Rectangle tmpB = moveBlocker.getBoundingBox();
 			if (m != moveBlocker && tmpIntersec.intersects(tmpB)) {
+				if (intersectShape instanceof Rectangle) {
+					moveBlockersInIntersection.add(moveBlocker);
+					continue;
+				}
+				if (intersectArea == null) {
+					intersectArea = new Area(intersectShape);
+				}
 				Area tmpArea = new Area(tmpB);
 				tmpArea.intersect(intersectArea);
 				if (!tmpArea.isEmpty()) {
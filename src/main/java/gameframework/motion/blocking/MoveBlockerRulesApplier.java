@@ -20,7 +20,8 @@ public interface MoveBlockerRulesApplier {
 	 *
 	 * If true, this means that no MoveBlocker blocks the way of the GameMovable.
 	 * @param m the movable to test
-	 * @param obs the MoveBlocker vector
+	 * @param obs the MoveBlocker vector, which the caller may reuse once the
+	 *            method returned: implementations must not keep it
 	 * @return true if the movable is allowed to move, false otherwise
 	 */
 	public boolean moveValidationProcessing(GameMovable m, List<MoveBlocker> obs);
@@ -0,0 +1,134 @@
+package gameframework.motion.overlapping;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Overlaps found during a tick, stored without allocating one object per
+ * overlap. The overlappables are numbered in a table, and each overlap is a
+ * pair of indices in this table packed in a <code>long</code>. The arrays
+ * only grow, and are reused once the buffer is cleared.
+ *
+ * {@link #asList()} gives a view of the buffer for the
+ * {@link OverlapRulesApplier} working on {@link Overlap} objects.
+ */
+public class OverlapBuffer {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	protected Overlappable[] overlappables = new Overlappable[INITIAL_CAPACITY];
+	protected int nbOverlappables = 0;
+
+	protected long[] pairs = new long[INITIAL_CAPACITY];
+	protected int size = 0;
+
+	private final List<Overlap> view = new AbstractList<Overlap>() {
+		@Override
+		public Overlap get(int i) {
+			if (i < 0 || i >= size) {
+				throw new IndexOutOfBoundsException("Index: " + i + ", size: "
+						+ size);
+			}
+			return new Overlap(getOverlappable1(i), getOverlappable2(i));
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	};
+
+	/**
+	 * Removes all the overlaps and overlappables.
+	 */
+	public void clear() {
+		Arrays.fill(overlappables, 0, nbOverlappables, null);
+		nbOverlappables = 0;
+		size = 0;
+	}
+
+	/**
+	 * @return the index of the overlappable in the table
+	 */
+	public int addOverlappable(Overlappable overlappable) {
+		if (nbOverlappables == overlappables.length) {
+			overlappables = Arrays.copyOf(overlappables, nbOverlappables * 2);
+		}
+		overlappables[nbOverlappables] = overlappable;
+		return nbOverlappables++;
+	}
+
+	public Overlappable getOverlappable(int index) {
+		return overlappables[index];
+	}
+
+	public int getNbOverlappables() {
+		return nbOverlappables;
+	}
+
+	/**
+	 * Adds an overlap between two overlappables of the table.
+	 */
+	public void addOverlap(int index1, int index2) {
+		if (size == pairs.length) {
+			pairs = Arrays.copyOf(pairs, size * 2);
+		}
+		pairs[size++] = ((long) index1 << 32) | (index2 & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * @return the number of overlaps
+	 */
+	public int size() {
+		return size;
+	}
+
+	public int getIndex1(int i) {
+		return (int) (pairs[i] >>> 32);
+	}
+
+	public int getIndex2(int i) {
+		return (int) pairs[i];
+	}
+
+	public Overlappable getOverlappable1(int i) {
+		return overlappables[getIndex1(i)];
+	}
+
+	public Overlappable getOverlappable2(int i) {
+		return overlappables[getIndex2(i)];
+	}
+
+	/**
+	 * Sorts the overlaps by index and removes the duplicated ones, (a, b)
+	 * being the same overlap as (b, a). The smallest index of each pair
+	 * becomes the first one.
+	 */
+	public void sortAndRemoveDuplicates() {
+		for (int i = 0; i < size; i++) {
+			int index1 = getIndex1(i);
+			int index2 = getIndex2(i);
+			if (index2 < index1) {
+				pairs[i] = ((long) index2 << 32) | (index1 & 0xFFFFFFFFL);
+			}
+		}
+		Arrays.sort(pairs, 0, size);
+		int newSize = 0;
+		for (int i = 0; i < size; i++) {
+			if (newSize == 0 || pairs[i] != pairs[newSize - 1]) {
+				pairs[newSize++] = pairs[i];
+			}
+		}
+		size = newSize;
+	}
+
+	/**
+	 * @return a read-only view of the overlaps, following the changes of the
+	 *         buffer. Each access creates an {@link Overlap}: rules appliers
+	 *         should rather implement {@link OverlapBufferRulesApplier}.
+	 */
+	public List<Overlap> asList() {
+		return view;
+	}
+}
@@ -0,0 +1,14 @@
+package gameframework.motion.overlapping;
+
+/**
+ * {@link OverlapRulesApplier} reading the overlaps directly from the
+ * {@link OverlapBuffer} of the processor, without any {@link Overlap} object
+ * being created.
+ */
+public interface OverlapBufferRulesApplier extends OverlapRulesApplier {
+	/**
+	 * Modify the Universe depending on all the overlaps of the buffer. The
+	 * buffer is reused at the next tick: it must not be kept.
+	 */
+	public void applyOverlapRules(OverlapBuffer overlaps);
+}
@@ -51,37 +51,120 @@ public class OverlapProcessorDefaultImpl implements OverlapProcessor {
 		this.overlapRules = overlapRules;
 	}
 
-	// for optimization purpose : prevents to compute two times the overlaps
-	private List<Overlappable> movablesTmp;
+	// The overlaps of the current tick, reused from one tick to the next. The
+	// movables are numbered first, from 0 to nbMovables - 1, then the
+	// non-movables.
+	protected final OverlapBuffer overlaps = new OverlapBuffer();
+	protected int nbMovables;
+
+	/** Whether a subclass overrides the hooks working on Overlap lists. */
+	private Boolean overridesListHooks;
 
+	/**
+	 * The overlaps given to the rules applier are reused at the next call:
+	 * they must not be kept.
+	 * 
+	 * Subclasses overriding {@link #computeOneOverlap(Overlappable, List)},
+	 * {@link #computeOneOverlapMovables(Overlappable, List, Rectangle, Area)},
+	 * {@link #computeOneOverlapNonMovableOverlappables(Overlappable, List, Rectangle, Area)}
+	 * or
+	 * {@link #addOverlapsIfIntersect(Rectangle, Rectangle, Shape, Area, List, Overlappable, Overlappable)}
+	 * get their overlaps computed through these methods, in a list of
+	 * {@link Overlap} objects, instead of the overlap buffer.
+	 */
 	@Override
 	public void processOverlapsAll() {
-		List<Overlap> overlaps = new ArrayList<>();
+		if (overridesListHooks()) {
+			processOverlapsAllInList();
+			return;
+		}
+		overlaps.clear();
+		for (Overlappable movableOverlappable : movableOverlappables) {
+			overlaps.addOverlappable(movableOverlappable);
+		}
+		nbMovables = overlaps.getNbOverlappables();
+		for (Overlappable nonMovableOverlappable : nonMovableOverlappables) {
+			overlaps.addOverlappable(nonMovableOverlappable);
+		}
+		// for optimization purpose : prevents to compute two times the
+		// overlaps, only the movables after the current one being checked
+		for (int i = 0; i < nbMovables; i++) {
+			computeOneOverlap(i);
+		}
+		if (overlapRules instanceof OverlapBufferRulesApplier) {
+			((OverlapBufferRulesApplier) overlapRules)
+					.applyOverlapRules(overlaps);
+		} else {
+			overlapRules.applyOverlapRules(overlaps.asList());
+		}
+	}
+
+	/**
+	 * @return true if a subclass overrides one of the methods computing the
+	 *         overlaps in a list
+	 */
+	protected boolean overridesListHooks() {
+		if (overridesListHooks == null) {
+			overridesListHooks = overrides("computeOneOverlap",
+					Overlappable.class, List.class)
+					|| overrides("computeOneOverlapMovables",
+							Overlappable.class, List.class, Rectangle.class,
+							Area.class)
+					|| overrides("computeOneOverlapNonMovableOverlappables",
+							Overlappable.class, List.class, Rectangle.class,
+							Area.class)
+					|| overrides("addOverlapsIfIntersect", Rectangle.class,
+							Rectangle.class, Shape.class, Area.class,
+							List.class, Overlappable.class, Overlappable.class);
+		}
+		return overridesListHooks;
+	}
+
+	private boolean overrides(String name, Class<?>... parameterTypes) {
+		for (Class<?> c = getClass(); c != OverlapProcessorDefaultImpl.class; c = c
+				.getSuperclass()) {
+			try {
+				c.getDeclaredMethod(name, parameterTypes);
+				return true;
+			} catch (NoSuchMethodException e) {
+				// Not declared at this level
+			}
+		}
+		return false;
+	}
+
+	// The movables after the current one, when the overlaps are computed in a
+	// list
+	private List<Overlappable> movablesTmp;
+
+	private void processOverlapsAllInList() {
+		List<Overlap> overlapList = new ArrayList<>();
 		movablesTmp = new ArrayList<>(movableOverlappables);
 		for (Overlappable movableOverlappable : movableOverlappables) {
 			movablesTmp.remove(movableOverlappable);
-			computeOneOverlap(movableOverlappable, overlaps);
+			computeOneOverlap(movableOverlappable, overlapList);
 		}
-		overlapRules.applyOverlapRules(overlaps);
+		overlapRules.applyOverlapRules(overlapList);
 	}
 
+	/**
+	 * Only called by {@link #processOverlapsAll()} when a subclass overrides
+	 * one of the methods computing the overlaps in a list.
+	 */
 	protected void computeOneOverlap(Overlappable movableOverlappable,
 			List<Overlap> overlaps) {
-		Area overlappableArea;
-		Rectangle boundingBoxOverlappable;
 		assert movableOverlappable.isMovable();
 		Shape intersectShape = intersectionComputation(movableOverlappable);
-
-		overlappableArea = new Area(intersectShape);
-		boundingBoxOverlappable = intersectShape.getBounds();
-
-		overlappableArea = new Area(intersectShape);
-		boundingBoxOverlappable = intersectShape.getBounds();
+		Area overlappableArea = new Area(intersectShape);
+		Rectangle boundingBoxOverlappable = intersectShape.getBounds();
 
 		computeOneOverlapMovables(movableOverlappable, overlaps, boundingBoxOverlappable, overlappableArea);
 		computeOneOverlapNonMovableOverlappables(movableOverlappable, overlaps, boundingBoxOverlappable, overlappableArea);
 	}
 
+	/**
+	 * @see #computeOneOverlap(Overlappable, List)
+	 */
 	protected void computeOneOverlapMovables(Overlappable movableOverlappable,
 			List<Overlap> overlaps, Rectangle boundingBoxOverlappable,
 			Area overlappableArea){
@@ -89,13 +172,7 @@ public class OverlapProcessorDefaultImpl implements OverlapProcessor {
 		Rectangle boundingBoxTarget;
 		for (Overlappable targetOverlappable : movablesTmp) {
 			if (targetOverlappable != movableOverlappable) {
-				Shape targetShape;
-				targetShape = IntersectTools.getIntersectShape(
-						(GameMovable) targetOverlappable, new SpeedVector(
-								((GameMovable) targetOverlappable).getSpeedVector()
-										.getDirection(),
-								-((GameMovable) targetOverlappable)
-										.getSpeedVector().getSpeed()));
+				Shape targetShape = targetShape(targetOverlappable);
 				boundingBoxTarget = targetShape.getBounds();
 				addOverlapsIfIntersect(boundingBoxOverlappable, boundingBoxTarget, targetShape, overlappableArea,
 						overlaps, movableOverlappable, targetOverlappable);
@@ -103,6 +180,9 @@ public class OverlapProcessorDefaultImpl implements OverlapProcessor {
 		}
 	}
 
+	/**
+	 * @see #computeOneOverlap(Overlappable, List)
+	 */
 	protected void computeOneOverlapNonMovableOverlappables(Overlappable movableOverlappable,
 			List<Overlap> overlaps, Rectangle boundingBoxOverlappable,
 			Area overlappableArea){
@@ -120,6 +200,9 @@ public class OverlapProcessorDefaultImpl implements OverlapProcessor {
 		}
 	}
 
+	/**
+	 * @see #computeOneOverlap(Overlappable, List)
+	 */
 	protected void addOverlapsIfIntersect(Rectangle boundingBoxOverlappable, Rectangle boundingBoxTarget,
 			Shape targetShape, Area overlappableArea, List<Overlap> overlaps,
 			Overlappable movableOverlappable, Overlappable targetOverlappable){
@@ -133,6 +216,87 @@ public class OverlapProcessorDefaultImpl implements OverlapProcessor {
 		}
 	}
 
+	/**
+	 * @param index the index of a movable in the overlap buffer
+	 */
+	private void computeOneOverlap(int index) {
+		Overlappable movableOverlappable = overlaps.getOverlappable(index);
+		assert movableOverlappable.isMovable();
+		Shape intersectShape = intersectionComputation(movableOverlappable);
+
+		// No area is needed to intersect rectangles
+		Area overlappableArea = intersectShape instanceof Rectangle ? null
+				: new Area(intersectShape);
+		Rectangle boundingBoxOverlappable = intersectShape.getBounds();
+
+		computeOneOverlapMovables(index, boundingBoxOverlappable, overlappableArea);
+		computeOneOverlapNonMovableOverlappables(index, boundingBoxOverlappable, overlappableArea);
+	}
+
+	private void computeOneOverlapMovables(int index,
+			Rectangle boundingBoxOverlappable, Area overlappableArea) {
+		Overlappable movableOverlappable = overlaps.getOverlappable(index);
+		Rectangle boundingBoxTarget;
+		for (int target = index + 1; target < nbMovables; target++) {
+			Overlappable targetOverlappable = overlaps.getOverlappable(target);
+			if (targetOverlappable != movableOverlappable) {
+				Shape targetShape = targetShape(targetOverlappable);
+				boundingBoxTarget = targetShape.getBounds();
+				addOverlapsIfIntersect(boundingBoxOverlappable, boundingBoxTarget, targetShape, overlappableArea,
+						index, target);
+			}
+		}
+	}
+
+	private void computeOneOverlapNonMovableOverlappables(int index,
+			Rectangle boundingBoxOverlappable, Area overlappableArea) {
+		Rectangle boundingBoxTarget;
+		for (int target = nbMovables; target < overlaps.getNbOverlappables(); target++) {
+			// A non-movable is never the movable itself
+			Shape targetShape;
+			targetShape = overlaps.getOverlappable(target).getBoundingBox();
+			boundingBoxTarget = targetShape.getBounds();
+
+			addOverlapsIfIntersect(boundingBoxOverlappable, boundingBoxTarget, targetShape, overlappableArea,
+					index, target);
+		}
+	}
+
+	/**
+	 * @param overlappableArea the area of the movable, null if its shape is its
+	 *            bounding box
+	 * @param index the index of the movable in the overlap buffer
+	 * @param target the index of the target in the overlap buffer
+	 */
+	private void addOverlapsIfIntersect(Rectangle boundingBoxOverlappable, Rectangle boundingBoxTarget,
+			Shape targetShape, Area overlappableArea, int index, int target){
+		if (boundingBoxOverlappable.intersects(boundingBoxTarget)) {
+			if (overlappableArea == null && targetShape instanceof Rectangle) {
+				overlaps.addOverlap(index, target);
+				return;
+			}
+			if (overlappableArea == null) {
+				overlappableArea = new Area(boundingBoxOverlappable);
+			}
+			Area targetArea = new Area(targetShape);
+			targetArea.intersect(overlappableArea);
+			if (!targetArea.isEmpty()) {
+				// NOTE I don't see how this test could fail
+				overlaps.addOverlap(index, target);
+			}
+		}
+	}
+
+	/**
+	 * @return the shape swept by a movable target during its last step
+	 */
+	private Shape targetShape(Overlappable targetOverlappable) {
+		GameMovable target = (GameMovable) targetOverlappable;
+		SpeedVector speedVector = target.getSpeedVector();
+		return IntersectTools.getIntersectShape(target, new SpeedVector(
+				speedVector.getDirection(), -speedVector.getSpeed()));
+	}
+
 	protected Shape intersectionComputation(Overlappable movableOverlappable) {
 		assert movableOverlappable.isMovable();
 		GameMovable movable = (GameMovable) movableOverlappable;
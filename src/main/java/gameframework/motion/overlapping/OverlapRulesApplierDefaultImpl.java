@@ -3,25 +3,112 @@ package gameframework.motion.overlapping;
 import gameframework.game.GameData;
 import gameframework.game.GameUniverse;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Applies the rules defined as methods of the subclasses. Two styles of rules
+ * can be used:
+ * <ul>
+ * <li><code>public void overlapRule(A a, B b)</code> is called for each
+ * overlap between an A and a B;</li>
+ * <li><code>public void overlapRules(A[] as, B[] bs)</code> is called once
+ * per tick with all the overlaps between an A and a B, <code>as[i]</code>
+ * overlapping <code>bs[i]</code>. The batch rules are called after all the
+ * single ones, and take precedence over them for the same pair of classes.</li>
+ * </ul>
+ * The rule found for a pair of classes is cached, so the methods are only
+ * looked up once.
+ */
+public class OverlapRulesApplierDefaultImpl implements
+		OverlapBufferRulesApplier {
 
-public class OverlapRulesApplierDefaultImpl implements OverlapRulesApplier {
+	private static final OverlapRule NO_RULE = new OverlapRule(null, false,
+			null);
 
 	protected GameData data;
-	
+
+	/** The rule found for each pair of classes, NO_RULE if none. */
+	protected final Map<Class<?>, Map<Class<?>, OverlapRule>> rules = new HashMap<>();
+
+	/** The batches of each batch rule method. */
+	protected final Map<Method, RuleBatch> batches = new HashMap<>();
+
+	/** Whether a subclass overrides the list rules, null until checked. */
+	private Boolean overridesListRules;
+
+	/** The batches having overlaps during this tick. */
+	protected final List<RuleBatch> pendingBatches = new ArrayList<>();
+
 	@Override
 	public void applyOverlapRules(List<Overlap> overlaps) {
-		for (Overlap col : overlaps) {
-			applySpecificOverlapRule(col.getOverlappable1(), col.getOverlappable2(),
-					true);
+		try {
+			for (Overlap col : overlaps) {
+				applyOverlapRule(col.getOverlappable1(),
+						col.getOverlappable2());
+			}
+			applyBatchRules();
+		} finally {
+			clearPendingBatches();
+		}
+	}
+
+	/**
+	 * Reads the overlaps from the buffer, unless a subclass overrides
+	 * {@link #applyOverlapRules(List)}: the overlaps are then given to it as
+	 * a list, so that the overrides keep being called.
+	 */
+	@Override
+	public void applyOverlapRules(OverlapBuffer overlaps) {
+		if (overridesListRules()) {
+			applyOverlapRules(overlaps.asList());
+			return;
+		}
+		try {
+			for (int i = 0; i < overlaps.size(); i++) {
+				applyOverlapRule(overlaps.getOverlappable1(i),
+						overlaps.getOverlappable2(i));
+			}
+			applyBatchRules();
+		} finally {
+			clearPendingBatches();
+		}
+	}
+
+	/**
+	 * @return true if {@link #applyOverlapRules(List)} is overridden by the
+	 *         class of this applier
+	 */
+	protected boolean overridesListRules() {
+		if (overridesListRules == null) {
+			try {
+				overridesListRules = getClass().getMethod("applyOverlapRules",
+						List.class).getDeclaringClass() != OverlapRulesApplierDefaultImpl.class;
+			} catch (NoSuchMethodException e) {
+				overridesListRules = false;
+			}
 		}
+		return overridesListRules;
 	}
 
 	/**
-	 * The method is commutative between <code>e1</code> and <code>e2</code>. To
-	 * use the commutativity, see the parameter
+	 * Applies the rule of the overlap between <code>e1</code> and
+	 * <code>e2</code>. Subclasses can override it to filter or log the
+	 * overlaps.
+	 */
+	protected void applyOverlapRule(Overlappable e1, Overlappable e2) {
+		applySpecificOverlapRule(e1, e2, true);
+	}
+
+	/**
+	 * Calls the single rule of the overlap, or adds the overlap to the batch
+	 * of its batch rule. The method is commutative between <code>e1</code>
+	 * and <code>e2</code>. To use the commutativity, see the parameter
 	 * <code>tryToReverseParameters</code>
 	 * 
 	 * @param tryToReverseParameters
@@ -31,16 +118,102 @@ public class OverlapRulesApplierDefaultImpl implements OverlapRulesApplier {
 	 */
 	protected void applySpecificOverlapRule(Overlappable e1, Overlappable e2,
 			boolean tryToReverseParameters) {
-		Method m;
-		try {
-			m = getClass().getMethod("overlapRule", e1.getClass(),
-					e2.getClass());
-		} catch (NoSuchMethodException e) {
-			if (tryToReverseParameters)
+		OverlapRule rule = getRule(e1.getClass(), e2.getClass());
+		if (rule == NO_RULE) {
+			return;
+		}
+		if (rule.reversed) {
+			if (tryToReverseParameters) {
 				applySpecificOverlapRule(e2, e1, false);
+			}
 			return;
 		}
-		invoke(m, e1, e2);
+		if (rule.batch == null) {
+			invoke(rule.method, e1, e2);
+		} else {
+			if (!rule.batch.queued) {
+				rule.batch.queued = true;
+				pendingBatches.add(rule.batch);
+			}
+			rule.batch.add(e1, e2);
+		}
+	}
+
+	/**
+	 * Calls the batch rules having overlaps, in the order of their first
+	 * overlap.
+	 */
+	protected void applyBatchRules() {
+		for (RuleBatch batch : pendingBatches) {
+			batch.apply(this);
+		}
+	}
+
+	/**
+	 * Empties the batches of the tick, including the ones not applied
+	 * because a rule failed, so that no overlap is kept for the next tick.
+	 */
+	protected void clearPendingBatches() {
+		for (RuleBatch batch : pendingBatches) {
+			batch.clear();
+		}
+		pendingBatches.clear();
+	}
+
+	protected OverlapRule getRule(Class<?> class1, Class<?> class2) {
+		Map<Class<?>, OverlapRule> rulesOfClass1 = rules.get(class1);
+		if (rulesOfClass1 == null) {
+			rulesOfClass1 = new HashMap<>();
+			rules.put(class1, rulesOfClass1);
+		}
+		OverlapRule rule = rulesOfClass1.get(class2);
+		if (rule == null) {
+			rule = findRule(class1, class2);
+			rulesOfClass1.put(class2, rule);
+		}
+		return rule;
+	}
+
+	protected OverlapRule findRule(Class<?> class1, Class<?> class2) {
+		Method m = findMethod("overlapRules", arrayClass(class1),
+				arrayClass(class2));
+		if (m != null) {
+			return new OverlapRule(m, false, getBatch(m, class1, class2));
+		}
+		m = findMethod("overlapRules", arrayClass(class2), arrayClass(class1));
+		if (m != null) {
+			return new OverlapRule(m, true, getBatch(m, class2, class1));
+		}
+		m = findMethod("overlapRule", class1, class2);
+		if (m != null) {
+			return new OverlapRule(m, false, null);
+		}
+		m = findMethod("overlapRule", class2, class1);
+		if (m != null) {
+			return new OverlapRule(m, true, null);
+		}
+		return NO_RULE;
+	}
+
+	protected Method findMethod(String name, Class<?> class1, Class<?> class2) {
+		try {
+			return getClass().getMethod(name, class1, class2);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	protected RuleBatch getBatch(Method m, Class<?> class1, Class<?> class2) {
+		RuleBatch batch = batches.get(m);
+		if (batch == null) {
+			batch = new RuleBatch(m, class1, class2);
+			batches.put(m, batch);
+		}
+		return batch;
+	}
+
+	private static Class<?> arrayClass(Class<?> componentType) {
+		return Array.newInstance(componentType, 0).getClass();
 	}
 
 	protected void invoke(Method m, Overlappable e1, Overlappable e2) {
@@ -51,6 +224,14 @@ public class OverlapRulesApplierDefaultImpl implements OverlapRulesApplier {
 		}
 	}
 
+	protected void invokeBatch(Method m, Object[] e1s, Object[] e2s) {
+		try {
+			m.invoke(this, e1s, e2s);
+		} catch (Exception e) {
+			throw new RuntimeException("Reflective invocation exception", e);
+		}
+	}
+
 	public GameUniverse getUniverse() {
 		return data.getUniverse();
 	}
@@ -59,4 +240,64 @@ public class OverlapRulesApplierDefaultImpl implements OverlapRulesApplier {
 	public void setGameData(GameData data) {
 		this.data = data;
 	}
+
+	/**
+	 * Rule to apply to the overlaps between two classes.
+	 */
+	protected static class OverlapRule {
+		protected final Method method;
+		/** True if the overlappables must be swapped to match the method. */
+		protected final boolean reversed;
+		/** The batch collecting the overlaps, null for a single rule. */
+		protected final RuleBatch batch;
+
+		protected OverlapRule(Method method, boolean reversed, RuleBatch batch) {
+			this.method = method;
+			this.reversed = reversed;
+			this.batch = batch;
+		}
+	}
+
+	/**
+	 * Overlaps collected during a tick for a batch rule. The arrays are typed
+	 * as the parameters of the rule and reused from one tick to the next.
+	 */
+	protected static class RuleBatch {
+		protected final Method method;
+		protected Object[] firsts;
+		protected Object[] seconds;
+		protected int size = 0;
+		/** True if the batch is in the pending batches of the tick. */
+		protected boolean queued = false;
+
+		protected RuleBatch(Method method, Class<?> class1, Class<?> class2) {
+			this.method = method;
+			firsts = (Object[]) Array.newInstance(class1, 16);
+			seconds = (Object[]) Array.newInstance(class2, 16);
+		}
+
+		protected void add(Object first, Object second) {
+			if (size == firsts.length) {
+				firsts = Arrays.copyOf(firsts, size * 2);
+				seconds = Arrays.copyOf(seconds, size * 2);
+			}
+			firsts[size] = first;
+			seconds[size] = second;
+			size++;
+		}
+
+		protected void apply(OverlapRulesApplierDefaultImpl applier) {
+			Object[] batchFirsts = Arrays.copyOf(firsts, size);
+			Object[] batchSeconds = Arrays.copyOf(seconds, size);
+			clear();
+			applier.invokeBatch(method, batchFirsts, batchSeconds);
+		}
+
+		protected void clear() {
+			Arrays.fill(firsts, 0, size, null);
+			Arrays.fill(seconds, 0, size, null);
+			size = 0;
+			queued = false;
+		}
+	}
 }
@@ -0,0 +1,123 @@
+package gameframework.motion.pathfinding;
+
+import java.awt.Point;
+import java.util.Arrays;
+
+/**
+ * A flow field gives, for every cell of a grid, the direction to follow to
+ * reach a single goal cell along a shortest path. It is computed once and can
+ * then be shared by any number of entities heading to the same goal.
+ */
+public class FlowField {
+
+	/** The four directions an entity can follow, indexed by direction code. */
+	protected static final int[] DIRECTION_X = { 1, -1, 0, 0 };
+	protected static final int[] DIRECTION_Y = { 0, 0, 1, -1 };
+
+	/** Code used for cells from where the goal can't be reached. */
+	protected static final byte NO_DIRECTION = -1;
+
+	protected final int nbColumns;
+	protected final int nbRows;
+	protected final int cellSize;
+	protected final int goalCell;
+
+	/** Distance (in cells) to the goal, -1 if the goal can't be reached. */
+	protected final int[] distances;
+
+	/** Direction code to follow for each cell. */
+	protected final byte[] directions;
+
+	/**
+	 * Computes the flow field of a grid for the given goal cell using a
+	 * breadth first search starting from the goal.
+	 * @param blocked the cells that can't be crossed (row major order)
+	 * @param nbColumns the number of columns of the grid
+	 * @param nbRows the number of rows of the grid
+	 * @param cellSize the size (in pixels) of a cell
+	 * @param goalCell the index of the goal cell
+	 */
+	public FlowField(boolean[] blocked, int nbColumns, int nbRows,
+			int cellSize, int goalCell) {
+		this.nbColumns = nbColumns;
+		this.nbRows = nbRows;
+		this.cellSize = cellSize;
+		this.goalCell = goalCell;
+		distances = new int[nbColumns * nbRows];
+		directions = new byte[nbColumns * nbRows];
+		compute(blocked);
+	}
+
+	protected void compute(boolean[] blocked) {
+		Arrays.fill(distances, -1);
+		Arrays.fill(directions, NO_DIRECTION);
+		int[] queue = new int[distances.length];
+		int head = 0, tail = 0;
+
+		distances[goalCell] = 0;
+		queue[tail++] = goalCell;
+		while (head < tail) {
+			int cell = queue[head++];
+			int column = cell % nbColumns;
+			int row = cell / nbColumns;
+			for (int d = 0; d < DIRECTION_X.length; d++) {
+				int nextColumn = column + DIRECTION_X[d];
+				int nextRow = row + DIRECTION_Y[d];
+				if (nextColumn < 0 || nextRow < 0 || nextColumn >= nbColumns
+						|| nextRow >= nbRows) {
+					continue;
+				}
+				int next = nextRow * nbColumns + nextColumn;
+				if (blocked[next] || distances[next] >= 0) {
+					continue;
+				}
+				distances[next] = distances[cell] + 1;
+				// Going from next to cell is the opposite direction
+				directions[next] = (byte) (d ^ 1);
+				queue[tail++] = next;
+			}
+		}
+	}
+
+	/**
+	 * Returns the direction to follow from the given position.
+	 * @param position a position (in pixels)
+	 * @return the direction to follow, (0, 0) if the goal is reached or
+	 *         can't be reached from the position
+	 */
+	public Point getDirection(Point position) {
+		int cell = getCell(position);
+		if (cell < 0 || directions[cell] == NO_DIRECTION) {
+			return new Point(0, 0);
+		}
+		return new Point(DIRECTION_X[directions[cell]],
+				DIRECTION_Y[directions[cell]]);
+	}
+
+	/**
+	 * Returns the distance (in cells) between the given position and the
+	 * goal.
+	 * @param position a position (in pixels)
+	 * @return the distance, or -1 if the goal can't be reached
+	 */
+	public int getDistance(Point position) {
+		int cell = getCell(position);
+		return cell < 0 ? -1 : distances[cell];
+	}
+
+	protected int getCell(Point position) {
+		if (position.x < 0 || position.y < 0) {
+			return -1;
+		}
+		int column = position.x / cellSize;
+		int row = position.y / cellSize;
+		if (column >= nbColumns || row >= nbRows) {
+			return -1;
+		}
+		return row * nbColumns + column;
+	}
+
+	public int getGoalCell() {
+		return goalCell;
+	}
+}
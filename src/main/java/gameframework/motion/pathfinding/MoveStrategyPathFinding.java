@@ -0,0 +1,99 @@
+package gameframework.motion.pathfinding;
+
+import gameframework.motion.MoveStrategy;
+import gameframework.motion.SpeedVector;
+
+import java.awt.Point;
+import java.util.List;
+
+/**
+ * {@link MoveStrategy} which leads to a goal while avoiding the non-movable
+ * blockers of the level, contrary to
+ * {@link gameframework.motion.MoveStrategyStraightLine}.
+ *
+ * By default, the direction is read from the {@link FlowField} of the goal,
+ * which is shared by all the strategies heading to the same goal cell. A
+ * cached A* path can be used instead for entities having their own goal (see
+ * {@link #setUseFlowField(boolean)}).
+ *
+ * The direction only changes when the position is aligned on the grid of the
+ * PathFinder: the speed should thus divide the cell size (which is the sprite
+ * size of the game).
+ */
+public class MoveStrategyPathFinding implements MoveStrategy {
+
+	protected final PathFinder pathFinder;
+	protected SpeedVector currentMove;
+	protected boolean useFlowField = true;
+	Point goal, currentPosition;
+
+	/**
+	 * @param pathFinder the PathFinder of the game (see
+	 *            {@link gameframework.game.GameData#getPathFinder()})
+	 * @param pos the position of the moving entity, which is read at each step
+	 * @param goal the position to reach, which can change over time (for
+	 *            instance the position of the player)
+	 */
+	public MoveStrategyPathFinding(PathFinder pathFinder, Point pos, Point goal) {
+		this(pathFinder, pos, goal, 8);
+	}
+
+	public MoveStrategyPathFinding(PathFinder pathFinder, Point pos,
+			Point goal, int speed) {
+		this.pathFinder = pathFinder;
+		this.currentPosition = pos;
+		this.goal = goal;
+		this.currentMove = new SpeedVector(new Point(0, 0), speed);
+	}
+
+	/**
+	 * @param useFlowField true to follow the shared flow field of the goal
+	 *            (default), false to follow a cached A* path
+	 */
+	public void setUseFlowField(boolean useFlowField) {
+		this.useFlowField = useFlowField;
+	}
+
+	public void setGoal(Point goal) {
+		this.goal = goal;
+	}
+
+	@Override
+	public int getSpeed() {
+		return currentMove.getSpeed();
+	}
+
+	@Override
+	public void setSpeed(int speed) {
+		currentMove.setSpeed(speed);
+	}
+
+	@Override
+	public SpeedVector getSpeedVector() {
+		int cellSize = pathFinder.getCellSize();
+		if (currentPosition.x % cellSize == 0
+				&& currentPosition.y % cellSize == 0) {
+			currentMove.setDirection(useFlowField ? flowFieldDirection()
+					: pathDirection());
+		}
+		return currentMove;
+	}
+
+	protected Point flowFieldDirection() {
+		FlowField flowField = pathFinder.getFlowField(goal);
+		if (flowField == null) {
+			return new Point(0, 0);
+		}
+		return flowField.getDirection(currentPosition);
+	}
+
+	protected Point pathDirection() {
+		List<Point> path = pathFinder.findPath(currentPosition, goal);
+		if (path.size() < 2) {
+			return new Point(0, 0);
+		}
+		Point next = path.get(1);
+		return new Point(Integer.signum(next.x - path.get(0).x),
+				Integer.signum(next.y - path.get(0).y));
+	}
+}
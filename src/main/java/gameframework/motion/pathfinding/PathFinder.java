@@ -0,0 +1,53 @@
+package gameframework.motion.pathfinding;
+
+import gameframework.motion.blocking.MoveBlocker;
+
+import java.awt.Point;
+import java.util.List;
+
+/**
+ * Computes paths on the grid formed by the non-movable {@link MoveBlocker}s of
+ * a level. Results are cached and shared between all the entities asking for
+ * the same goal, and they are only recomputed when the goal cell or the set of
+ * blockers changes.
+ *
+ * All the positions given to and returned by a PathFinder are expressed in
+ * pixels, like the positions of the game entities.
+ */
+public interface PathFinder {
+	/**
+	 * Adds a MoveBlocker to the grid. Movable blockers are ignored as they
+	 * would invalidate the cached paths at every step.
+	 * @param blocker the MoveBlocker to add
+	 */
+	public void addMoveBlocker(MoveBlocker blocker);
+
+	/**
+	 * Removes a MoveBlocker from the grid.
+	 * @param blocker the MoveBlocker to remove
+	 */
+	public void removeMoveBlocker(MoveBlocker blocker);
+
+	/**
+	 * Returns the flow field leading to the cell containing the goal. The
+	 * same field is returned to all the callers until the blockers change.
+	 * @param goal the position to reach
+	 * @return the flow field, or null if the goal is outside of the grid
+	 */
+	public FlowField getFlowField(Point goal);
+
+	/**
+	 * Computes (or returns from the cache) the shortest path between two
+	 * positions using the A* algorithm.
+	 * @param start the starting position
+	 * @param goal the position to reach
+	 * @return the positions of the cells to go through, including the start
+	 *         and the goal cells, or an empty list if there is no path
+	 */
+	public List<Point> findPath(Point start, Point goal);
+
+	/**
+	 * @return the size (in pixels) of a cell of the grid
+	 */
+	public int getCellSize();
+}
@@ -0,0 +1,259 @@
+package gameframework.motion.pathfinding;
+
+import gameframework.motion.blocking.MoveBlocker;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Default implementation of the PathFinder interface. The grid has the size of
+ * the game board (see {@link gameframework.game.GameConfiguration}) and a cell
+ * is blocked as soon as the bounding box of a non-movable MoveBlocker covers
+ * part of it.
+ *
+ * The grid, the flow fields and the A* paths are computed lazily and kept
+ * until a blocker is added or removed. The number of cached flow fields and
+ * paths is bounded, the least recently used ones being dropped first.
+ */
+public class PathFinderDefaultImpl implements PathFinder {
+
+	private static final int DEFAULT_MAX_FLOW_FIELDS = 32;
+	private static final int DEFAULT_MAX_PATHS = 256;
+
+	protected final int nbColumns;
+	protected final int nbRows;
+	protected final int cellSize;
+
+	/** The non-movable blockers forming the grid. */
+	protected ConcurrentLinkedQueue<MoveBlocker> moveBlockers;
+
+	/** The blocked cells, null when the blockers have changed. */
+	protected boolean[] blocked;
+
+	protected final Map<Integer, FlowField> flowFields;
+	protected final Map<Long, List<Point>> paths;
+
+	public PathFinderDefaultImpl(int nbColumns, int nbRows, int cellSize) {
+		this(nbColumns, nbRows, cellSize, DEFAULT_MAX_FLOW_FIELDS,
+				DEFAULT_MAX_PATHS);
+	}
+
+	/**
+	 * @param nbColumns the number of columns of the grid
+	 * @param nbRows the number of rows of the grid
+	 * @param cellSize the size (in pixels) of a cell
+	 * @param maxFlowFields the maximum number of flow fields kept in cache
+	 * @param maxPaths the maximum number of A* paths kept in cache
+	 */
+	public PathFinderDefaultImpl(int nbColumns, int nbRows, int cellSize,
+			final int maxFlowFields, final int maxPaths) {
+		this.nbColumns = nbColumns;
+		this.nbRows = nbRows;
+		this.cellSize = cellSize;
+		moveBlockers = new ConcurrentLinkedQueue<>();
+		flowFields = new LinkedHashMap<Integer, FlowField>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<Integer, FlowField> eldest) {
+				return size() > maxFlowFields;
+			}
+		};
+		paths = new LinkedHashMap<Long, List<Point>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<Long, List<Point>> eldest) {
+				return size() > maxPaths;
+			}
+		};
+	}
+
+	@Override
+	public synchronized void addMoveBlocker(MoveBlocker blocker) {
+		if (!blocker.isMovable()) {
+			moveBlockers.add(blocker);
+			invalidate();
+		}
+	}
+
+	@Override
+	public synchronized void removeMoveBlocker(MoveBlocker blocker) {
+		if (moveBlockers.remove(blocker)) {
+			invalidate();
+		}
+	}
+
+	/**
+	 * Drops the grid and all the cached results. They will be computed again
+	 * on the next request.
+	 */
+	protected void invalidate() {
+		blocked = null;
+		flowFields.clear();
+		paths.clear();
+	}
+
+	@Override
+	public int getCellSize() {
+		return cellSize;
+	}
+
+	@Override
+	public synchronized FlowField getFlowField(Point goal) {
+		int goalCell = getCell(goal);
+		if (goalCell < 0) {
+			return null;
+		}
+		FlowField flowField = flowFields.get(goalCell);
+		if (flowField == null) {
+			flowField = new FlowField(getBlockedCells(), nbColumns, nbRows,
+					cellSize, goalCell);
+			flowFields.put(goalCell, flowField);
+		}
+		return flowField;
+	}
+
+	@Override
+	public synchronized List<Point> findPath(Point start, Point goal) {
+		int startCell = getCell(start);
+		int goalCell = getCell(goal);
+		if (startCell < 0 || goalCell < 0) {
+			return Collections.emptyList();
+		}
+		Long key = ((long) startCell << 32) | goalCell;
+		List<Point> path = paths.get(key);
+		if (path == null) {
+			path = Collections.unmodifiableList(computePath(startCell,
+					goalCell));
+			paths.put(key, path);
+		}
+		return path;
+	}
+
+	/**
+	 * A* search on the grid, using the Manhattan distance as heuristic as
+	 * entities only move along the four axis directions.
+	 */
+	protected List<Point> computePath(int startCell, int goalCell) {
+		boolean[] blockedCells = getBlockedCells();
+		if (blockedCells[goalCell]) {
+			return new ArrayList<>();
+		}
+		int[] costs = new int[blockedCells.length];
+		int[] previous = new int[blockedCells.length];
+		boolean[] closed = new boolean[blockedCells.length];
+		Arrays.fill(costs, Integer.MAX_VALUE);
+		Arrays.fill(previous, -1);
+
+		// Open cells are packed as (estimated cost, cell) so that ties are
+		// broken on the cell index and the result is deterministic
+		PriorityQueue<Long> open = new PriorityQueue<>();
+		costs[startCell] = 0;
+		open.add(pack(heuristic(startCell, goalCell), startCell));
+		while (!open.isEmpty()) {
+			int cell = (int) (open.poll() & 0xFFFFFFFFL);
+			if (cell == goalCell) {
+				return buildPath(previous, goalCell);
+			}
+			if (closed[cell]) {
+				continue;
+			}
+			closed[cell] = true;
+			int column = cell % nbColumns;
+			int row = cell / nbColumns;
+			for (int d = 0; d < FlowField.DIRECTION_X.length; d++) {
+				int nextColumn = column + FlowField.DIRECTION_X[d];
+				int nextRow = row + FlowField.DIRECTION_Y[d];
+				if (nextColumn < 0 || nextRow < 0 || nextColumn >= nbColumns
+						|| nextRow >= nbRows) {
+					continue;
+				}
+				int next = nextRow * nbColumns + nextColumn;
+				int cost = costs[cell] + 1;
+				if (blockedCells[next] || closed[next] || cost >= costs[next]) {
+					continue;
+				}
+				costs[next] = cost;
+				previous[next] = cell;
+				open.add(pack(cost + heuristic(next, goalCell), next));
+			}
+		}
+		return new ArrayList<>();
+	}
+
+	protected List<Point> buildPath(int[] previous, int goalCell) {
+		List<Point> path = new ArrayList<>();
+		for (int cell = goalCell; cell >= 0; cell = previous[cell]) {
+			path.add(new Point((cell % nbColumns) * cellSize,
+					(cell / nbColumns) * cellSize));
+		}
+		Collections.reverse(path);
+		return path;
+	}
+
+	protected int heuristic(int cell, int goalCell) {
+		return Math.abs(cell % nbColumns - goalCell % nbColumns)
+				+ Math.abs(cell / nbColumns - goalCell / nbColumns);
+	}
+
+	private static long pack(int cost, int cell) {
+		return ((long) cost << 32) | cell;
+	}
+
+	/**
+	 * @return the blocked cells, computed again if the blockers have changed
+	 */
+	protected boolean[] getBlockedCells() {
+		if (blocked == null) {
+			blocked = new boolean[nbColumns * nbRows];
+			for (MoveBlocker moveBlocker : moveBlockers) {
+				markBlocked(moveBlocker.getBoundingBox());
+			}
+		}
+		return blocked;
+	}
+
+	protected void markBlocked(Rectangle box) {
+		if (box == null || box.isEmpty() || box.x + box.width <= 0
+				|| box.y + box.height <= 0) {
+			return;
+		}
+		int firstColumn = Math.max(0, box.x / cellSize);
+		int firstRow = Math.max(0, box.y / cellSize);
+		int lastColumn = Math.min(nbColumns - 1, (box.x + box.width - 1)
+				/ cellSize);
+		int lastRow = Math.min(nbRows - 1, (box.y + box.height - 1) / cellSize);
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				blocked[row * nbColumns + column] = true;
+			}
+		}
+	}
+
+	/**
+	 * @return the index of the cell containing the position, -1 if the
+	 *         position is outside of the grid
+	 */
+	protected int getCell(Point position) {
+		if (position.x < 0 || position.y < 0) {
+			return -1;
+		}
+		int column = position.x / cellSize;
+		int row = position.y / cellSize;
+		if (column >= nbColumns || row >= nbRows) {
+			return -1;
+		}
+		return row * nbColumns + column;
+	}
+}
@@ -2,6 +2,7 @@ package gameframework.particles;
 
 import java.awt.Color;
 import java.awt.Rectangle;
+import java.util.Random;
 
 import gameframework.particles.behaviors.ParticleBehavior;
 
@@ -13,6 +14,9 @@ import gameframework.particles.behaviors.ParticleBehavior;
  * There's no reason to instantiate it directly
  */
 public class Particle {
+	/** Shared by all the particles, so that it can be seeded for replays. */
+	protected static final Random random = new Random();
+
 	protected double x;
 	protected double y;
 	protected double velocityY;
@@ -40,11 +44,19 @@ public class Particle {
 		this.width = width;
 		this.height = height;
 		this.behavior = behavior;
-		this.randomness = Math.random();
+		this.randomness = random.nextDouble();
 		this.color = color;
 		this.id = id;
 	}
 	
+	/**
+	 * Seeds the random generator giving the randomness of the particles
+	 * @param seed Seed to use
+	 */
+	public static void setSeed(long seed) {
+		random.setSeed(seed);
+	}
+	
 	/**
 	 * Constructor
 	 * @param id Id of the particle relative to the group that the particle is part of
@@ -1,5 +1,7 @@
 package gameframework.particles;
 
+import gameframework.base.SceneChangeSource;
+import gameframework.base.SceneChangeTracker;
 import gameframework.game.GameEntity;
 import gameframework.particles.behaviors.ParticleBehavior;
 
@@ -13,9 +15,11 @@ import java.util.concurrent.ConcurrentLinkedQueue;
  * A game entity that can be added to a game universe
  * This entity can emit, draw and update an infinite number of particles
  */
-public class ParticleEmitter implements GameEntity {
+public class ParticleEmitter implements GameEntity, SceneChangeSource {
 	/* List containing every group of particles */
 	protected Queue<ParticleGroup> groups;
+	/* Tracker of the universe of the emitter, null if none */
+	protected SceneChangeTracker sceneChangeTracker;
 	
 	/**
 	 * Constructor
@@ -37,6 +41,21 @@ public class ParticleEmitter implements GameEntity {
 				groups.remove(group);
 			}
 		}
+		if (!groups.isEmpty()) {
+			// The particles are updated when they are drawn
+			markChanged();
+		}
+	}
+
+	@Override
+	public void setSceneChangeTracker(SceneChangeTracker tracker) {
+		sceneChangeTracker = tracker;
+	}
+
+	protected void markChanged() {
+		if (sceneChangeTracker != null) {
+			sceneChangeTracker.markChanged();
+		}
 	}
 	
 	/**
@@ -61,6 +80,7 @@ public class ParticleEmitter implements GameEntity {
 			group.addParticle(color, rectangle, behavior);
 		}
 		groups.add(group);
+		markChanged();
 	}
 
 	/**
@@ -0,0 +1,27 @@
+package gameframework.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+public class GridToolsTest {
+
+	@Test
+	public void floorDivRoundsTowardsNegativeInfinity() {
+		assertEquals(0, GridTools.floorDiv(0, 100));
+		assertEquals(0, GridTools.floorDiv(99, 100));
+		assertEquals(1, GridTools.floorDiv(100, 100));
+		assertEquals(-1, GridTools.floorDiv(-1, 100));
+		assertEquals(-1, GridTools.floorDiv(-100, 100));
+		assertEquals(-2, GridTools.floorDiv(-101, 100));
+	}
+
+	@Test
+	public void keysOfDifferentCellsDiffer() {
+		assertFalse(GridTools.key(1, 0) == GridTools.key(0, 1));
+		assertFalse(GridTools.key(0, -1) == GridTools.key(-1, 0));
+		assertFalse(GridTools.key(-1, -1) == GridTools.key(-1, 0));
+		assertEquals(GridTools.key(3, -7), GridTools.key(3, -7));
+	}
+}
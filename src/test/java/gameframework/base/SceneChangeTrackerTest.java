@@ -0,0 +1,128 @@
+package gameframework.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import gameframework.drawing.DrawableImage;
+import gameframework.drawing.GameCanvasDefaultImpl;
+import gameframework.drawing.SpriteEntity;
+import gameframework.drawing.SpriteManager;
+import gameframework.drawing.SpriteManagerDefaultImpl;
+import gameframework.game.GameConfiguration;
+import gameframework.game.GameData;
+import gameframework.game.ObservableGameUniverse;
+import gameframework.game.mocks.MockGameEntity;
+import gameframework.game.mocks.MockGameMovable;
+import gameframework.motion.SpeedVector;
+
+import java.awt.Point;
+
+import org.junit.Test;
+
+public class SceneChangeTrackerTest {
+
+	@Test
+	public void movesChangeTheScene() {
+		SceneChangeTracker tracker = new SceneChangeTracker();
+		MockGameMovable movable = new MockGameMovable();
+		movable.setSceneChangeTracker(tracker);
+		long version = tracker.getVersion();
+		movable.move(new SpeedVector(new Point(0, 0), 8));
+		assertEquals(version, tracker.getVersion());
+		assertFalse(tracker.isMoving());
+
+		movable.move(new SpeedVector(new Point(1, 0), 8));
+		assertTrue(tracker.getVersion() > version);
+		assertTrue(tracker.isMoving());
+
+		// Stopping changes where the movable is drawn between two ticks
+		tracker.startTick();
+		version = tracker.getVersion();
+		movable.move(new SpeedVector(new Point(0, 0), 8));
+		assertTrue(tracker.getVersion() > version);
+		assertFalse(tracker.isMoving());
+
+		tracker.startTick();
+		version = tracker.getVersion();
+		movable.move(new SpeedVector(new Point(0, 0), 8));
+		assertEquals(version, tracker.getVersion());
+	}
+
+	@Test
+	public void addingAndRemovingEntitiesChangeTheScene() {
+		ObservableGameUniverse universe = (ObservableGameUniverse) new GameData(
+				new GameConfiguration()).getUniverse();
+		SceneChangeTracker tracker = universe.getSceneChangeTracker();
+		MockGameEntity entity = new MockGameEntity();
+		long version = tracker.getVersion();
+		universe.addGameEntity(entity);
+		assertTrue(tracker.getVersion() > version);
+		version = tracker.getVersion();
+		universe.removeGameEntity(entity);
+		assertTrue(tracker.getVersion() > version);
+	}
+
+	@Test
+	public void gamesHaveTheirOwnTracker() {
+		GameData data = new GameData(new GameConfiguration());
+		GameData otherData = new GameData(new GameConfiguration());
+		MockGameMovable movable = new MockGameMovable();
+		data.getUniverse().addGameEntity(movable);
+		long otherVersion = otherData.getSceneChangeTracker().getVersion();
+		long version = data.getSceneChangeTracker().getVersion();
+		movable.move(new SpeedVector(new Point(1, 0), 8));
+		assertTrue(data.getSceneChangeTracker().getVersion() > version);
+		assertEquals(otherVersion, otherData.getSceneChangeTracker()
+				.getVersion());
+
+		// No longer tracked once removed
+		data.getUniverse().removeGameEntity(movable);
+		version = data.getSceneChangeTracker().getVersion();
+		movable.move(new SpeedVector(new Point(1, 0), 8));
+		assertEquals(version, data.getSceneChangeTracker().getVersion());
+	}
+
+	@Test
+	public void spriteChangesChangeTheScene() {
+		SceneChangeTracker tracker = new SceneChangeTracker();
+		SpriteManagerDefaultImpl spriteManager = new SpriteManagerDefaultImpl(
+				new DrawableImage("/courbes.png", new GameCanvasDefaultImpl()),
+				16, 6);
+		spriteManager.setSceneChangeTracker(tracker);
+		spriteManager.setTypes("left", "right");
+		long version = tracker.getVersion();
+		spriteManager.setType("left");
+		spriteManager.reset();
+		assertEquals(version, tracker.getVersion());
+		spriteManager.increment();
+		assertTrue(tracker.getVersion() > version);
+		version = tracker.getVersion();
+		spriteManager.setType("right");
+		assertTrue(tracker.getVersion() > version);
+	}
+
+	@Test
+	public void spriteManagersOfEntitiesAreTracked() {
+		GameData data = new GameData(new GameConfiguration());
+		final SpriteManagerDefaultImpl spriteManager = new SpriteManagerDefaultImpl(
+				new DrawableImage("/courbes.png", new GameCanvasDefaultImpl()),
+				16, 6);
+		spriteManager.setTypes("left", "right");
+		class SpriteMovable extends MockGameMovable implements SpriteEntity {
+			@Override
+			public SpriteManager getSpriteManager() {
+				return spriteManager;
+			}
+		}
+		SpriteMovable movable = new SpriteMovable();
+		data.getUniverse().addGameEntity(movable);
+		long version = data.getSceneChangeTracker().getVersion();
+		spriteManager.setType("right");
+		assertTrue(data.getSceneChangeTracker().getVersion() > version);
+
+		data.getUniverse().removeGameEntity(movable);
+		version = data.getSceneChangeTracker().getVersion();
+		spriteManager.setType("left");
+		assertEquals(version, data.getSceneChangeTracker().getVersion());
+	}
+}
@@ -0,0 +1,52 @@
+package gameframework.drawing;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class BackgroundImageCachedTest extends DrawableImageTest {
+
+	@Test
+	public void drawsCanvasSizedImageWithoutScaling() {
+		BackgroundImageCached background = new BackgroundImageCached(
+				"/courbes.png", canvas);
+		background.draw(graphics);
+		assertEquals(canvas.getWidth(), actualImg.getWidth(null));
+		assertEquals(canvas.getHeight(), actualImg.getHeight(null));
+	}
+
+	@Test
+	public void rendersOnlyWhenCanvasIsResized() {
+		BackgroundImageCached background = new BackgroundImageCached(
+				"/courbes.png", canvas);
+		background.draw(graphics);
+		Object first = actualImg;
+		background.draw(graphics);
+		assertSame(first, actualImg);
+
+		canvas.setBounds(0, 0, 100, 50);
+		background.draw(graphics);
+		assertNotSame(first, actualImg);
+		assertEquals(100, actualImg.getWidth(null));
+		assertEquals(50, actualImg.getHeight(null));
+	}
+
+	@Test
+	public void tiledBackgroundRepeatsImage() {
+		BackgroundImageCached background = new BackgroundImageCached(
+				"/courbes.png", canvas);
+		background.setTiled(true);
+		background.draw(graphics);
+		BufferedImage tile = (BufferedImage) background.getImage();
+		BufferedImage rendered = (BufferedImage) actualImg;
+		for (int x = 0; x < canvas.getWidth(); x += 7) {
+			assertEquals(tile.getRGB(x, 10), rendered.getRGB(x, 10));
+			assertEquals(tile.getRGB(x, 10),
+					rendered.getRGB(x, 10 + tile.getHeight()));
+		}
+	}
+}
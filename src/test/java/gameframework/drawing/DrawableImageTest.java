@@ -75,4 +75,13 @@ public class DrawableImageTest {
 		assertEquals(60, drawableImage.getHeight());
 	}
 
+	@Test
+	public void volatileImageIsDrawn() throws Exception {
+		DrawableImage drawableImage = new DrawableImage("/courbes.png", canvas);
+		drawableImage.setUseVolatileImage(true);
+		drawableImage.draw(graphics);
+		assertNotNull(actualImg);
+		assertEquals(300, actualImg.getWidth(null));
+	}
+
 }
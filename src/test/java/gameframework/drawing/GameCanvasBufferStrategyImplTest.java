@@ -0,0 +1,36 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.assertFalse;
+
+import java.awt.Graphics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import gameframework.drawing.mocks.KeyListenerMock;
+
+public class GameCanvasBufferStrategyImplTest extends GameCanvasDefaultImplTest {
+
+	boolean drawn;
+
+	@Override
+	@Before
+	public void init() {
+		gameCanvas  = new GameCanvasBufferStrategyImpl();
+		keyListener = new KeyListenerMock();
+		drawn = false;
+	}
+
+	@Test
+	public void noRenderingBeforeBeingDisplayed() {
+		boolean rendered = ((GameCanvasBufferStrategyImpl) gameCanvas)
+				.render(new Drawable() {
+					@Override
+					public void draw(Graphics g) {
+						drawn = true;
+					}
+				});
+		assertFalse(rendered);
+		assertFalse(drawn);
+	}
+}
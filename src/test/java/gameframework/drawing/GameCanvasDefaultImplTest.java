@@ -2,7 +2,10 @@ package gameframework.drawing;
 
 import static org.junit.Assert.*;
 
+import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.event.KeyListener;
+import java.awt.image.ImageObserver;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -42,4 +45,45 @@ public class GameCanvasDefaultImplTest {
 		assertEquals(expected, gameCanvas.getKeyListeners().length);
 	}
 
+	@Test
+	public void renderingSizeIsIndependentOfCanvasSize() {
+		gameCanvas.setRenderingSize(320, 240);
+		gameCanvas.setSize(960, 720);
+		assertEquals(320, gameCanvas.getWidth());
+		assertEquals(240, gameCanvas.getHeight());
+		Image buffer = gameCanvas.createBuffer();
+		assertEquals(320, buffer.getWidth(null));
+		assertEquals(240, buffer.getHeight(null));
+
+		final Rectangle drawn = new Rectangle();
+		gameCanvas.drawFullSizeImage(new MockGraphics() {
+			@Override
+			public boolean drawImage(Image img, int x, int y, int width,
+					int height, ImageObserver observer) {
+				drawn.setBounds(x, y, width, height);
+				return false;
+			}
+		}, buffer);
+		assertEquals(new Rectangle(0, 0, 320, 240), drawn);
+	}
+
+	@Test
+	public void regionsAreScaledToCanvas() {
+		gameCanvas.setSize(200, 100);
+		Rectangle region = new Rectangle(10, 20, 30, 40);
+		assertEquals(region, gameCanvas.toCanvasRegion(region));
+		gameCanvas.setRenderingSize(100, 50);
+		assertEquals(new Rectangle(20, 40, 60, 80),
+				gameCanvas.toCanvasRegion(region));
+	}
+
+	@Test
+	public void rasterRenderingCreatesRasterBuffers() {
+		gameCanvas.setRasterRendering(true);
+		gameCanvas.setRenderingSize(32, 16);
+		Image buffer = gameCanvas.createBuffer();
+		assertTrue(buffer instanceof RasterImage);
+		assertEquals(32, buffer.getWidth(null));
+		assertTrue(buffer.getGraphics() instanceof RasterGraphics);
+	}
 }
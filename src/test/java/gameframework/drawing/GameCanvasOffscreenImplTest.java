@@ -0,0 +1,133 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameCanvasOffscreenImplTest {
+
+	protected GameCanvasOffscreenImpl gameCanvas;
+
+	@Before
+	public void init() {
+		gameCanvas = new GameCanvasOffscreenImpl(40, 30, 4);
+	}
+
+	@After
+	public void shutdown() {
+		gameCanvas.shutdown();
+	}
+
+	@Test
+	public void framesAreRenderedInTheImage() {
+		assertTrue(gameCanvas.render(new Drawable() {
+			@Override
+			public void draw(Graphics g) {
+				g.setColor(Color.RED);
+				g.fillRect(0, 0, 40, 30);
+			}
+		}));
+		BufferedImage image = gameCanvas.getImage();
+		assertEquals(40, image.getWidth());
+		assertEquals(30, image.getHeight());
+		assertEquals(Color.RED.getRGB(), image.getRGB(0, 0));
+		assertEquals(Color.RED.getRGB(), image.getRGB(39, 29));
+	}
+
+	@Test
+	public void concurrentFramesAreDrawnOncePerBand() {
+		final List<Integer> bandTops = new ArrayList<>();
+		final int[] nbDrawsAfterBands = { 0 };
+		gameCanvas.render(new ConcurrentDrawable() {
+			@Override
+			public void draw(Graphics g) {
+				fail("Drawn in bands");
+			}
+
+			@Override
+			public void drawBand(Graphics g) {
+				synchronized (bandTops) {
+					bandTops.add(g.getClipBounds().y);
+				}
+				g.setColor(Color.BLUE);
+				g.fillRect(0, 0, 40, 30);
+			}
+
+			@Override
+			public void drawAfterBands(Graphics g) {
+				assertEquals(4, bandTops.size());
+				nbDrawsAfterBands[0]++;
+			}
+		});
+		assertEquals(4, bandTops.size());
+		assertEquals(1, nbDrawsAfterBands[0]);
+		BufferedImage image = gameCanvas.getImage();
+		for (int y = 0; y < 30; y++) {
+			assertEquals(Color.BLUE.getRGB(), image.getRGB(20, y));
+		}
+	}
+
+	@Test
+	public void unscaledFramesAreDrawnDirectlyInTheImage() {
+		final BufferedImage image = gameCanvas.getImage();
+		gameCanvas.render(new Drawable() {
+			@Override
+			public void draw(Graphics g) {
+				// Not split into bands
+				assertNull(g.getClipBounds());
+			}
+		});
+		assertSame(image, gameCanvas.getImage());
+		assertNull(gameCanvas.frameBuffer);
+	}
+
+	@Test
+	public void framesAreScaledFromTheRenderingSize() {
+		gameCanvas.setRenderingSize(20, 15);
+		assertEquals(20, gameCanvas.getWidth());
+		gameCanvas.render(new Drawable() {
+			@Override
+			public void draw(Graphics g) {
+				g.setColor(Color.GREEN);
+				g.fillRect(0, 0, 10, 15);
+			}
+		});
+		BufferedImage image = gameCanvas.getImage();
+		assertEquals(40, image.getWidth());
+		assertEquals(Color.GREEN.getRGB(), image.getRGB(19, 29));
+		assertEquals(Color.BLACK.getRGB(), image.getRGB(20, 0));
+	}
+
+	@Test
+	public void sinksReceiveEachFrame() {
+		final List<Integer> frameNumbers = new ArrayList<>();
+		gameCanvas.addFrameSink(new FrameSink() {
+			@Override
+			public void frameRendered(BufferedImage frame, int frameNumber) {
+				assertSame(gameCanvas.getImage(), frame);
+				frameNumbers.add(frameNumber);
+			}
+		});
+		gameCanvas.drawFullSizeImage(gameCanvas.createBuffer());
+		gameCanvas.frameDone();
+		// Regions of the same frame
+		gameCanvas.drawImageRegion(gameCanvas.createBuffer(), new Rectangle(
+				0, 0, 10, 10));
+		gameCanvas.drawImageRegion(gameCanvas.createBuffer(), new Rectangle(
+				10, 10, 10, 10));
+		assertEquals(1, frameNumbers.size());
+		gameCanvas.frameDone();
+		assertEquals(2, frameNumbers.size());
+		assertEquals(Integer.valueOf(1), frameNumbers.get(1));
+		assertEquals(2, gameCanvas.getNbFrames());
+	}
+}
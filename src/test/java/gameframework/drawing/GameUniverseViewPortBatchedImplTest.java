@@ -0,0 +1,85 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.assertEquals;
+import gameframework.game.GameConfiguration;
+import gameframework.game.GameData;
+import gameframework.game.GameEntity;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class GameUniverseViewPortBatchedImplTest {
+
+	List<String> drawn = new ArrayList<>();
+
+	class Entity implements GameEntity, Layered, AtlasDrawable {
+		final String name;
+		final int layer, page;
+
+		Entity(String name, int layer, int page) {
+			this.name = name;
+			this.layer = layer;
+			this.page = page;
+		}
+
+		@Override
+		public void draw(Graphics g) {
+			drawn.add(name);
+		}
+
+		@Override
+		public boolean isMovable() {
+			return false;
+		}
+
+		@Override
+		public int getLayer() {
+			return layer;
+		}
+
+		@Override
+		public int getZIndex() {
+			return 0;
+		}
+
+		@Override
+		public void addLayerChangeListener(LayerChangeListener listener) {
+		}
+
+		@Override
+		public void removeLayerChangeListener(LayerChangeListener listener) {
+		}
+
+		@Override
+		public int getAtlasPage() {
+			return page;
+		}
+	}
+
+	@Test
+	public void entitiesAreDrawnByLayerThenPage() {
+		GameData data = new GameData(new GameConfiguration());
+		data.getCanvas().setBounds(0, 0, 100, 100);
+		GameUniverseViewPortBatchedImpl viewPort = new GameUniverseViewPortBatchedImpl(
+				data);
+		data.getUniverse().addGameEntity(new Entity("player", 1, 0));
+		data.getUniverse().addGameEntity(new Entity("wall1", 0, 1));
+		data.getUniverse().addGameEntity(new Entity("pellet1", 0, 0));
+		data.getUniverse().addGameEntity(new Entity("wall2", 0, 1));
+		data.getUniverse().addGameEntity(new Entity("pellet2", 0, 0));
+		data.getUniverse().addGameEntity(new Entity("ghost", 1, 0));
+
+		Graphics2D graphics = new BufferedImage(100, 100,
+				BufferedImage.TYPE_INT_ARGB).createGraphics();
+		viewPort.drawFrame(graphics);
+		graphics.dispose();
+		assertEquals(Arrays.asList("pellet1", "pellet2", "wall1", "wall2",
+				"player", "ghost"), drawn);
+	}
+}
@@ -0,0 +1,157 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import gameframework.base.ObjectWithBoundedBox;
+import gameframework.game.GameConfiguration;
+import gameframework.game.GameData;
+import gameframework.game.GameEntity;
+import gameframework.game.mocks.MockGameMovable;
+import gameframework.motion.SpeedVector;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameUniverseViewPortCameraImplTest {
+
+	GameData data;
+	GameUniverseViewPortCameraImpl viewPort;
+	BufferedImage screen;
+
+	@Before
+	public void createViewPort() {
+		data = new GameData(new GameConfiguration());
+		data.getCanvas().setBounds(0, 0, 100, 100);
+		viewPort = new GameUniverseViewPortCameraImpl(50, 16);
+		viewPort.setGameData(data);
+		screen = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+	}
+
+	void paint() {
+		Graphics2D graphics = screen.createGraphics();
+		try {
+			viewPort.drawFrame(graphics);
+		} finally {
+			graphics.dispose();
+		}
+	}
+
+	@Test
+	public void cameraFollowsTargetInsideWorld() {
+		MockGameMovable player = new MockGameMovable();
+		player.setPosition(new Point(300, 20));
+		viewPort.setWorldBounds(new Rectangle(0, 0, 1000, 1000));
+		viewPort.follow(player);
+		paint();
+		assertEquals(new Rectangle(250, 0, 100, 100),
+				viewPort.getVisibleRegion());
+	}
+
+	@Test
+	public void cameraFollowsInterpolatedTarget() {
+		MockGameMovable player = new MockGameMovable();
+		player.setPosition(new Point(300, 300));
+		player.move(new SpeedVector(new Point(1, 0), 8));
+		viewPort.follow(player);
+		viewPort.interpolation = 0.5;
+		paint();
+		assertEquals(new Rectangle(254, 250, 100, 100),
+				viewPort.getVisibleRegion());
+	}
+
+	@Test
+	public void tilesAreDrawnOnceAtCameraOffset() {
+		Tile tile = new Tile(220, 230);
+		data.getUniverse().addGameEntity(tile);
+		viewPort.setCameraPosition(200, 200);
+		paint();
+		paint();
+		assertEquals(1, tile.nbDraws);
+		assertEquals(0xFFFFFFFF, screen.getRGB(25, 35));
+		assertEquals(0xFF000000, screen.getRGB(15, 35));
+
+		viewPort.setCameraPosition(210, 200);
+		paint();
+		assertEquals(1, tile.nbDraws);
+		assertEquals(0xFFFFFFFF, screen.getRGB(15, 35));
+	}
+
+	@Test
+	public void chunksAreDrawnAgainWhenTilesChange() {
+		Tile tile = new Tile(20, 20);
+		Tile farTile = new Tile(70, 20);
+		data.getUniverse().addGameEntity(tile);
+		data.getUniverse().addGameEntity(farTile);
+		paint();
+		data.getUniverse().addGameEntity(new Tile(30, 30));
+		paint();
+		assertEquals(2, tile.nbDraws);
+		assertEquals(1, farTile.nbDraws);
+	}
+
+	@Test
+	public void cacheIsBounded() {
+		Tile tile = new Tile(20, 20);
+		data.getUniverse().addGameEntity(tile);
+		for (int x = 0; x < 2000; x += 100) {
+			viewPort.setCameraPosition(x, 0);
+			paint();
+		}
+		assertTrue(viewPort.chunks.size() <= 16);
+		viewPort.setCameraPosition(0, 0);
+		paint();
+		assertEquals(2, tile.nbDraws);
+	}
+
+	@Test
+	public void movablesAreDrawnInWorldCoordinates() {
+		final Point[] drawnAt = { null };
+		MockGameMovable movable = new MockGameMovable() {
+			@Override
+			public void draw(Graphics g) {
+				Rectangle clip = g.getClipBounds();
+				drawnAt[0] = clip == null ? null : clip.getLocation();
+			}
+		};
+		movable.setPosition(new Point(530, 40));
+		data.getUniverse().addGameEntity(movable);
+		viewPort.setCameraPosition(500, 0);
+		Graphics2D graphics = screen.createGraphics();
+		graphics.setClip(0, 0, 100, 100);
+		viewPort.drawFrame(graphics);
+		graphics.dispose();
+		assertEquals(new Point(500, 0), drawnAt[0]);
+	}
+
+	static class Tile implements GameEntity, ObjectWithBoundedBox {
+		final Point position;
+		int nbDraws = 0;
+
+		Tile(int x, int y) {
+			position = new Point(x, y);
+		}
+
+		@Override
+		public void draw(Graphics g) {
+			nbDraws++;
+			g.setColor(java.awt.Color.WHITE);
+			g.fillRect(position.x, position.y, 10, 10);
+		}
+
+		@Override
+		public boolean isMovable() {
+			return false;
+		}
+
+		@Override
+		public Rectangle getBoundingBox() {
+			return new Rectangle(position.x, position.y, 10, 10);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.assertEquals;
+import gameframework.game.GameConfiguration;
+import gameframework.game.GameData;
+import gameframework.game.mocks.MockGameEntity;
+import gameframework.game.mocks.MockGameMovable;
+
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameUniverseViewPortConcurrentImplTest {
+
+	final List<String> drawn = Collections
+			.synchronizedList(new ArrayList<String>());
+	GameCanvasOffscreenImpl canvas;
+	GameData data;
+	int nbFrames = 0;
+
+	MockGameMovable createMovable(final String name, int x, int y) {
+		MockGameMovable movable = new MockGameMovable() {
+			@Override
+			public void draw(Graphics g) {
+				drawn.add(name);
+			}
+		};
+		movable.setPosition(new Point(x, y));
+		data.getUniverse().addGameEntity(movable);
+		return movable;
+	}
+
+	@Before
+	public void createData() {
+		canvas = new GameCanvasOffscreenImpl(100, 100, 4);
+		canvas.addFrameSink(new FrameSink() {
+			@Override
+			public void frameRendered(BufferedImage frame, int frameNumber) {
+				nbFrames++;
+			}
+		});
+		data = new GameData(new GameConfiguration() {
+			@Override
+			public GameCanvas createCanvas() {
+				return canvas;
+			}
+		});
+	}
+
+	@After
+	public void shutdown() {
+		canvas.shutdown();
+	}
+
+	@Test
+	public void eachBandDrawsItsEntities() {
+		GameUniverseViewPortConcurrentImpl viewPort = new GameUniverseViewPortConcurrentImpl(
+				data);
+		createMovable("top", 50, 5);
+		createMovable("bottom", 50, 80);
+		// Over the second and the third bands
+		createMovable("middle", 20, 45);
+		viewPort.paint();
+		Collections.sort(drawn);
+		assertEquals(Arrays.asList("bottom", "middle", "middle",
+				"top"), drawn);
+		assertEquals(1, nbFrames);
+	}
+
+	@Test
+	public void interpolatedFramesAreDrawnOnce() {
+		GameUniverseViewPortConcurrentImpl viewPort = new GameUniverseViewPortConcurrentImpl(
+				data);
+		createMovable("middle", 20, 45);
+		viewPort.paint(0.5);
+		assertEquals(Collections.singletonList("middle"), drawn);
+		assertEquals(1, nbFrames);
+	}
+
+	@Test
+	public void unboundedEntitiesAreDrawnOnceByTheCallingThread() {
+		GameUniverseViewPortConcurrentImpl viewPort = new GameUniverseViewPortConcurrentImpl(
+				data);
+		final List<Thread> threads = new ArrayList<>();
+		data.getUniverse().addGameEntity(new MockGameEntity() {
+			@Override
+			public void draw(Graphics g) {
+				threads.add(Thread.currentThread());
+			}
+		});
+		createMovable("middle", 20, 45);
+		viewPort.paint();
+		assertEquals(Collections.singletonList(Thread.currentThread()),
+				threads);
+		assertEquals(Arrays.asList("middle", "middle"), drawn);
+	}
+}
@@ -0,0 +1,147 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.assertEquals;
+import gameframework.game.GameConfiguration;
+import gameframework.game.GameData;
+import gameframework.game.GameUniverse;
+import gameframework.game.GameUniverseRegionImpl;
+import gameframework.game.mocks.MockGameMovable;
+import gameframework.motion.SpeedVector;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+public class GameUniverseViewPortDefaultImplTest {
+
+	int nbDraws = 0;
+
+	MockGameMovable createMovable(int x, int y) {
+		MockGameMovable movable = new MockGameMovable() {
+			@Override
+			public void draw(Graphics g) {
+				nbDraws++;
+			}
+		};
+		movable.setPosition(new Point(x, y));
+		return movable;
+	}
+
+	void paint(GameUniverseViewPortDefaultImpl viewPort) {
+		Graphics2D graphics = new BufferedImage(100, 100,
+				BufferedImage.TYPE_INT_ARGB).createGraphics();
+		try {
+			viewPort.drawFrame(graphics);
+		} finally {
+			graphics.dispose();
+		}
+	}
+
+	void checkCulling(GameData data) {
+		data.getCanvas().setBounds(0, 0, 100, 100);
+		GameUniverseViewPortDefaultImpl viewPort = new GameUniverseViewPortDefaultImpl(
+				data);
+		assertEquals(new Rectangle(0, 0, 100, 100),
+				viewPort.getVisibleRegion());
+		data.getUniverse().addGameEntity(createMovable(50, 50));
+		data.getUniverse().addGameEntity(createMovable(95, -5));
+		data.getUniverse().addGameEntity(createMovable(500, 50));
+		data.getUniverse().addGameEntity(createMovable(-20, 50));
+		paint(viewPort);
+		assertEquals(2, nbDraws);
+	}
+
+	@Test
+	public void entitiesOutsideVisibleRegionAreNotDrawn() {
+		checkCulling(new GameData(new GameConfiguration()));
+	}
+
+	@Test
+	public void spatialUniverseIsQueried() {
+		checkCulling(new GameData(new GameConfiguration() {
+			@Override
+			public GameUniverse createUniverse(GameData gameData) {
+				return new GameUniverseRegionImpl(gameData, 40, 1);
+			}
+		}));
+	}
+
+	@Test
+	public void movablesAreDrawnAtInterpolatedPosition() {
+		GameData data = new GameData(new GameConfiguration());
+		data.getCanvas().setBounds(0, 0, 100, 100);
+		final Point[] drawnAt = { null };
+		MockGameMovable movable = new MockGameMovable() {
+			@Override
+			public void draw(Graphics g) {
+				drawnAt[0] = new Point(getPosition());
+			}
+		};
+		movable.setPosition(new Point(10, 10));
+		movable.move(new SpeedVector(new Point(1, 0), 8));
+		data.getUniverse().addGameEntity(movable);
+		GameUniverseViewPortDefaultImpl viewPort = new GameUniverseViewPortDefaultImpl(
+				data) {
+			@Override
+			public void paint() {
+				GameUniverseViewPortDefaultImplTest.this.paint(this);
+			}
+		};
+		viewPort.paint(0.5);
+		assertEquals(new Point(14, 10), drawnAt[0]);
+		assertEquals(new Point(18, 10), movable.getPosition());
+		viewPort.paint();
+		assertEquals(new Point(18, 10), drawnAt[0]);
+	}
+
+	@Test
+	public void unchangedSceneIsNotPaintedOnDemand() {
+		GameData data = new GameData(new GameConfiguration());
+		data.getCanvas().setBounds(0, 0, 100, 100);
+		final int[] nbFrames = { 0 };
+		GameUniverseViewPortDefaultImpl viewPort = new GameUniverseViewPortDefaultImpl(
+				data) {
+			@Override
+			protected Graphics getBufferGraphics() {
+				return new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB)
+						.getGraphics();
+			}
+
+			@Override
+			protected void drawFrame(Graphics graphics) {
+				nbFrames[0]++;
+			}
+
+			@Override
+			public void refresh() {
+			}
+		};
+		MockGameMovable movable = createMovable(10, 10);
+		data.getUniverse().addGameEntity(movable);
+		viewPort.setRenderOnDemand(true);
+		viewPort.paint();
+		viewPort.paint();
+		assertEquals(1, nbFrames[0]);
+
+		movable.move(new SpeedVector(new Point(1, 0), 8));
+		viewPort.paint();
+		viewPort.paint();
+		assertEquals(2, nbFrames[0]);
+
+		viewPort.paint(0.5);
+		assertEquals(3, nbFrames[0]);
+
+		// Nothing moved in the last tick: interpolating draws the same scene
+		data.getSceneChangeTracker().startTick();
+		viewPort.paint(0.75);
+		assertEquals(3, nbFrames[0]);
+
+		viewPort.setRenderOnDemand(false);
+		viewPort.paint();
+		assertEquals(4, nbFrames[0]);
+	}
+}
@@ -0,0 +1,121 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.assertEquals;
+import gameframework.game.GameConfiguration;
+import gameframework.game.GameData;
+import gameframework.game.mocks.MockGameMovable;
+
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameUniverseViewPortDirtyRectImplTest {
+
+	GameData data;
+	GameUniverseViewPortDirtyRectImpl viewPort;
+	List<Rectangle> shownRegions = new ArrayList<>();
+
+	@Before
+	public void createViewPort() {
+		data = new GameData(new GameConfiguration() {
+			@Override
+			public GameCanvas createCanvas() {
+				return new GameCanvasDefaultImpl() {
+					@Override
+					public void drawImageRegion(Image image, Rectangle region) {
+						shownRegions.add(new Rectangle(region));
+					}
+				};
+			}
+		});
+		data.getCanvas().setBounds(0, 0, 100, 100);
+		viewPort = new GameUniverseViewPortDirtyRectImpl(data);
+	}
+
+	@Test
+	public void firstFrameIsShownWhole() {
+		viewPort.paint();
+		assertEquals(Arrays.asList(new Rectangle(0, 0, 100, 100)),
+				shownRegions);
+	}
+
+	@Test
+	public void onlyChangedMovablesAreShownAgain() {
+		MockGameMovable movable = new MockGameMovable();
+		movable.setPosition(new Point(10, 20));
+		data.getUniverse().addGameEntity(movable);
+		viewPort.paint();
+		shownRegions.clear();
+
+		viewPort.paint();
+		assertEquals(Collections.<Rectangle> emptyList(), shownRegions);
+
+		data.getSceneChangeTracker().markChanged(movable);
+		viewPort.paint();
+		assertEquals(Arrays.asList(new Rectangle(10, 20, 10, 10)),
+				shownRegions);
+	}
+
+	@Test
+	public void spriteChangesShowTheMovableAgain() {
+		final SpriteManagerDefaultImpl spriteManager = new SpriteManagerDefaultImpl(
+				new DrawableImage("/courbes.png", data.getCanvas()), 16, 6);
+		spriteManager.setTypes("left", "right");
+		class SpriteMovable extends MockGameMovable implements SpriteEntity {
+			@Override
+			public SpriteManager getSpriteManager() {
+				return spriteManager;
+			}
+		}
+		SpriteMovable movable = new SpriteMovable();
+		movable.setPosition(new Point(10, 20));
+		data.getUniverse().addGameEntity(movable);
+		viewPort.paint();
+		shownRegions.clear();
+
+		spriteManager.setType("right");
+		viewPort.paint();
+		assertEquals(Arrays.asList(new Rectangle(10, 20, 10, 10)),
+				shownRegions);
+	}
+
+	@Test
+	public void previousAndCurrentBoundsAreMerged() {
+		MockGameMovable movable = new MockGameMovable();
+		movable.setPosition(new Point(10, 20));
+		data.getUniverse().addGameEntity(movable);
+		viewPort.paint();
+		shownRegions.clear();
+
+		movable.getPosition().translate(4, 0);
+		viewPort.paint();
+		assertEquals(Arrays.asList(new Rectangle(10, 20, 14, 10)),
+				shownRegions);
+
+		shownRegions.clear();
+		movable.getPosition().translate(50, 0);
+		viewPort.paint();
+		assertEquals(2, shownRegions.size());
+	}
+
+	@Test
+	public void removedMovableIsErased() {
+		MockGameMovable movable = new MockGameMovable();
+		movable.setPosition(new Point(10, 20));
+		data.getUniverse().addGameEntity(movable);
+		viewPort.paint();
+		shownRegions.clear();
+
+		data.getUniverse().removeGameEntity(movable);
+		viewPort.paint();
+		assertEquals(Arrays.asList(new Rectangle(10, 20, 10, 10)),
+				shownRegions);
+	}
+}
@@ -0,0 +1,121 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.assertEquals;
+import gameframework.base.ObjectWithBoundedBox;
+import gameframework.game.GameConfiguration;
+import gameframework.game.GameData;
+import gameframework.game.GameEntity;
+import gameframework.game.mocks.MockGameMovable;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameUniverseViewPortLayeredImplTest {
+
+	GameData data;
+	GameUniverseViewPortLayeredImpl viewPort;
+	BufferedImage screen;
+
+	@Before
+	public void createViewPort() {
+		data = new GameData(new GameConfiguration());
+		data.getCanvas().setBounds(0, 0, 100, 100);
+		viewPort = new GameUniverseViewPortLayeredImpl(data);
+		screen = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+	}
+
+	void paint() {
+		Graphics2D graphics = screen.createGraphics();
+		try {
+			viewPort.drawFrame(graphics);
+		} finally {
+			graphics.dispose();
+		}
+	}
+
+	@Test
+	public void staticEntitiesAreDrawnOnce() {
+		CountingEntity wall = new CountingEntity(10, 10);
+		data.getUniverse().addGameEntity(wall);
+		paint();
+		paint();
+		paint();
+		assertEquals(1, wall.nbDraws);
+	}
+
+	@Test
+	public void movableEntitiesAreDrawnEachFrame() {
+		final int[] nbDraws = { 0 };
+		data.getUniverse().addGameEntity(new MockGameMovable() {
+			@Override
+			public void draw(Graphics g) {
+				nbDraws[0]++;
+			}
+		});
+		paint();
+		paint();
+		assertEquals(2, nbDraws[0]);
+	}
+
+	@Test
+	public void onlyDirtyRegionsAreDrawnAgain() {
+		CountingEntity wall = new CountingEntity(10, 10);
+		CountingEntity neighbour = new CountingEntity(15, 10);
+		data.getUniverse().addGameEntity(wall);
+		data.getUniverse().addGameEntity(neighbour);
+		paint();
+
+		CountingEntity pellet = new CountingEntity(60, 60);
+		data.getUniverse().addGameEntity(pellet);
+		paint();
+		assertEquals(1, wall.nbDraws);
+		assertEquals(1, pellet.nbDraws);
+
+		data.getUniverse().removeGameEntity(wall);
+		paint();
+		assertEquals(2, neighbour.nbDraws);
+		assertEquals(1, pellet.nbDraws);
+		assertEquals(0, screen.getRGB(12, 12) & 0xFFFFFF);
+	}
+
+	@Test
+	public void resizeDrawsWholeLayer() {
+		CountingEntity wall = new CountingEntity(10, 10);
+		data.getUniverse().addGameEntity(wall);
+		paint();
+		data.getCanvas().setBounds(0, 0, 80, 80);
+		paint();
+		assertEquals(2, wall.nbDraws);
+	}
+
+	static class CountingEntity implements GameEntity, ObjectWithBoundedBox {
+		final Point position;
+		int nbDraws = 0;
+
+		CountingEntity(int x, int y) {
+			position = new Point(x, y);
+		}
+
+		@Override
+		public void draw(Graphics g) {
+			nbDraws++;
+			g.fillRect(position.x, position.y, 10, 10);
+		}
+
+		@Override
+		public boolean isMovable() {
+			return false;
+		}
+
+		@Override
+		public Rectangle getBoundingBox() {
+			return new Rectangle(position.x, position.y, 10, 10);
+		}
+	}
+}
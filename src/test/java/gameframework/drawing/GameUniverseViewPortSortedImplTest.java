@@ -0,0 +1,168 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.assertEquals;
+import gameframework.base.ObjectWithBoundedBox;
+import gameframework.game.GameConfiguration;
+import gameframework.game.GameData;
+import gameframework.game.GameEntity;
+import gameframework.game.GameUniverse;
+import gameframework.game.GameUniverseRegionImpl;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameUniverseViewPortSortedImplTest {
+
+	List<String> drawn = new ArrayList<>();
+	GameData data;
+	GameUniverseViewPortSortedImpl viewPort;
+
+	class Entity implements GameEntity, Layered {
+		final String name;
+		final LayerSupport layerSupport;
+
+		Entity(String name, int layer, int zIndex) {
+			this.name = name;
+			layerSupport = new LayerSupport(this, layer, zIndex);
+		}
+
+		@Override
+		public void draw(Graphics g) {
+			drawn.add(name);
+		}
+
+		@Override
+		public boolean isMovable() {
+			return false;
+		}
+
+		@Override
+		public int getLayer() {
+			return layerSupport.getLayer();
+		}
+
+		@Override
+		public int getZIndex() {
+			return layerSupport.getZIndex();
+		}
+
+		@Override
+		public void addLayerChangeListener(LayerChangeListener listener) {
+			layerSupport.addLayerChangeListener(listener);
+		}
+
+		@Override
+		public void removeLayerChangeListener(LayerChangeListener listener) {
+			layerSupport.removeLayerChangeListener(listener);
+		}
+	}
+
+	class BoundedEntity extends Entity implements ObjectWithBoundedBox {
+		final Rectangle box;
+
+		BoundedEntity(String name, int layer, int x, int y) {
+			super(name, layer, 0);
+			box = new Rectangle(x, y, 10, 10);
+		}
+
+		@Override
+		public Rectangle getBoundingBox() {
+			return box;
+		}
+	}
+
+	@Before
+	public void createViewPort() {
+		data = new GameData(new GameConfiguration());
+		data.getCanvas().setBounds(0, 0, 100, 100);
+	}
+
+	protected List<String> drawFrame() {
+		drawn.clear();
+		Graphics2D graphics = new BufferedImage(100, 100,
+				BufferedImage.TYPE_INT_ARGB).createGraphics();
+		viewPort.drawFrame(graphics);
+		graphics.dispose();
+		return drawn;
+	}
+
+	@Test
+	public void entitiesAreDrawnByLayerThenZIndex() {
+		data.getUniverse().addGameEntity(new Entity("existing", 1, 0));
+		viewPort = new GameUniverseViewPortSortedImpl(data);
+		data.getUniverse().addGameEntity(new Entity("hud", 2, 0));
+		data.getUniverse().addGameEntity(new Entity("shadow", 1, -1));
+		data.getUniverse().addGameEntity(new Entity("floor", 0, 0));
+		data.getUniverse().addGameEntity(new Entity("player", 1, 0));
+		assertEquals(Arrays.asList("floor", "shadow", "existing", "player",
+				"hud"), drawFrame());
+	}
+
+	@Test
+	public void renderListFollowsLayerChanges() {
+		viewPort = new GameUniverseViewPortSortedImpl(data);
+		Entity bird = new Entity("bird", 0, 0);
+		Entity tree = new Entity("tree", 1, 0);
+		data.getUniverse().addGameEntity(bird);
+		data.getUniverse().addGameEntity(tree);
+		assertEquals(Arrays.asList("bird", "tree"), drawFrame());
+
+		bird.layerSupport.setLayer(2);
+		assertEquals(Arrays.asList("tree", "bird"), drawFrame());
+		tree.layerSupport.setZIndex(5);
+		bird.layerSupport.setLayer(1);
+		assertEquals(Arrays.asList("bird", "tree"), drawFrame());
+
+		data.getUniverse().removeGameEntity(bird);
+		assertEquals(Arrays.asList("tree"), drawFrame());
+		// No longer listened to
+		bird.layerSupport.setLayer(3);
+		assertEquals(0, bird.layerSupport.listeners.size());
+		assertEquals(Arrays.asList("tree"), drawFrame());
+	}
+
+	@Test
+	public void spatialUniverseOnlyDrawsVisibleEntities() {
+		data = new GameData(new GameConfiguration() {
+			@Override
+			public GameUniverse createUniverse(GameData gameData) {
+				return new GameUniverseRegionImpl(gameData, 100, 1);
+			}
+		});
+		data.getCanvas().setBounds(0, 0, 100, 100);
+		viewPort = new GameUniverseViewPortSortedImpl(data);
+		data.getUniverse().addGameEntity(new BoundedEntity("front", 2, 10, 10));
+		data.getUniverse().addGameEntity(new BoundedEntity("far", 0, 500, 500));
+		data.getUniverse().addGameEntity(new BoundedEntity("back", 0, 20, 20));
+		data.getUniverse().addGameEntity(new Entity("sky", -1, 0));
+		assertEquals(Arrays.asList("sky", "back", "front"), drawFrame());
+	}
+
+	@Test
+	public void fewVisibleEntitiesOfALargeWorldAreSorted() {
+		data = new GameData(new GameConfiguration() {
+			@Override
+			public GameUniverse createUniverse(GameData gameData) {
+				return new GameUniverseRegionImpl(gameData, 100, 1);
+			}
+		});
+		data.getCanvas().setBounds(0, 0, 100, 100);
+		viewPort = new GameUniverseViewPortSortedImpl(data);
+		data.getUniverse().addGameEntity(new BoundedEntity("front", 2, 10, 10));
+		for (int i = 0; i < 20; i++) {
+			data.getUniverse().addGameEntity(
+					new BoundedEntity("far", 0, 500 + 20 * i, 500));
+		}
+		data.getUniverse().addGameEntity(new BoundedEntity("back", 0, 20, 20));
+		assertEquals(Arrays.asList("back", "front"), drawFrame());
+		assertEquals(Arrays.asList("back", "front"), drawFrame());
+	}
+}
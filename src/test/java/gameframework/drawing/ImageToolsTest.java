@@ -0,0 +1,50 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+public class ImageToolsTest {
+
+	BufferedImage createImage(int... alphas) {
+		BufferedImage image = new BufferedImage(alphas.length, 1,
+				BufferedImage.TYPE_INT_ARGB);
+		for (int x = 0; x < alphas.length; x++) {
+			image.setRGB(x, 0, (alphas[x] << 24) | 0x336699);
+		}
+		return image;
+	}
+
+	@Test
+	public void transparencyMatchesPixels() {
+		assertEquals(Transparency.OPAQUE,
+				ImageTools.getTransparency(createImage(255, 255)));
+		assertEquals(Transparency.BITMASK,
+				ImageTools.getTransparency(createImage(255, 0)));
+		assertEquals(Transparency.TRANSLUCENT,
+				ImageTools.getTransparency(createImage(0, 128)));
+	}
+
+	@Test
+	public void compatibleImageKeepsPixels() {
+		BufferedImage source = createImage(255, 0);
+		BufferedImage compatible = ImageTools.toCompatibleImage(source);
+		assertEquals(2, compatible.getWidth());
+		assertEquals(0xFF336699, compatible.getRGB(0, 0));
+		assertEquals(0, compatible.getRGB(1, 0) >>> 24);
+	}
+
+	@Test
+	public void acceleratedImageFallsBackToSource() {
+		BufferedImage source = createImage(255);
+		AcceleratedImage accelerated = new AcceleratedImage(source);
+		if (ImageTools.getDefaultConfiguration() == null) {
+			assertEquals(source, accelerated.getImage());
+		} else {
+			assertEquals(1, accelerated.getImage().getWidth(null));
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PngFrameSinkTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void framesAreSavedAsPng() throws IOException {
+		File directory = new File(folder.getRoot(), "frames");
+		PngFrameSink sink = new PngFrameSink(directory, "frame", 2, 1);
+		BufferedImage frame = new BufferedImage(8, 4,
+				BufferedImage.TYPE_INT_RGB);
+		for (int i = 0; i < 3; i++) {
+			frame.setRGB(0, 0, i == 1 ? Color.WHITE.getRGB() : 0);
+			sink.frameRendered(frame, i);
+		}
+		// The frame is reused by the canvas
+		frame.setRGB(0, 0, Color.RED.getRGB());
+		sink.close();
+
+		assertEquals("frame00001.png", sink.getFile(1).getName());
+		for (int i = 0; i < 3; i++) {
+			BufferedImage saved = ImageIO.read(sink.getFile(i));
+			assertEquals(8, saved.getWidth());
+			assertEquals(i == 1 ? Color.WHITE.getRGB() : Color.BLACK.getRGB(),
+					saved.getRGB(0, 0));
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RasterGraphicsTest {
+
+	protected BufferedImage sprite;
+	protected RasterImage image;
+	protected BufferedImage expected;
+
+	@Before
+	public void createImages() {
+		sprite = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+		sprite.setRGB(0, 0, Color.RED.getRGB());
+		sprite.setRGB(1, 0, new Color(0, 0, 255, 128).getRGB());
+		sprite.setRGB(3, 3, Color.GREEN.getRGB());
+		RasterSpriteCache.register(sprite);
+		image = new RasterImage(10, 10);
+		expected = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+	}
+
+	@After
+	public void clearCache() {
+		RasterSpriteCache.clear();
+	}
+
+	protected void fill(Graphics graphics) {
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, 10, 10);
+	}
+
+	protected void assertSamePixels() {
+		for (int y = 0; y < 10; y++) {
+			for (int x = 0; x < 10; x++) {
+				int expectedPixel = expected.getRGB(x, y);
+				int pixel = image.getRGB(x, y);
+				for (int shift = 0; shift < 24; shift += 8) {
+					assertEquals("(" + x + "," + y + ")",
+							(expectedPixel >> shift) & 0xFF,
+							(pixel >> shift) & 0xFF, 1);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void graphicsAreRasterGraphics() {
+		assertTrue(image.getGraphics() instanceof RasterGraphics);
+		assertTrue(image.getGraphics().create() instanceof RasterGraphics);
+	}
+
+	@Test
+	public void spritesAreDrawnLikeJava2D() {
+		Graphics graphics = image.getGraphics();
+		Graphics reference = expected.getGraphics();
+		fill(graphics);
+		fill(reference);
+		graphics.translate(2, 1);
+		reference.translate(2, 1);
+		graphics.drawImage(sprite, 0, 0, null);
+		reference.drawImage(sprite, 0, 0, null);
+		graphics.drawImage(sprite, 4, 4, 7, 7, 1, 0, 4, 3, null);
+		reference.drawImage(sprite, 4, 4, 7, 7, 1, 0, 4, 3, null);
+		assertSamePixels();
+		assertEquals(Color.RED.getRGB(), image.getRGB(2, 1));
+	}
+
+	@Test
+	public void spritesAreClipped() {
+		Graphics graphics = image.getGraphics();
+		Graphics reference = expected.getGraphics();
+		graphics.setClip(0, 0, 9, 9);
+		reference.setClip(0, 0, 9, 9);
+		graphics.drawImage(sprite, 6, -3, null);
+		reference.drawImage(sprite, 6, -3, null);
+		graphics.drawImage(sprite, -3, 6, null);
+		reference.drawImage(sprite, -3, 6, null);
+		assertSamePixels();
+		// Outside of the clip
+		assertEquals(Color.BLACK.getRGB(), image.getRGB(0, 9));
+	}
+
+	@Test
+	public void scaledSpritesAreDrawnLikeJava2D() {
+		Graphics graphics = image.getGraphics();
+		Graphics reference = expected.getGraphics();
+		fill(graphics);
+		fill(reference);
+		graphics.drawImage(sprite, 1, 1, 8, 8, null);
+		reference.drawImage(sprite, 1, 1, 8, 8, null);
+		graphics.drawImage(sprite, 6, 0, 8, 2, 0, 0, 4, 4, null);
+		reference.drawImage(sprite, 6, 0, 8, 2, 0, 0, 4, 4, null);
+		graphics.setClip(0, 0, 9, 9);
+		reference.setClip(0, 0, 9, 9);
+		graphics.drawImage(sprite, 5, 5, 11, 11, 1, 1, 4, 4, null);
+		reference.drawImage(sprite, 5, 5, 11, 11, 1, 1, 4, 4, null);
+		assertSamePixels();
+
+		// Drawn from the raster sprite, not by Java2D
+		sprite.setRGB(0, 0, Color.YELLOW.getRGB());
+		graphics.drawImage(sprite, 0, 0, 2, 2, 0, 0, 1, 1, null);
+		assertEquals(Color.RED.getRGB(), image.getRGB(1, 1));
+	}
+
+	@Test
+	public void unregisteredAndTransformedImagesAreDrawnByJava2D() {
+		RasterSpriteCache.clear();
+		Graphics2D graphics = image.createGraphics();
+		Graphics2D reference = expected.createGraphics();
+		graphics.drawImage(sprite, 0, 0, null);
+		reference.drawImage(sprite, 0, 0, null);
+		RasterSpriteCache.register(sprite);
+		// Mirrored
+		graphics.drawImage(sprite, 6, 2, 2, 6, 0, 0, 4, 4, null);
+		reference.drawImage(sprite, 6, 2, 2, 6, 0, 0, 4, 4, null);
+		graphics.scale(2, 2);
+		reference.scale(2, 2);
+		graphics.drawImage(sprite, 1, 1, null);
+		reference.drawImage(sprite, 1, 1, null);
+		assertSamePixels();
+	}
+
+	@Test
+	public void modifiedSpritesAreInvalidated() {
+		Graphics graphics = image.getGraphics();
+		graphics.drawImage(sprite, 0, 0, null);
+		sprite.setRGB(0, 0, Color.YELLOW.getRGB());
+		RasterSpriteCache.invalidate(sprite);
+		graphics.drawImage(sprite, 0, 0, null);
+		assertEquals(Color.YELLOW.getRGB(), image.getRGB(0, 0));
+	}
+}
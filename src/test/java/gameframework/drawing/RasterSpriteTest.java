@@ -0,0 +1,59 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+public class RasterSpriteTest {
+
+	protected BufferedImage createImage(Color... pixels) {
+		BufferedImage image = new BufferedImage(pixels.length, 1,
+				BufferedImage.TYPE_INT_ARGB);
+		for (int x = 0; x < pixels.length; x++) {
+			image.setRGB(x, 0, pixels[x].getRGB());
+		}
+		return image;
+	}
+
+	@Test
+	public void transparencyIsDetected() {
+		Color clear = new Color(0, 0, 0, 0);
+		Color half = new Color(255, 255, 255, 128);
+		assertEquals(Transparency.OPAQUE,
+				new RasterSprite(createImage(Color.RED, Color.BLUE))
+						.getTransparency());
+		assertEquals(Transparency.BITMASK,
+				new RasterSprite(createImage(Color.RED, clear))
+						.getTransparency());
+		assertEquals(Transparency.TRANSLUCENT,
+				new RasterSprite(createImage(Color.RED, half))
+						.getTransparency());
+	}
+
+	@Test
+	public void translucentPixelsAreBlended() {
+		RasterSprite sprite = new RasterSprite(createImage(new Color(255, 0,
+				0, 128), new Color(0, 0, 0, 0), Color.GREEN));
+		int[] target = { 0xFF0000FF, 0xFF0000FF, 0xFF0000FF };
+		sprite.draw(target, 0, 3, 0, 0, new Rectangle(0, 0, 3, 1),
+				new Rectangle(0, 0, 3, 1));
+		assertEquals(0xFF80007F, target[0]);
+		assertEquals(0xFF0000FF, target[1]);
+		assertEquals(Color.GREEN.getRGB(), target[2]);
+	}
+
+	@Test
+	public void onlyTheClipIsModified() {
+		RasterSprite sprite = new RasterSprite(createImage(Color.RED,
+				Color.RED));
+		int[] target = new int[4];
+		sprite.draw(target, 0, 2, 1, 0, new Rectangle(0, 0, 2, 1),
+				new Rectangle(0, 0, 2, 2));
+		assertArrayEquals(new int[] { 0, Color.RED.getRGB(), 0, 0 }, target);
+	}
+}
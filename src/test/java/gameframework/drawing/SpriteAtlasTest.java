@@ -0,0 +1,81 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class SpriteAtlasTest {
+
+	BufferedImage createImage(int width, int height, Color color) {
+		BufferedImage image = new BufferedImage(width, height,
+				BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(color);
+		graphics.fillRect(0, 0, width, height);
+		graphics.dispose();
+		return image;
+	}
+
+	@Test
+	public void imagesArePackedWithoutOverlap() {
+		SpriteAtlas atlas = new SpriteAtlas(64);
+		List<AtlasRegion> regions = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			regions.add(atlas.pack(createImage(20 + i % 3, 16, Color.RED)));
+		}
+		assertEquals(2, atlas.getNbPages());
+		for (int i = 0; i < regions.size(); i++) {
+			Rectangle bounds = regions.get(i).getBounds();
+			assertTrue(new Rectangle(0, 0, 64, 64).contains(bounds));
+			for (int j = i + 1; j < regions.size(); j++) {
+				if (regions.get(i).getPage() == regions.get(j).getPage()) {
+					assertFalse(bounds.intersects(regions.get(j).getBounds()));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void imageIsPackedOnce() {
+		SpriteAtlas atlas = new SpriteAtlas(64);
+		BufferedImage image = createImage(10, 10, Color.RED);
+		assertSame(atlas.pack(image), atlas.pack(image));
+	}
+
+	@Test
+	public void largeImageGetsItsOwnPage() {
+		SpriteAtlas atlas = new SpriteAtlas(64);
+		atlas.pack(createImage(10, 10, Color.RED));
+		AtlasRegion large = atlas.pack(createImage(100, 10, Color.RED));
+		AtlasRegion next = atlas.pack(createImage(10, 10, Color.RED));
+		assertEquals(1, large.getPage());
+		assertEquals(100, atlas.getPage(1).getWidth());
+		assertEquals(2, next.getPage());
+	}
+
+	@Test
+	public void regionDrawsPackedImage() {
+		SpriteAtlas atlas = new SpriteAtlas(64);
+		atlas.pack(createImage(10, 10, Color.RED));
+		AtlasRegion blue = atlas.pack(createImage(5, 5, Color.BLUE));
+		BufferedImage screen = new BufferedImage(20, 20,
+				BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics = screen.createGraphics();
+		blue.draw(graphics, 3, 4);
+		graphics.dispose();
+		assertEquals(Color.BLUE.getRGB(), screen.getRGB(3, 4));
+		assertEquals(Color.BLUE.getRGB(), screen.getRGB(7, 8));
+		assertEquals(0, screen.getRGB(8, 8));
+		assertEquals(0, screen.getRGB(2, 4));
+	}
+}
@@ -0,0 +1,113 @@
+package gameframework.drawing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.net.URL;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpriteManagerCachedImplTest {
+
+	GameCanvas canvas;
+	MockGraphics graphics;
+	Image drawnImage;
+	Point drawnPosition;
+
+	SpriteManagerCachedImpl createManager() {
+		SpriteManagerCachedImpl manager = new SpriteManagerCachedImpl(
+				new DrawableImage("/courbes.png", canvas), 16, 6);
+		manager.setTypes("foo");
+		return manager;
+	}
+
+	@Before
+	public void createObjects() {
+		canvas = new GameCanvasDefaultImpl();
+		canvas.setBounds(0, 0, 200, 200);
+		graphics = new MockGraphics() {
+			@Override
+			public boolean drawImage(Image img, int x, int y,
+					ImageObserver observer) {
+				drawnImage = img;
+				drawnPosition = new Point(x, y);
+				return false;
+			}
+		};
+		SpriteFrameCache.clear();
+	}
+
+	@Test
+	public void drawsScaledFrameWithoutScaling() {
+		SpriteManagerCachedImpl manager = createManager();
+		manager.draw(graphics, new Point(3, 4));
+		assertEquals(new Point(3, 4), drawnPosition);
+		assertEquals(16, drawnImage.getWidth(null));
+		assertEquals(16, drawnImage.getHeight(null));
+	}
+
+	@Test
+	public void incrementChangesFrame() {
+		SpriteManagerCachedImpl manager = createManager();
+		manager.draw(graphics, new Point(0, 0));
+		Image first = drawnImage;
+		manager.increment();
+		manager.draw(graphics, new Point(0, 0));
+		assertNotSame(first, drawnImage);
+	}
+
+	@Test
+	public void framesAreSharedBetweenManagers() {
+		createManager().draw(graphics, new Point(0, 0));
+		Image first = drawnImage;
+		createManager().draw(graphics, new Point(0, 0));
+		assertSame(first, drawnImage);
+	}
+
+	@Test
+	public void sheetsWithoutUrlAreCachedByImage() {
+		DrawableImage sheet = new DrawableImage("/courbes.png", canvas) {
+			@Override
+			public URL getUrl() {
+				return null;
+			}
+		};
+		DrawableImage otherSheet = new DrawableImage("/courbes.png", canvas) {
+			@Override
+			public URL getUrl() {
+				return null;
+			}
+		};
+		BufferedImage[][] frames = SpriteFrameCache.getFrames(sheet, 16, 6);
+		assertSame(frames, SpriteFrameCache.getFrames(sheet, 16, 6));
+		assertNotSame(frames, SpriteFrameCache.getFrames(otherSheet, 16, 6));
+		assertNotSame(frames, SpriteFrameCache.getFrames(sheet, 16, 8));
+	}
+
+	@Test
+	public void framesAreDrawnFromAtlas() {
+		SpriteAtlas atlas = new SpriteAtlas(64);
+		SpriteManagerCachedImpl manager = createManager();
+		manager.setAtlas(atlas);
+		assertEquals(0, manager.getAtlasPage());
+		final Image[] source = { null };
+		manager.draw(new MockGraphics() {
+			@Override
+			public boolean drawImage(Image img, int dx1, int dy1, int dx2,
+					int dy2, int sx1, int sy1, int sx2, int sy2,
+					ImageObserver observer) {
+				source[0] = img;
+				assertEquals(16, dx2 - dx1);
+				assertEquals(16, sx2 - sx1);
+				return false;
+			}
+		}, new Point(0, 0));
+		assertSame(atlas.getPage(0), source[0]);
+	}
+}
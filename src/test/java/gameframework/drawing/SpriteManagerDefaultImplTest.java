@@ -119,4 +119,19 @@ public class SpriteManagerDefaultImplTest {
 		assertEquals(column * spriteSize, actualSourceX);
 	}
 
+	@Test
+	public void typeIndexMatchesType() throws Exception {
+		manager.setType("bar");
+		assertEquals(1, manager.getTypeIndex());
+
+		manager.setTypeIndex(0);
+		manager.draw(graphics, new Point(0, 0));
+		assertEquals(0, actualSourceY);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void validTypeIndexRequired() {
+		manager.setTypeIndex(2);
+	}
+
 }
@@ -0,0 +1,104 @@
+package gameframework.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import gameframework.game.mocks.MockGameMovable;
+import gameframework.game.snapshot.RollbackBuffer;
+
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameEntityPoolTest {
+
+	GameData data;
+	GameEntityPool<MockGameMovable> pool;
+	int nbCreated;
+
+	@Before
+	public void createPool() {
+		data = new GameData(new GameConfiguration());
+		nbCreated = 0;
+		pool = new GameEntityPool<>(data,
+				new GameEntityFactory<MockGameMovable>() {
+					@Override
+					public MockGameMovable createGameEntity(GameData data) {
+						nbCreated++;
+						return new MockGameMovable();
+					}
+				}, 2);
+	}
+
+	boolean inUniverse(GameEntity entity) {
+		Iterator<GameEntity> it = data.getUniverse().getGameEntitiesIterator();
+		while (it.hasNext()) {
+			if (it.next() == entity) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Test
+	public void entitiesArePreallocated() {
+		assertEquals(2, nbCreated);
+		assertEquals(2, pool.getNbFreeEntities());
+		pool.spawn();
+		pool.spawn();
+		assertEquals(2, nbCreated);
+		pool.spawn();
+		assertEquals(3, nbCreated);
+	}
+
+	@Test
+	public void recycledEntitiesAreReused() {
+		MockGameMovable entity = pool.spawn();
+		assertTrue(inUniverse(entity));
+
+		pool.recycle(entity);
+		assertFalse(inUniverse(entity));
+		assertEquals(2, pool.getNbFreeEntities());
+
+		assertSame(entity, pool.spawn());
+		assertTrue(inUniverse(entity));
+	}
+
+	@Test
+	public void entitiesRecycledTwiceArePooledOnce() {
+		MockGameMovable entity = pool.spawn();
+		pool.recycle(entity);
+		pool.recycle(entity);
+		assertEquals(2, pool.getNbFreeEntities());
+
+		assertSame(entity, pool.spawn());
+		assertNotSame(entity, pool.spawn());
+		assertEquals(2, nbCreated);
+	}
+
+	@Test
+	public void entitiesRestoredByRollbackLeaveThePool() {
+		RollbackBuffer buffer = new RollbackBuffer(data.getUniverse(), 4, 8);
+		MockGameMovable entity = pool.spawn();
+		int tick = buffer.capture();
+		pool.recycle(entity);
+		buffer.capture();
+
+		buffer.restore(tick);
+		assertTrue(inUniverse(entity));
+		assertEquals(1, pool.getNbFreeEntities());
+		assertNotSame(entity, pool.spawn());
+		int nbTimes = 0;
+		Iterator<GameEntity> it = data.getUniverse().getGameEntitiesIterator();
+		while (it.hasNext()) {
+			if (it.next() == entity) {
+				nbTimes++;
+			}
+		}
+		assertEquals(1, nbTimes);
+	}
+}
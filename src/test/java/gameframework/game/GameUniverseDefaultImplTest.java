@@ -3,8 +3,8 @@ package gameframework.game;
 public class GameUniverseDefaultImplTest extends GameUniverseTest {
 
 	@Override
-	public GameUniverse createGameUniverse() {
-		return new GameUniverseDefaultImpl(new GameData(new GameConfiguration()));
+	public GameUniverse createGameUniverse(GameData data) {
+		return new GameUniverseDefaultImpl(data);
 	}
 
 }
@@ -0,0 +1,152 @@
+package gameframework.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import gameframework.game.mocks.MockGameEntity;
+import gameframework.game.mocks.MockGameMovable;
+import gameframework.motion.GameMovableDriverDefaultImpl;
+import gameframework.motion.MoveStrategyStraightLine;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameUniverseRegionImplTest extends GameUniverseTest {
+
+	GameUniverseRegionImpl universe;
+
+	@Override
+	public GameUniverse createGameUniverse(GameData data) {
+		return new GameUniverseRegionImpl(data, 100, 1);
+	}
+
+	@Before
+	public void createUniverse() {
+		universe = (GameUniverseRegionImpl) createGameUniverse();
+		universe.setWakeTicks(2);
+		universe.setWakeDistance(0);
+	}
+
+	MockGameMovable createMovable(int x, int y, Point goal) {
+		MockGameMovable movable = new MockGameMovable();
+		movable.setPosition(new Point(x, y));
+		GameMovableDriverDefaultImpl driver = new GameMovableDriverDefaultImpl();
+		driver.setStrategy(new MoveStrategyStraightLine(
+				movable.getPosition(), goal));
+		movable.setDriver(driver);
+		return movable;
+	}
+
+	void ticks(int nbTicks) {
+		for (int i = 0; i < nbTicks; i++) {
+			universe.allOneStepMoves();
+		}
+	}
+
+	@Test
+	public void regionsFarFromFocusFallAsleep() {
+		MockGameMovable player = createMovable(0, 0, new Point(0, 0));
+		MockGameMovable far = createMovable(1000, 0, new Point(2000, 0));
+		universe.addGameEntity(player);
+		universe.addGameEntity(far);
+		universe.addFocus(player);
+
+		ticks(2);
+		assertEquals(new Point(1008, 0), far.getPosition());
+		assertFalse(universe.isAwake(far.getPosition()));
+		ticks(5);
+		assertEquals(new Point(1008, 0), far.getPosition());
+		assertTrue(universe.isAwake(player.getPosition()));
+	}
+
+	@Test
+	public void focusRegionKeepsRegionsAwake() {
+		MockGameMovable movable = createMovable(1000, 0, new Point(2000, 0));
+		universe.addGameEntity(movable);
+		universe.setFocusRegion(new Rectangle(900, 0, 400, 100));
+		ticks(10);
+		assertEquals(new Point(1080, 0), movable.getPosition());
+	}
+
+	@Test
+	public void regionsStayAwakeWithoutFocus() {
+		MockGameMovable movable = createMovable(1000, 0, new Point(2000, 0));
+		universe.addGameEntity(movable);
+		ticks(10);
+		assertEquals(new Point(1080, 0), movable.getPosition());
+		assertTrue(universe.isAwake(movable.getPosition()));
+	}
+
+	@Test
+	public void enteringRegionWakesItUp() {
+		MockGameMovable sleeper = createMovable(250, 0, new Point(1000, 0));
+		MockGameMovable walker = createMovable(176, 0, new Point(1000, 0));
+		universe.addGameEntity(sleeper);
+		universe.addGameEntity(walker);
+		universe.addFocus(walker);
+
+		ticks(2);
+		assertEquals(new Point(258, 0), sleeper.getPosition());
+		assertFalse(universe.isAwake(sleeper.getPosition()));
+
+		// The walker leaves its region for the one of the sleeper
+		ticks(1);
+		assertEquals(new Point(200, 0), walker.getPosition());
+		assertTrue(universe.isAwake(sleeper.getPosition()));
+		assertEquals(new Point(258, 0), sleeper.getPosition());
+		ticks(1);
+		assertEquals(new Point(266, 0), sleeper.getPosition());
+	}
+
+	@Test
+	public void entitiesAreFoundByArea() {
+		MockGameMovable near = createMovable(90, 90, new Point(90, 90));
+		MockGameMovable far = createMovable(500, 500, new Point(500, 500));
+		MockGameEntity unbounded = new MockGameEntity();
+		universe.addGameEntity(near);
+		universe.addGameEntity(far);
+		universe.addGameEntity(unbounded);
+		// Seen as a non-movable entity spanning two regions
+		MockGameMovable staticWall = new MockGameMovable() {
+			@Override
+			public boolean isMovable() {
+				return false;
+			}
+		};
+		staticWall.setPosition(new Point(195, 20));
+		universe.addGameEntity(staticWall);
+
+		List<GameEntity> found = new ArrayList<>();
+		universe.getGameEntities(new Rectangle(95, 0, 110, 100), found);
+		assertEquals(Arrays.<GameEntity> asList(unbounded, staticWall, near),
+				found);
+
+		universe.removeGameEntity(staticWall);
+		found.clear();
+		universe.getGameEntities(new Rectangle(95, 0, 110, 100), found);
+		assertEquals(Arrays.<GameEntity> asList(unbounded, near), found);
+	}
+
+	@Test
+	public void largeMovablesAreFoundFromDistantRegions() {
+		MockGameMovable large = new MockGameMovable() {
+			@Override
+			public Rectangle getBoundingBox() {
+				return new Rectangle(position.x, position.y, 250, 250);
+			}
+		};
+		large.setPosition(new Point(10, 10));
+		universe.addGameEntity(large);
+
+		List<GameEntity> found = new ArrayList<>();
+		universe.getGameEntities(new Rectangle(220, 220, 10, 10), found);
+		assertEquals(Arrays.<GameEntity> asList(large), found);
+	}
+}
@@ -1,18 +1,30 @@
 package gameframework.game;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 
 import org.junit.Test;
 
 import gameframework.game.mocks.MockGameEntity;
+import gameframework.game.mocks.MockGameMovable;
+import gameframework.motion.SpeedVector;
+import gameframework.motion.UpdateSchedulerDefaultImpl;
 
 public abstract class GameUniverseTest {
 
-	public abstract GameUniverse createGameUniverse();
+	public abstract GameUniverse createGameUniverse(GameData data);
+
+	public GameUniverse createGameUniverse() {
+		return createGameUniverse(new GameData(new GameConfiguration()));
+	}
 
 	@Test
 	public void removeGameEntityTest() {
@@ -58,4 +70,57 @@ public abstract class GameUniverseTest {
 		universe.removeGameEntities(gameEntities);
 		assertFalse(universe.getGameEntitiesIterator().hasNext());
 	}
+
+	@Test
+	public void listenersAreNotified() {
+		ObservableGameUniverse universe = (ObservableGameUniverse) this
+				.createGameUniverse();
+		final List<GameEntity> added = new ArrayList<>();
+		final List<GameEntity> removed = new ArrayList<>();
+		universe.addGameUniverseListener(new GameUniverseListener() {
+			@Override
+			public void gameEntityAdded(GameEntity gameEntity) {
+				added.add(gameEntity);
+			}
+
+			@Override
+			public void gameEntityRemoved(GameEntity gameEntity) {
+				removed.add(gameEntity);
+			}
+		});
+		GameEntity entity1 = new MockGameEntity();
+		GameEntity entity2 = new MockGameEntity();
+		universe.addGameEntity(entity1);
+		universe.addGameEntity(entity2);
+		assertEquals(Arrays.asList(entity1, entity2), added);
+		universe.removeGameEntity(entity1);
+		universe.removeGameEntity(entity1);
+		assertEquals(Arrays.asList(entity1), removed);
+		universe.removeAllGameEntities();
+		assertEquals(Arrays.asList(entity1, entity2), removed);
+	}
+
+	@Test
+	public void extrapolatedMovesStopAtMoveBlockers() {
+		GameData data = new GameData(new GameConfiguration());
+		GameUniverse universe = createGameUniverse(data);
+		UpdateSchedulerDefaultImpl scheduler = (UpdateSchedulerDefaultImpl) data
+				.getUpdateScheduler();
+		MockGameMovable movable = new MockGameMovable();
+		movable.setSpeedVector(new SpeedVector(new Point(1, 0), 8));
+		MockGameMovable wall = new MockGameMovable();
+		wall.setPosition(new Point(20, 0));
+		universe.addGameEntity(movable);
+		universe.addGameEntity(wall);
+		// Neither is updated during the next ticks: they only extrapolate
+		scheduler.setUpdateInterval(movable, 1000);
+		scheduler.setUpdateInterval(wall, 1000);
+
+		universe.allOneStepMoves();
+		assertEquals(new Point(8, 0), movable.getPosition());
+		universe.allOneStepMoves();
+		universe.allOneStepMoves();
+		assertEquals(new Point(8, 0), movable.getPosition());
+		assertEquals(0, movable.getSpeedVector().getSpeed());
+	}
 }
@@ -0,0 +1,93 @@
+package gameframework.game;
+
+import static org.junit.Assert.assertEquals;
+
+import gameframework.game.mocks.MockGameMovable;
+import gameframework.motion.GameMovableDriverDefaultImpl;
+import gameframework.motion.MoveStrategyStraightLine;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class GameUniverseTwoPhaseImplTest extends GameUniverseTest {
+
+	@Override
+	public GameUniverse createGameUniverse(GameData data) {
+		return new GameUniverseTwoPhaseImpl(data, 1);
+	}
+
+	GameData data;
+
+	GameUniverse createGameUniverse(final int nbThreads) {
+		GameConfiguration configuration = new GameConfiguration() {
+			@Override
+			public GameUniverse createUniverse(GameData gameData) {
+				return new GameUniverseTwoPhaseImpl(gameData, nbThreads);
+			}
+		};
+		data = new GameData(configuration);
+		return data.getUniverse();
+	}
+
+	MockGameMovable createMovable(int x, int y, Point goal) {
+		MockGameMovable movable = new MockGameMovable();
+		movable.setPosition(new Point(x, y));
+		GameMovableDriverDefaultImpl driver = new GameMovableDriverDefaultImpl();
+		driver.setmoveBlockerChecker(data.getMoveBlockerChecker());
+		driver.setStrategy(new MoveStrategyStraightLine(
+				movable.getPosition(), goal));
+		movable.setDriver(driver);
+		return movable;
+	}
+
+	@Test
+	public void movesDoNotDependOnOrder() {
+		// A is right behind B: whatever the order, A is blocked by the
+		// position of B at the beginning of the tick
+		GameUniverse universe = createGameUniverse(1);
+		MockGameMovable a = createMovable(0, 0, new Point(1000, 0));
+		MockGameMovable b = createMovable(10, 0, new Point(1000, 0));
+		universe.addGameEntity(b);
+		universe.addGameEntity(a);
+		universe.allOneStepMoves();
+		assertEquals(new Point(0, 0), a.getPosition());
+		assertEquals(new Point(18, 0), b.getPosition());
+
+		universe = createGameUniverse(1);
+		a = createMovable(0, 0, new Point(1000, 0));
+		b = createMovable(10, 0, new Point(1000, 0));
+		universe.addGameEntity(a);
+		universe.addGameEntity(b);
+		universe.allOneStepMoves();
+		assertEquals(new Point(0, 0), a.getPosition());
+		assertEquals(new Point(18, 0), b.getPosition());
+	}
+
+	@Test
+	public void movesDoNotDependOnThreadCount() {
+		assertEquals(simulateCrowd(1), simulateCrowd(4));
+	}
+
+	List<Point> simulateCrowd(int nbThreads) {
+		GameUniverse universe = createGameUniverse(nbThreads);
+		List<MockGameMovable> crowd = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			MockGameMovable movable = createMovable((i % 30) * 12, (i / 30) * 12,
+					new Point(180, 120));
+			crowd.add(movable);
+			universe.addGameEntity(movable);
+		}
+		for (int tick = 0; tick < 10; tick++) {
+			universe.allOneStepMoves();
+		}
+		((GameUniverseTwoPhaseImpl) universe).shutdown();
+		List<Point> positions = new ArrayList<>();
+		for (MockGameMovable movable : crowd) {
+			positions.add(movable.getPosition());
+		}
+		return positions;
+	}
+}
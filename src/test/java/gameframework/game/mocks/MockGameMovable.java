@@ -0,0 +1,26 @@
+package gameframework.game.mocks;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+
+import gameframework.game.GameEntity;
+import gameframework.motion.GameMovable;
+import gameframework.motion.blocking.MoveBlocker;
+
+public class MockGameMovable extends GameMovable implements GameEntity,
+		MoveBlocker {
+
+	@Override
+	public Rectangle getBoundingBox() {
+		return new Rectangle(position.x, position.y, 10, 10);
+	}
+
+	@Override
+	public void draw(Graphics g) {
+	}
+
+	@Override
+	public void oneStepMoveAddedBehavior() {
+	}
+
+}
@@ -0,0 +1,63 @@
+package gameframework.game.replay;
+
+import static org.junit.Assert.assertEquals;
+
+import gameframework.motion.MoveStrategyKeyboard;
+
+import java.awt.Canvas;
+import java.awt.Point;
+import java.awt.event.KeyEvent;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class InputRecorderTest {
+
+	ByteArrayOutputStream log;
+	InputRecorder recorder;
+	MoveStrategyKeyboard strategy;
+
+	@Before
+	public void createRecorder() throws IOException {
+		log = new ByteArrayOutputStream();
+		recorder = new InputRecorder(log, 12, 34);
+		strategy = new MoveStrategyKeyboard(false);
+		recorder.setStrategy(strategy);
+	}
+
+	@Test
+	public void eventsAreAppliedAtTickStart() {
+		recorder.keyPressed(new KeyEvent(new Canvas(), KeyEvent.KEY_PRESSED, 0,
+				0, KeyEvent.VK_LEFT, KeyEvent.CHAR_UNDEFINED));
+		assertEquals(new Point(0, 0), strategy.getSpeedVector().getDirection());
+		recorder.tickStarted(0);
+		assertEquals(new Point(-1, 0), strategy.getSpeedVector()
+				.getDirection());
+	}
+
+	@Test
+	public void logContainsSeedsAndEvents() throws IOException {
+		recorder.tickStarted(0);
+		recorder.keyReleased(new KeyEvent(new Canvas(),
+				KeyEvent.KEY_RELEASED, 0, 0, KeyEvent.VK_LEFT,
+				KeyEvent.CHAR_UNDEFINED));
+		recorder.tickStarted(1);
+		recorder.close();
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+				log.toByteArray()));
+		assertEquals(InputRecorder.MAGIC, in.readInt());
+		assertEquals(InputRecorder.VERSION, in.readShort());
+		assertEquals(12, in.readLong());
+		assertEquals(34, in.readLong());
+		assertEquals(1, in.readInt());
+		assertEquals(InputRecorder.KEY_RELEASED, in.readByte());
+		assertEquals(KeyEvent.VK_LEFT, in.readInt());
+		assertEquals(2, in.readInt());
+		assertEquals(InputRecorder.END, in.readByte());
+	}
+}
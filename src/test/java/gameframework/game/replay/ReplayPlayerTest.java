@@ -0,0 +1,123 @@
+package gameframework.game.replay;
+
+import static org.junit.Assert.assertEquals;
+
+import gameframework.game.GameConfiguration;
+import gameframework.game.GameData;
+import gameframework.game.GameLevelDefaultImpl;
+import gameframework.game.GameTickListener;
+import gameframework.game.mocks.MockGameMovable;
+import gameframework.motion.GameMovableDriverDefaultImpl;
+import gameframework.motion.MoveStrategy;
+import gameframework.motion.MoveStrategyKeyboard;
+import gameframework.motion.MoveStrategyRandom;
+
+import java.awt.Canvas;
+import java.awt.Point;
+import java.awt.event.KeyEvent;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ReplayPlayerTest {
+
+	static class ReplayLevel extends GameLevelDefaultImpl {
+		MoveStrategyKeyboard keyboard = new MoveStrategyKeyboard(false);
+		MockGameMovable player, ghost;
+
+		ReplayLevel() {
+			super(new GameData(new GameConfiguration()));
+		}
+
+		MockGameMovable createMovable(MoveStrategy strategy) {
+			MockGameMovable movable = new MockGameMovable();
+			GameMovableDriverDefaultImpl driver = new GameMovableDriverDefaultImpl();
+			driver.setStrategy(strategy);
+			movable.setDriver(driver);
+			universe.addGameEntity(movable);
+			return movable;
+		}
+
+		@Override
+		protected void init() {
+			player = createMovable(keyboard);
+			ghost = createMovable(new MoveStrategyRandom());
+		}
+
+		List<Point> positions() {
+			List<Point> positions = new ArrayList<>();
+			positions.add(player.getPosition());
+			positions.add(ghost.getPosition());
+			return positions;
+		}
+	}
+
+	static KeyEvent keyEvent(int id, int keyCode) {
+		return new KeyEvent(new Canvas(), id, 0, 0, keyCode,
+				KeyEvent.CHAR_UNDEFINED);
+	}
+
+	@Test
+	public void replayReproducesTheGame() throws IOException {
+		ByteArrayOutputStream log = new ByteArrayOutputStream();
+		final InputRecorder recorder = new InputRecorder(log);
+		ReplayLevel recorded = new ReplayLevel();
+		recorder.setStrategy(recorded.keyboard);
+		recorded.addTickListener(new GameTickListener() {
+			@Override
+			public void tickStarted(int tick) {
+				// Plays the role of the user
+				if (tick == 3) {
+					recorder.keyPressed(keyEvent(KeyEvent.KEY_PRESSED,
+							KeyEvent.VK_RIGHT));
+				} else if (tick == 10) {
+					recorder.keyReleased(keyEvent(KeyEvent.KEY_RELEASED,
+							KeyEvent.VK_RIGHT));
+				}
+			}
+		});
+		recorded.addTickListener(recorder);
+		recorded.runHeadless(20);
+		recorder.close();
+
+		// Other random numbers between the recording and the replay
+		MoveStrategyRandom.setSeed(42);
+
+		ReplayPlayer player = new ReplayPlayer(new ByteArrayInputStream(
+				log.toByteArray()));
+		ReplayLevel replayed = new ReplayLevel();
+		player.setStrategy(replayed.keyboard);
+		replayed.addTickListener(player);
+		replayed.runHeadless(player.getNbTicks());
+
+		assertEquals(20, player.getNbTicks());
+		assertEquals(new Point(56, 0), replayed.player.getPosition());
+		assertEquals(recorded.positions(), replayed.positions());
+	}
+
+	@Test
+	public void unclosedLogIsReplayedUpToItsLastEvent() throws IOException {
+		ByteArrayOutputStream log = new ByteArrayOutputStream();
+		InputRecorder recorder = new InputRecorder(log, 1, 2);
+		recorder.setStrategy(new MoveStrategyKeyboard());
+		recorder.keyPressed(keyEvent(KeyEvent.KEY_PRESSED, KeyEvent.VK_UP));
+		recorder.tickStarted(0);
+		recorder.tickStarted(1);
+		recorder.keyPressed(keyEvent(KeyEvent.KEY_PRESSED, KeyEvent.VK_UP));
+		recorder.tickStarted(2);
+
+		ReplayPlayer player = new ReplayPlayer(new ByteArrayInputStream(
+				log.toByteArray()));
+		assertEquals(3, player.getNbTicks());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidLogIsRejected() throws IOException {
+		new ReplayPlayer(new ByteArrayInputStream(new byte[] { 0, 0, 0, 0, 0,
+				0 }));
+	}
+}
@@ -0,0 +1,213 @@
+package gameframework.game.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import gameframework.drawing.IndexedSpriteManager;
+import gameframework.drawing.SpriteManager;
+import gameframework.game.GameConfiguration;
+import gameframework.game.GameData;
+import gameframework.game.GameEntity;
+import gameframework.game.GameEntityFactory;
+import gameframework.game.mocks.MockGameEntity;
+import gameframework.game.mocks.MockGameMovable;
+import gameframework.motion.SpeedVector;
+
+import java.awt.Graphics;
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameSnapshotTest {
+
+	GameData data;
+	GameSnapshot snapshot;
+
+	@Before
+	public void createSnapshot() {
+		data = new GameData(new GameConfiguration());
+		SnapshotTypeRegistry registry = new SnapshotTypeRegistry();
+		registry.register(1, MockGameMovable.class, new GameEntityFactory<MockGameMovable>() {
+			@Override
+			public MockGameMovable createGameEntity(GameData data) {
+				return new MockGameMovable();
+			}
+		});
+		registry.register(2, StateEntity.class, new GameEntityFactory<StateEntity>() {
+			@Override
+			public StateEntity createGameEntity(GameData data) {
+				return new StateEntity();
+			}
+		});
+		snapshot = new GameSnapshot(data, registry);
+	}
+
+	List<GameEntity> entities() {
+		List<GameEntity> entities = new ArrayList<>();
+		Iterator<GameEntity> it = data.getUniverse().getGameEntitiesIterator();
+		while (it.hasNext()) {
+			entities.add(it.next());
+		}
+		return entities;
+	}
+
+	@Test
+	public void restoresMovablesAndGameData() {
+		MockGameMovable movable = new MockGameMovable();
+		movable.setPosition(new Point(12, 34));
+		movable.setSpeedVector(new SpeedVector(new Point(-1, 0), 4));
+		data.getUniverse().addGameEntity(movable);
+		data.getScore().setValue(42);
+		data.getLife().setValue(1);
+
+		ByteBuffer saved = snapshot.write();
+		movable.setPosition(new Point(0, 0));
+		data.getScore().setValue(0);
+		data.getLife().setValue(3);
+		snapshot.read(saved);
+
+		List<GameEntity> entities = entities();
+		assertEquals(1, entities.size());
+		MockGameMovable restored = (MockGameMovable) entities.get(0);
+		assertEquals(new Point(12, 34), restored.getPosition());
+		assertEquals(new Point(-1, 0), restored.getSpeedVector().getDirection());
+		assertEquals(4, restored.getSpeedVector().getSpeed());
+		assertEquals(42, (int) data.getScore().getValue());
+		assertEquals(1, (int) data.getLife().getValue());
+	}
+
+	@Test
+	public void restoresEntityStateAndSprite() {
+		StateEntity entity = new StateEntity();
+		entity.values = new int[5000];
+		entity.values[4999] = 7;
+		entity.spriteManager.setTypeIndex(1);
+		entity.spriteManager.setIncrement(3);
+		data.getUniverse().addGameEntity(entity);
+
+		snapshot.read(snapshot.write());
+
+		StateEntity restored = (StateEntity) entities().get(0);
+		assertEquals(5000, restored.values.length);
+		assertEquals(7, restored.values[4999]);
+		assertEquals(1, restored.spriteManager.getTypeIndex());
+		assertEquals(3, restored.spriteManager.getIncrement());
+	}
+
+	@Test
+	public void writesToChannels() throws IOException {
+		MockGameMovable movable = new MockGameMovable();
+		movable.setPosition(new Point(5, 6));
+		data.getUniverse().addGameEntity(movable);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.write(Channels.newChannel(out));
+		data.getUniverse().removeAllGameEntities();
+		snapshot.read(Channels.newChannel(new ByteArrayInputStream(out
+				.toByteArray())));
+
+		assertEquals(new Point(5, 6),
+				((MockGameMovable) entities().get(0)).getPosition());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unregisteredTypesAreRejected() {
+		data.getUniverse().addGameEntity(new MockGameEntity());
+		snapshot.write();
+	}
+
+	@Test
+	public void invalidSnapshotLeavesUniverseUntouched() {
+		MockGameMovable movable = new MockGameMovable();
+		data.getUniverse().addGameEntity(movable);
+		try {
+			snapshot.read(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5, 6 }));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertSame(movable, entities().get(0));
+		}
+	}
+
+	public static class StateEntity extends MockGameEntity implements
+			SnapshotEntity {
+		int[] values = new int[0];
+		IndexedSpriteManager spriteManager = new MockSpriteManager();
+
+		@Override
+		public SpriteManager getSpriteManager() {
+			return spriteManager;
+		}
+
+		@Override
+		public void writeState(ByteBuffer buffer) {
+			buffer.putInt(values.length);
+			for (int value : values) {
+				buffer.putInt(value);
+			}
+		}
+
+		@Override
+		public void readState(ByteBuffer buffer) {
+			values = new int[buffer.getInt()];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = buffer.getInt();
+			}
+		}
+	}
+
+	static class MockSpriteManager implements IndexedSpriteManager {
+		int typeIndex, increment;
+
+		@Override
+		public void setTypes(String... types) {
+		}
+
+		@Override
+		public void setType(String type) {
+		}
+
+		@Override
+		public void draw(Graphics g, Point position) {
+		}
+
+		@Override
+		public void increment() {
+			increment++;
+		}
+
+		@Override
+		public void reset() {
+			increment = 0;
+		}
+
+		@Override
+		public void setIncrement(int increment) {
+			this.increment = increment;
+		}
+
+		@Override
+		public int getIncrement() {
+			return increment;
+		}
+
+		@Override
+		public int getTypeIndex() {
+			return typeIndex;
+		}
+
+		@Override
+		public void setTypeIndex(int typeIndex) {
+			this.typeIndex = typeIndex;
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package gameframework.game.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import gameframework.base.SceneChangeTracker;
+import gameframework.game.GameConfiguration;
+import gameframework.game.GameData;
+import gameframework.game.GameEntity;
+import gameframework.game.GameUniverse;
+import gameframework.game.ObservableGameUniverse;
+import gameframework.game.mocks.MockGameEntity;
+import gameframework.game.mocks.MockGameMovable;
+import gameframework.motion.SpeedVector;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class RollbackBufferTest {
+
+	GameUniverse universe;
+	RollbackBuffer buffer;
+	MockGameMovable movable;
+
+	@Before
+	public void createBuffer() {
+		universe = new GameData(new GameConfiguration()).getUniverse();
+		buffer = new RollbackBuffer(universe, 4, 8);
+		movable = new MockGameMovable();
+		universe.addGameEntity(movable);
+	}
+
+	List<GameEntity> entities() {
+		List<GameEntity> entities = new ArrayList<>();
+		Iterator<GameEntity> it = universe.getGameEntitiesIterator();
+		while (it.hasNext()) {
+			entities.add(it.next());
+		}
+		return entities;
+	}
+
+	@Test
+	public void restoresMovableState() {
+		movable.setSpeedVector(new SpeedVector(new Point(1, 0), 8));
+		int tick = buffer.capture();
+		Point position = movable.getPosition();
+		for (int i = 0; i < 3; i++) {
+			movable.oneStepMove();
+			movable.getPosition().translate(8, 0);
+			buffer.capture();
+		}
+
+		buffer.restore(tick);
+		assertEquals(new Point(0, 0), movable.getPosition());
+		assertTrue(position == movable.getPosition());
+		assertEquals(new Point(1, 0), movable.getSpeedVector().getDirection());
+		assertEquals(tick, buffer.getNewestTick());
+	}
+
+	@Test
+	public void restoringChangesTheScene() {
+		int tick = buffer.capture();
+		movable.getPosition().translate(8, 0);
+		buffer.capture();
+		SceneChangeTracker tracker = ((ObservableGameUniverse) universe)
+				.getSceneChangeTracker();
+		long version = tracker.getVersion();
+		buffer.restore(tick);
+		assertTrue(tracker.getVersion() > version);
+	}
+
+	@Test
+	public void onlyChangesAreLogged() {
+		universe.addGameEntity(new MockGameEntity());
+		buffer.capture();
+		assertEquals(2, buffer.logEnd);
+		buffer.capture();
+		assertEquals(2, buffer.logEnd);
+		movable.getPosition().translate(1, 0);
+		buffer.capture();
+		assertEquals(3, buffer.logEnd);
+	}
+
+	@Test
+	public void restoresPresenceOfEntities() {
+		MockGameEntity removed = new MockGameEntity();
+		universe.addGameEntity(removed);
+		int tick = buffer.capture();
+		universe.removeGameEntity(removed);
+		buffer.capture();
+		MockGameEntity added = new MockGameEntity();
+		universe.addGameEntity(added);
+
+		buffer.restore(tick);
+		List<GameEntity> entities = entities();
+		assertTrue(entities.contains(removed));
+		assertTrue(entities.contains(movable));
+		assertFalse(entities.contains(added));
+	}
+
+	@Test
+	public void keepsOnlyLastTicks() {
+		for (int i = 0; i < 10; i++) {
+			movable.getPosition().translate(1, 0);
+			buffer.capture();
+		}
+		assertEquals(6, buffer.getOldestTick());
+		buffer.restore(6);
+		assertEquals(new Point(7, 0), movable.getPosition());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void droppedTicksCannotBeRestored() {
+		for (int i = 0; i < 10; i++) {
+			buffer.capture();
+		}
+		buffer.restore(2);
+	}
+
+	@Test
+	public void failedCaptureLeavesTicksUntouched() {
+		RollbackBuffer small = new RollbackBuffer(universe, 4, 2);
+		int tick = small.capture();
+		MockGameMovable other = new MockGameMovable();
+		MockGameEntity third = new MockGameEntity();
+		universe.addGameEntity(other);
+		universe.addGameEntity(third);
+		try {
+			small.capture();
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals(tick, small.getNewestTick());
+			assertEquals(1, small.logEnd);
+		}
+
+		universe.removeGameEntity(third);
+		movable.getPosition().translate(5, 0);
+		assertEquals(tick + 1, small.capture());
+		small.restore(tick);
+		assertEquals(new Point(0, 0), movable.getPosition());
+		assertFalse(entities().contains(other));
+	}
+}
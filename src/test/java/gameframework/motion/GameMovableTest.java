@@ -101,6 +101,17 @@ public class GameMovableTest {
 		assertEquals(1, oneStepMoveAddedBehavior);
 	}
 	
+	@Test
+	public void extrapolateAlongCurrentSpeedVector() {
+		driverSpeedVector = new SpeedVector(new Point(1, 0), 4);
+		gameMovable.setPosition(new Point(100, 200));
+		gameMovable.oneStepMove();
+		driverSpeedVector = new SpeedVector(new Point(0, 1), 4);
+		gameMovable.extrapolateOneStep();
+		assertEquals(new Point(108, 200), gameMovable.getPosition());
+		assertEquals(2, oneStepMoveAddedBehavior);
+	}
+
 	@Test
 	public void testGameMovableGetDriver(){
 		assertEquals(driver,gameMovable.getDriver());
@@ -114,4 +125,23 @@ public class GameMovableTest {
 		assertEquals(33,gameMovable.getSpeedVector().getSpeed());
 	}
 
+	@Test
+	public void interpolateBetweenPreviousAndCurrentPosition() {
+		driverSpeedVector = new SpeedVector(new Point(1, 0), 8);
+		gameMovable.setPosition(new Point(100, 200));
+		Point interpolated = new Point();
+		gameMovable.getInterpolatedPosition(0.5, interpolated);
+		assertEquals(new Point(100, 200), interpolated);
+
+		gameMovable.oneStepMove();
+		assertEquals(new Point(100, 200), gameMovable.getPreviousPosition());
+		gameMovable.getInterpolatedPosition(0.25, interpolated);
+		assertEquals(new Point(102, 200), interpolated);
+		gameMovable.getInterpolatedPosition(1, interpolated);
+		assertEquals(new Point(108, 200), interpolated);
+
+		gameMovable.resetPreviousPosition();
+		gameMovable.getInterpolatedPosition(0.25, interpolated);
+		assertEquals(new Point(108, 200), interpolated);
+	}
 }
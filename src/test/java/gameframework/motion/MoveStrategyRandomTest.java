@@ -3,6 +3,9 @@ package gameframework.motion;
 import static org.junit.Assert.assertEquals;
 import gameframework.motion.MoveStrategyRandom;
 
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import org.junit.Test;
@@ -16,7 +19,7 @@ public class MoveStrategyRandomTest extends
 	}
 
 	public void setRandom(final int value) {
-		MoveStrategyRandom.random = new Random() {
+		strategy.random = new Random() {
 
 			private static final long serialVersionUID = 5411193534475148025L;
 
@@ -57,6 +60,28 @@ public class MoveStrategyRandomTest extends
 		assertDown();
 	}
 	
+	@Test
+	public void seededStrategiesDoNotDependOnCallOrder() {
+		MoveStrategyRandom.setSeed(42);
+		MoveStrategyRandom first = new MoveStrategyRandom();
+		MoveStrategyRandom second = new MoveStrategyRandom();
+		List<Point> firstMoves = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			firstMoves.add(new Point(first.getSpeedVector().getDirection()));
+			second.getSpeedVector();
+		}
+
+		MoveStrategyRandom.setSeed(42);
+		MoveStrategyRandom replayedFirst = new MoveStrategyRandom();
+		new MoveStrategyRandom();
+		List<Point> replayedMoves = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			replayedMoves.add(new Point(replayedFirst.getSpeedVector()
+					.getDirection()));
+		}
+		assertEquals(firstMoves, replayedMoves);
+	}
+
 	@Test
 	public void goodSpeed() throws Exception {
 
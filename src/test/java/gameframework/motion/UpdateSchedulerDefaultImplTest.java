@@ -0,0 +1,93 @@
+package gameframework.motion;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class UpdateSchedulerDefaultImplTest {
+
+	UpdateSchedulerDefaultImpl scheduler;
+
+	@Before
+	public void createScheduler() {
+		scheduler = new UpdateSchedulerDefaultImpl();
+	}
+
+	GameMovable createMovable(int x, int y) {
+		GameMovable movable = new GameMovable() {
+
+			@Override
+			public Rectangle getBoundingBox() {
+				return null;
+			}
+
+			@Override
+			public void oneStepMoveAddedBehavior() {
+			}
+		};
+		movable.setPosition(new Point(x, y));
+		return movable;
+	}
+
+	int countUpdates(GameMovable movable, int nbTicks) {
+		int updates = 0;
+		for (int i = 0; i < nbTicks; i++) {
+			scheduler.nextTick();
+			if (scheduler.isUpdateTick(movable)) {
+				updates++;
+			}
+		}
+		return updates;
+	}
+
+	@Test
+	public void updateAtEveryTickByDefault() {
+		GameMovable movable = createMovable(0, 0);
+		scheduler.addGameMovable(movable);
+		assertEquals(10, countUpdates(movable, 10));
+	}
+
+	@Test
+	public void updateOnceEveryInterval() {
+		GameMovable movable = createMovable(0, 0);
+		scheduler.addGameMovable(movable);
+		scheduler.setUpdateInterval(movable, 4);
+		assertEquals(3, countUpdates(movable, 12));
+	}
+
+	@Test
+	public void movablesAreSpreadOverTicks() {
+		GameMovable movable1 = createMovable(0, 0);
+		GameMovable movable2 = createMovable(0, 0);
+		scheduler.addGameMovable(movable1);
+		scheduler.addGameMovable(movable2);
+		scheduler.setUpdateInterval(movable1, 2);
+		scheduler.setUpdateInterval(movable2, 2);
+		for (int i = 0; i < 4; i++) {
+			scheduler.nextTick();
+			assertTrue(scheduler.isUpdateTick(movable1) != scheduler
+					.isUpdateTick(movable2));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void intervalMustBePositive() {
+		scheduler.setUpdateInterval(createMovable(0, 0), 0);
+	}
+
+	@Test
+	public void intervalGrowsWithDistanceToFocusRegion() {
+		scheduler = new UpdateSchedulerDistanceImpl(new Rectangle(0, 0, 100,
+				100), 50, 4);
+		assertEquals(1, scheduler.getUpdateInterval(createMovable(50, 50)));
+		assertEquals(1, scheduler.getUpdateInterval(createMovable(140, 50)));
+		assertEquals(2, scheduler.getUpdateInterval(createMovable(150, 50)));
+		assertEquals(2, scheduler.getUpdateInterval(createMovable(50, -60)));
+		assertEquals(4, scheduler.getUpdateInterval(createMovable(200, 50)));
+		assertEquals(4, scheduler.getUpdateInterval(createMovable(5000, 50)));
+	}
+}
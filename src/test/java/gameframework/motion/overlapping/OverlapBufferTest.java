@@ -0,0 +1,75 @@
+package gameframework.motion.overlapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import gameframework.motion.overlapping.mocks.OverlappableMock;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class OverlapBufferTest {
+
+	OverlapBuffer buffer;
+	Overlappable a, b, c;
+
+	@Before
+	public void createBuffer() {
+		buffer = new OverlapBuffer();
+		a = new OverlappableMock();
+		b = new OverlappableMock();
+		c = new OverlappableMock();
+		buffer.addOverlappable(a);
+		buffer.addOverlappable(b);
+		buffer.addOverlappable(c);
+	}
+
+	@Test
+	public void pairsKeepTheirIndices() {
+		buffer.addOverlap(2, 0);
+		assertEquals(1, buffer.size());
+		assertEquals(2, buffer.getIndex1(0));
+		assertEquals(0, buffer.getIndex2(0));
+		assertSame(c, buffer.getOverlappable1(0));
+		assertSame(a, buffer.getOverlappable2(0));
+	}
+
+	@Test
+	public void sortRemovesDuplicatesInBothOrders() {
+		buffer.addOverlap(1, 2);
+		buffer.addOverlap(0, 1);
+		buffer.addOverlap(2, 1);
+		buffer.addOverlap(0, 1);
+		buffer.sortAndRemoveDuplicates();
+		assertEquals(2, buffer.size());
+		assertEquals(0, buffer.getIndex1(0));
+		assertEquals(1, buffer.getIndex2(0));
+		assertEquals(1, buffer.getIndex1(1));
+		assertEquals(2, buffer.getIndex2(1));
+	}
+
+	@Test
+	public void listViewFollowsTheBuffer() {
+		List<Overlap> view = buffer.asList();
+		buffer.addOverlap(0, 2);
+		assertEquals(1, view.size());
+		assertSame(a, view.get(0).getOverlappable1());
+		assertSame(c, view.get(0).getOverlappable2());
+
+		buffer.clear();
+		assertEquals(0, view.size());
+		assertEquals(0, buffer.getNbOverlappables());
+	}
+
+	@Test
+	public void arraysGrow() {
+		for (int i = 0; i < 1000; i++) {
+			buffer.addOverlappable(a);
+			buffer.addOverlap(i, i + 1);
+		}
+		assertEquals(1000, buffer.size());
+		assertEquals(999, buffer.getIndex1(999));
+	}
+}
@@ -2,10 +2,12 @@ package gameframework.motion.overlapping;
 
 import gameframework.game.GameData;
 import gameframework.motion.GameMovable;
+import gameframework.motion.SpeedVector;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.awt.*;
+import java.awt.geom.Area;
 import java.util.*;
 import java.util.List;
 
@@ -19,6 +21,10 @@ public class OverlapProcessorDefaultImplTest {
 	@Before
 	public void createOverlapProcessor() {
 		overlapProcessor = new OverlapProcessorDefaultImpl();
+		setOverlapRules();
+	}
+
+	void setOverlapRules() {
 		overlapProcessor.setOverlapRules(new OverlapRulesApplier() {
 
 			@Override
@@ -208,6 +214,53 @@ public class OverlapProcessorDefaultImplTest {
 		assertOverlaps();
 	}
 
+	@Test
+	public void diagonalMoveOnlyOverlapsAlongItsPath() throws Exception {
+		MovableOverlappable overlappable1 = createOverlappableMovable(0, 0,
+				10, 10);
+		overlappable1.setSpeedVector(new SpeedVector(new Point(1, 1), 10));
+		// In the bounding box of the path, but not on the path
+		Overlappable corner = createOverlappable(-10, 7, 3, 3);
+		Overlappable onPath = createOverlappable(-5, -5, 3, 3);
+
+		overlapProcessor.addOverlappable(overlappable1);
+		overlapProcessor.addOverlappable(corner);
+		overlapProcessor.addOverlappable(onPath);
+
+		overlapProcessor.processOverlapsAll();
+		assertOverlaps(new Overlap(overlappable1, onPath));
+	}
+
+	@Test
+	public void listHooksOverriddenBySubclassesAreCalled() throws Exception {
+		overlapProcessor = new OverlapProcessorDefaultImpl() {
+			@Override
+			protected void addOverlapsIfIntersect(
+					Rectangle boundingBoxOverlappable,
+					Rectangle boundingBoxTarget, Shape targetShape,
+					Area overlappableArea, List<Overlap> overlaps,
+					Overlappable movableOverlappable,
+					Overlappable targetOverlappable) {
+				// Non-movables are ignored
+				if (targetOverlappable.isMovable()) {
+					super.addOverlapsIfIntersect(boundingBoxOverlappable,
+							boundingBoxTarget, targetShape, overlappableArea,
+							overlaps, movableOverlappable, targetOverlappable);
+				}
+			}
+		};
+		setOverlapRules();
+		Overlappable overlappable1 = createOverlappableMovable(0, 0, 10, 20);
+		Overlappable overlappable2 = createOverlappableMovable(5, 0, 10, 20);
+		Overlappable wall = createOverlappable(5, 0, 10, 20);
+		overlapProcessor.addOverlappable(overlappable1);
+		overlapProcessor.addOverlappable(overlappable2);
+		overlapProcessor.addOverlappable(wall);
+
+		overlapProcessor.processOverlapsAll();
+		assertOverlaps(new Overlap(overlappable1, overlappable2));
+	}
+
 	void assertOverlaps(Overlap... overlaps) {
 		// Because Overlap(a,b) should be seen as equivalent to Overlap(b,a),
 		// this method is a bit complex. A better solution would be to implement
@@ -6,7 +6,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -58,6 +60,73 @@ public class OverlapRulesApplierDefaultImplTest {
 		assertEquals(1, rulesApplied);
 	}
 
+	@Test
+	public void testApplyRulesFromBuffer() {
+		OverlapBuffer buffer = new OverlapBuffer();
+		int movable = buffer.addOverlappable(overlappableMovable);
+		int nonMovable = buffer.addOverlappable(overlappable);
+		buffer.addOverlap(movable, nonMovable);
+		buffer.addOverlap(nonMovable, movable);
+		ruleApplier.applyOverlapRules(buffer);
+		assertEquals(2, rulesApplied);
+	}
+
+	@Test
+	public void testListOverrideIsCalledFromBuffer() {
+		final int[] nbCalls = { 0 };
+		OverlapRulesApplierDefaultImpl overridingApplier = new OverlapRulesApplierDefaultImpl() {
+
+			@Override
+			public void applyOverlapRules(List<Overlap> overlaps) {
+				nbCalls[0]++;
+				super.applyOverlapRules(overlaps);
+			}
+
+			@SuppressWarnings("unused")
+			// this method is only called using reflection, tools can't see that
+			public void overlapRule(OverlappableMock overlappable,
+					OverlappableMovableMock overlappableMovable) {
+				rulesApplied++;
+			}
+		};
+		OverlapBuffer buffer = new OverlapBuffer();
+		int movable = buffer.addOverlappable(overlappableMovable);
+		int nonMovable = buffer.addOverlappable(overlappable);
+		buffer.addOverlap(movable, nonMovable);
+		overridingApplier.applyOverlapRules(buffer);
+		assertEquals(1, nbCalls[0]);
+		assertEquals(1, rulesApplied);
+	}
+
+	@Test
+	public void testSpecificRuleOverrideIsCalledFromBuffer() {
+		final List<Overlappable> firsts = new ArrayList<>();
+		OverlapRulesApplierDefaultImpl overridingApplier = new OverlapRulesApplierDefaultImpl() {
+
+			@Override
+			protected void applySpecificOverlapRule(Overlappable e1,
+					Overlappable e2, boolean tryToReverseParameters) {
+				firsts.add(e1);
+				super.applySpecificOverlapRule(e1, e2, tryToReverseParameters);
+			}
+
+			@SuppressWarnings("unused")
+			// this method is only called using reflection, tools can't see that
+			public void overlapRule(OverlappableMock overlappable,
+					OverlappableMovableMock overlappableMovable) {
+				rulesApplied++;
+			}
+		};
+		OverlapBuffer buffer = new OverlapBuffer();
+		int movable = buffer.addOverlappable(overlappableMovable);
+		int nonMovable = buffer.addOverlappable(overlappable);
+		buffer.addOverlap(movable, nonMovable);
+		overridingApplier.applyOverlapRules(buffer);
+		assertEquals(Arrays.<Overlappable> asList(overlappableMovable,
+				overlappable), firsts);
+		assertEquals(1, rulesApplied);
+	}
+
 	@Test
 	public void testApplyNonExistingRule() {
 		ruleApplier.applyOverlapRules(
@@ -83,4 +152,119 @@ public class OverlapRulesApplierDefaultImplTest {
 		}
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testBatchRuleReceivesAllOverlaps() {
+		final List<OverlappableMovableMock> batchedMovables = new ArrayList<>();
+		final int[] nbBatches = { 0 };
+		OverlapRulesApplierDefaultImpl batchApplier = new OverlapRulesApplierDefaultImpl() {
+
+			@SuppressWarnings("unused")
+			// this method is only called using reflection, tools can't see that
+			public void overlapRules(OverlappableMovableMock[] movables,
+					OverlappableMock[] overlappables) {
+				nbBatches[0]++;
+				assertEquals(movables.length, overlappables.length);
+				batchedMovables.addAll(Arrays.asList(movables));
+			}
+		};
+		OverlappableMovableMock otherMovable = new OverlappableMovableMock();
+		OverlapBuffer buffer = new OverlapBuffer();
+		int movable1 = buffer.addOverlappable(overlappableMovable);
+		int movable2 = buffer.addOverlappable(otherMovable);
+		int nonMovable = buffer.addOverlappable(overlappable);
+		buffer.addOverlap(movable1, nonMovable);
+		buffer.addOverlap(nonMovable, movable2);
+		buffer.addOverlap(movable1, movable2);
+
+		batchApplier.applyOverlapRules(buffer);
+		assertEquals(1, nbBatches[0]);
+		assertEquals(Arrays.asList(overlappableMovable, otherMovable),
+				batchedMovables);
+
+		batchApplier.applyOverlapRules(buffer);
+		assertEquals(2, nbBatches[0]);
+		assertEquals(4, batchedMovables.size());
+	}
+
+	@Test
+	public void testFailingRuleDoesNotLeakBatches() {
+		final List<Integer> batchSizes = new ArrayList<>();
+		OverlapRulesApplierDefaultImpl batchApplier = new OverlapRulesApplierDefaultImpl() {
+
+			@SuppressWarnings("unused")
+			// this method is only called using reflection, tools can't see that
+			public void overlapRules(OverlappableMovableMock[] movables1,
+					OverlappableMovableMock[] movables2) {
+				if (ruleShouldCrash) {
+					throw new RuntimeException(error_message);
+				}
+				batchSizes.add(movables1.length);
+			}
+
+			@SuppressWarnings("unused")
+			// this method is only called using reflection, tools can't see that
+			public void overlapRules(OverlappableMock[] overlappables,
+					OverlappableMovableMock[] movables) {
+				batchSizes.add(-overlappables.length);
+			}
+		};
+		OverlapBuffer buffer = new OverlapBuffer();
+		int movable1 = buffer.addOverlappable(overlappableMovable);
+		int movable2 = buffer.addOverlappable(new OverlappableMovableMock());
+		int nonMovable = buffer.addOverlappable(overlappable);
+		buffer.addOverlap(movable1, movable2);
+		buffer.addOverlap(movable1, nonMovable);
+
+		ruleShouldCrash = true;
+		try {
+			batchApplier.applyOverlapRules(buffer);
+			fail("Previous instruction should have crashed");
+		} catch (RuntimeException e) {
+			assertTrue(batchSizes.isEmpty());
+		}
+		ruleShouldCrash = false;
+		batchApplier.applyOverlapRules(buffer);
+		assertEquals(Arrays.asList(1, -1), batchSizes);
+	}
+
+	@Test
+	public void testFailingSingleRuleDoesNotLeakBatches() {
+		final List<Integer> batchSizes = new ArrayList<>();
+		OverlapRulesApplierDefaultImpl batchApplier = new OverlapRulesApplierDefaultImpl() {
+
+			@SuppressWarnings("unused")
+			// this method is only called using reflection, tools can't see that
+			public void overlapRules(OverlappableMovableMock[] movables1,
+					OverlappableMovableMock[] movables2) {
+				batchSizes.add(movables1.length);
+			}
+
+			@SuppressWarnings("unused")
+			// this method is only called using reflection, tools can't see that
+			public void overlapRule(OverlappableMock overlappable,
+					OverlappableMovableMock movable) {
+				if (ruleShouldCrash) {
+					throw new RuntimeException(error_message);
+				}
+			}
+		};
+		OverlapBuffer buffer = new OverlapBuffer();
+		int movable1 = buffer.addOverlappable(overlappableMovable);
+		int movable2 = buffer.addOverlappable(new OverlappableMovableMock());
+		int nonMovable = buffer.addOverlappable(overlappable);
+		buffer.addOverlap(movable1, movable2);
+		buffer.addOverlap(movable1, nonMovable);
+
+		ruleShouldCrash = true;
+		try {
+			batchApplier.applyOverlapRules(buffer);
+			fail("Previous instruction should have crashed");
+		} catch (RuntimeException e) {
+			assertTrue(batchSizes.isEmpty());
+		}
+		ruleShouldCrash = false;
+		batchApplier.applyOverlapRules(buffer);
+		// Only the overlap of this tick
+		assertEquals(Arrays.asList(1), batchSizes);
+	}
+}
@@ -0,0 +1,75 @@
+package gameframework.motion.pathfinding;
+
+import gameframework.motion.MoveStrategyTest;
+import gameframework.motion.blocking.MoveBlocker;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+
+import org.junit.Test;
+
+public class MoveStrategyPathFindingTest extends
+		MoveStrategyTest<MoveStrategyPathFinding> {
+
+	PathFinderDefaultImpl pathFinder = new PathFinderDefaultImpl(4, 4, 16);
+
+	@Override
+	protected MoveStrategyPathFinding createStrategy() {
+		return new MoveStrategyPathFinding(pathFinder, new Point(0, 0),
+				new Point(0, 0));
+	}
+
+	void addWall(final int x, final int y) {
+		pathFinder.addMoveBlocker(new MoveBlocker() {
+
+			@Override
+			public Rectangle getBoundingBox() {
+				return new Rectangle(x, y, 16, 16);
+			}
+
+			@Override
+			public boolean isMovable() {
+				return false;
+			}
+		});
+	}
+
+	@Test
+	public void goAroundWallWithFlowField() {
+		addWall(16, 0);
+		Point position = new Point(0, 0);
+		strategy = new MoveStrategyPathFinding(pathFinder, position,
+				new Point(32, 0));
+		assertDown();
+		position.setLocation(0, 16);
+		assertRight();
+	}
+
+	@Test
+	public void goAroundWallWithPath() {
+		addWall(16, 0);
+		Point position = new Point(0, 0);
+		strategy = new MoveStrategyPathFinding(pathFinder, position,
+				new Point(32, 0));
+		strategy.setUseFlowField(false);
+		assertDown();
+		position.setLocation(0, 16);
+		assertRight();
+	}
+
+	@Test
+	public void keepDirectionBetweenCells() {
+		Point position = new Point(0, 0);
+		strategy = new MoveStrategyPathFinding(pathFinder, position,
+				new Point(48, 0));
+		assertRight();
+		position.setLocation(8, 0);
+		strategy.setGoal(new Point(0, 32));
+		assertRight();
+	}
+
+	@Test
+	public void noMovementWhenGoalIsReached() {
+		assertNoMovement();
+	}
+}
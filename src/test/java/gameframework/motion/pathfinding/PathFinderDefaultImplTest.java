@@ -0,0 +1,108 @@
+package gameframework.motion.pathfinding;
+
+import gameframework.motion.blocking.MoveBlocker;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PathFinderDefaultImplTest {
+
+	int cellSize = 10;
+	PathFinderDefaultImpl pathFinder;
+
+	@Before
+	public void createPathFinder() {
+		pathFinder = new PathFinderDefaultImpl(5, 5, cellSize);
+	}
+
+	MoveBlocker createWall(final int column, final int row,
+			final boolean movable) {
+		return new MoveBlocker() {
+
+			@Override
+			public Rectangle getBoundingBox() {
+				return new Rectangle(column * cellSize, row * cellSize,
+						cellSize, cellSize);
+			}
+
+			@Override
+			public boolean isMovable() {
+				return movable;
+			}
+		};
+	}
+
+	Point cell(int column, int row) {
+		return new Point(column * cellSize, row * cellSize);
+	}
+
+	@Test
+	public void straightPathWithoutBlockers() {
+		assertEquals(Arrays.asList(cell(0, 0), cell(1, 0), cell(2, 0)),
+				pathFinder.findPath(cell(0, 0), cell(2, 0)));
+	}
+
+	@Test
+	public void pathGoesAroundWalls() {
+		pathFinder.addMoveBlocker(createWall(1, 0, false));
+		pathFinder.addMoveBlocker(createWall(1, 1, false));
+		List<Point> path = pathFinder.findPath(cell(0, 0), cell(2, 0));
+		assertEquals(7, path.size());
+		assertFalse(path.contains(cell(1, 0)));
+		assertFalse(path.contains(cell(1, 1)));
+	}
+
+	@Test
+	public void noPathToWalledGoal() {
+		pathFinder.addMoveBlocker(createWall(2, 2, false));
+		assertTrue(pathFinder.findPath(cell(0, 0), cell(2, 2)).isEmpty());
+		assertTrue(pathFinder.findPath(cell(0, 0), cell(9, 9)).isEmpty());
+	}
+
+	@Test
+	public void movableBlockersAreIgnored() {
+		pathFinder.addMoveBlocker(createWall(1, 0, true));
+		assertEquals(3, pathFinder.findPath(cell(0, 0), cell(2, 0)).size());
+	}
+
+	@Test
+	public void flowFieldIsSharedUntilBlockersChange() {
+		FlowField flowField = pathFinder.getFlowField(cell(4, 4));
+		assertSame(flowField, pathFinder.getFlowField(new Point(45, 47)));
+		assertNotSame(flowField, pathFinder.getFlowField(cell(3, 4)));
+
+		MoveBlocker wall = createWall(0, 4, false);
+		pathFinder.addMoveBlocker(wall);
+		FlowField newFlowField = pathFinder.getFlowField(cell(4, 4));
+		assertNotSame(flowField, newFlowField);
+		assertSame(newFlowField, pathFinder.getFlowField(cell(4, 4)));
+
+		pathFinder.removeMoveBlocker(wall);
+		assertNotSame(newFlowField, pathFinder.getFlowField(cell(4, 4)));
+	}
+
+	@Test
+	public void cachedPathIsDroppedWhenBlockersChange() {
+		List<Point> path = pathFinder.findPath(cell(0, 0), cell(2, 0));
+		assertSame(path, pathFinder.findPath(cell(0, 0), cell(2, 0)));
+		pathFinder.addMoveBlocker(createWall(1, 0, false));
+		assertEquals(5, pathFinder.findPath(cell(0, 0), cell(2, 0)).size());
+	}
+
+	@Test
+	public void flowFieldLeadsToGoal() {
+		pathFinder.addMoveBlocker(createWall(1, 0, false));
+		FlowField flowField = pathFinder.getFlowField(cell(2, 0));
+		assertEquals(new Point(0, 1), flowField.getDirection(cell(0, 0)));
+		assertEquals(4, flowField.getDistance(cell(0, 0)));
+		assertEquals(new Point(0, 0), flowField.getDirection(cell(2, 0)));
+		assertEquals(-1, flowField.getDistance(cell(1, 0)));
+	}
+}